@@ -0,0 +1,119 @@
+package Benchmarks;
+
+import Heap.HeapSort;
+import SortingAdvanced.*;
+import SortingBasic.ShellSort;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/*
+ * O(nlogn) 级别排序算法的 JMH 基准测试（取代各个 main 方法中的 timeIt）：
+ *
+ * - timeIt 只做一次 System.nanoTime 测量，没有预热（JIT 还没编译完）、没有 fork（前一组测试的 profile 会影响后一组，
+ *   见 MergeSort2.main 中的注释）、也没有防止死代码消除，因此结果不可复现。JMH 解决了这些问题。
+ * - 参数维度：sorter × size（1e3..1e8）× distribution（见 Distribution）。
+ * - 每次排序前都要用 System.arraycopy 把原始数据拷进预先分配好的 work 数组。不使用 @Setup(Level.Invocation)：
+ *   JMH 要在每次调用前后打时间戳并做同步，对 1e3、1e4 这类亚毫秒级的排序，这部分开销会严重扭曲结果。因此分为：
+ *   1. sort + copy（Throughput）：sort 在方法内部拷贝后再排序，copy 只拷贝，两者之差（按每次操作的时间计算）即为
+ *      排序本身的时间。适用于小 size；
+ *   2. sortSingleShot（SingleShotTime）：每个 iteration 只排序一次，拷贝在 @Setup(Level.Iteration) 中完成。适用于
+ *      单次排序在毫秒级以上的大 size（>= 1e6），此时计时误差可以忽略；小 size 下单次测量的噪声太大，结果没有意义。
+ *   拷贝不产生任何分配，因此 -prof gc 报告的 gc.alloc.rate.norm 就是排序算法本身每次排序分配的字节数
+ *   （例如 MergeSort 每次 merge 中 Arrays.copyOfRange 创建的辅助数组）。
+ * - 注意：QuickSort 和 QuickSort2 在 MANY_DUPLICATES 下会退化成 O(n^2) 并可能栈溢出（见 QuickSort2Ways 中的分析），
+ *   这些组合在大 size 下会失败，JMH 会跳过它们继续运行其它组合。
+ * - 1e8 个 Integer 的原始数据 + work 数组约需 4GB 堆内存，因此 fork 出的 JVM 设置了较大的 -Xmx。
+ *
+ * - 运行：mvn -P benchmark package && java -jar target/benchmarks.jar ComparisonSortBenchmark -prof gc
+ *   或只跑一部分：... ComparisonSortBenchmark -p sorter=QuickSort3Ways,MergeSort -p size=1000000
+ *   小 size：... 'ComparisonSortBenchmark.(sort|copy)$' -p size=1000,10000,100000
+ *   大 size：... ComparisonSortBenchmark.sortSingleShot -p size=1000000,10000000,100000000
+ * */
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms16g", "-Xmx16g"})
+@State(Scope.Thread)
+public class ComparisonSortBenchmark {
+    static final Map<String, Consumer<Integer[]>> SORTERS = new LinkedHashMap<>();
+
+    static {
+        SORTERS.put("MergeSort", MergeSort::sort);
+        SORTERS.put("MergeSort2", MergeSort2::sort);
+        SORTERS.put("MergeSortBottomUp", MergeSortBottomUp::sort);
+        SORTERS.put("QuickSort", QuickSort::sort);
+        SORTERS.put("QuickSort2", QuickSort2::sort);
+        SORTERS.put("QuickSort2Ways", QuickSort2Ways::sort);
+        SORTERS.put("QuickSort3Ways", QuickSort3Ways::sort);
+        SORTERS.put("ShellSort", ShellSort::sort);
+        SORTERS.put("HeapSort.sort1", HeapSort::sort1);
+        SORTERS.put("HeapSort.sort2", HeapSort::sort2);
+        SORTERS.put("HeapSort.sort3", HeapSort::sort3);
+    }
+
+    @Param({"MergeSort", "MergeSort2", "MergeSortBottomUp", "QuickSort", "QuickSort2", "QuickSort2Ways",
+            "QuickSort3Ways", "ShellSort", "HeapSort.sort1", "HeapSort.sort2", "HeapSort.sort3"})
+    public String sorter;
+
+    @Param({"1000", "10000", "100000", "1000000", "10000000", "100000000"})
+    public int size;
+
+    @Param({"RANDOM", "NEARLY_ORDERED", "MANY_DUPLICATES"})
+    public Distribution distribution;
+
+    private Consumer<Integer[]> fn;
+    private Integer[] source;
+    private Integer[] work;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        fn = SORTERS.get(sorter);
+        source = distribution.generate(size);
+        work = new Integer[size];
+    }
+
+    @Setup(Level.Iteration)
+    public void reset() {  // 只供 sortSingleShot 使用：每个 iteration 只调用一次，相当于每次排序前重置
+        System.arraycopy(source, 0, work, 0, size);
+    }
+
+    @Benchmark
+    public Integer[] sort() {  // 拷贝 + 排序，减去 copy 的得分即为排序本身的开销
+        System.arraycopy(source, 0, work, 0, size);
+        fn.accept(work);
+        return work;  // 返回值交给 JMH 消费，防止死代码消除
+    }
+
+    @Benchmark
+    public Integer[] copy() {  // 只拷贝，作为 sort 的基线
+        System.arraycopy(source, 0, work, 0, size);
+        return work;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 3)
+    @Measurement(iterations = 10)
+    public Integer[] sortSingleShot() {  // 每个 iteration 只排序一次，拷贝在 @Setup(Level.Iteration) 中完成，不计入时间
+        fn.accept(work);
+        return work;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ComparisonSortBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
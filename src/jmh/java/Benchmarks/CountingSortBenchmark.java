@@ -0,0 +1,98 @@
+package Benchmarks;
+
+import SortingSpecialised.CountingSort1;
+import SortingSpecialised.CountingSort2;
+import SortingSpecialised.RadixSortLSD;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/*
+ * SortingSpecialised 中线性时间排序（计数排序、基数排序）的 JMH 基准测试：
+ *
+ * - 这些排序只接受 int[]，因此输入是 Distribution.generateInts 拆箱后的数据，其余测试方式（小 size 用 sort - copy，
+ *   大 size 用 sortSingleShot）与 ComparisonSortBenchmark 相同。
+ * - 所有分布的取值都在 [0, size) 之内，因此 bucket 数组最多是 size 个 int；-prof gc 中的 gc.alloc.rate.norm
+ *   即为 bucket 数组的大小；RadixSortLSD 则是一个 4n 字节的辅助数组加上 histogram。
+ *
+ * - 运行：mvn -P benchmark package && java -jar target/benchmarks.jar CountingSortBenchmark -prof gc
+ * */
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms16g", "-Xmx16g"})
+@State(Scope.Thread)
+public class CountingSortBenchmark {
+    static final Map<String, Consumer<int[]>> SORTERS = new LinkedHashMap<>();
+
+    static {
+        SORTERS.put("CountingSort1", CountingSort1::sort);
+        SORTERS.put("CountingSort2", CountingSort2::sort);
+        SORTERS.put("RadixSortLSD", RadixSortLSD::sort);
+        SORTERS.put("RadixSortLSD.parallel", RadixSortLSD::sortParallel);
+    }
+
+    @Param({"CountingSort1", "CountingSort2", "RadixSortLSD", "RadixSortLSD.parallel"})
+    public String sorter;
+
+    @Param({"1000", "10000", "100000", "1000000", "10000000", "100000000"})
+    public int size;
+
+    @Param({"RANDOM", "NEARLY_ORDERED", "MANY_DUPLICATES"})
+    public Distribution distribution;
+
+    private Consumer<int[]> fn;
+    private int[] source;
+    private int[] work;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        fn = SORTERS.get(sorter);
+        source = distribution.generateInts(size);
+        work = new int[size];
+    }
+
+    @Setup(Level.Iteration)
+    public void reset() {  // 只供 sortSingleShot 使用：每个 iteration 只调用一次，相当于每次排序前重置
+        System.arraycopy(source, 0, work, 0, size);
+    }
+
+    @Benchmark
+    public int[] sort() {  // 拷贝 + 排序，减去 copy 的得分即为排序本身的开销
+        System.arraycopy(source, 0, work, 0, size);
+        fn.accept(work);
+        return work;
+    }
+
+    @Benchmark
+    public int[] copy() {  // 只拷贝，作为 sort 的基线
+        System.arraycopy(source, 0, work, 0, size);
+        return work;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 3)
+    @Measurement(iterations = 10)
+    public int[] sortSingleShot() {  // 每个 iteration 只排序一次，拷贝在 @Setup(Level.Iteration) 中完成，不计入时间
+        fn.accept(work);
+        return work;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(CountingSortBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
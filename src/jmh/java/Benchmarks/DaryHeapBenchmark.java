@@ -0,0 +1,111 @@
+package Benchmarks;
+
+import MinimumSpanningTree.AuxiliaryDataStructure.DaryMinHeap;
+import MinimumSpanningTree.AuxiliaryDataStructure.MinHeap;
+import MinimumSpanningTree.Edge;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * 二叉堆（MinHeap、DaryMinHeap d = 2）与 d 叉堆（d = 4、8、16）的对比：
+ *
+ * - 两种以 insert/extractMin 为主的负载：
+ *   1. kruskal：与 KruskalMST 相同，先插入所有边，再逐个取出最小的边（每次操作是完整的 size 次 insert + size 次
+ *      extractMin）。
+ *   2. eventScheduling：离散事件模拟中的 hold 模型，堆中始终有 size 个事件，每次操作取出最早的事件 t，再插入一个
+ *      t + delta 的新事件（delta 服从指数分布）。堆的大小不变，因此测的是稳定状态下单次 extractMin + insert 的开销。
+ * - size = 10000 时堆（及其中的对象）能放进 L2 缓存，主要比较的是比较次数；size = 1000000 时以 cache miss 为主。
+ *   注意堆中存的是对象引用，siftDown 中每次比较都要解引用一个元素对象，d 叉堆并不能减少这部分 cache miss（见
+ *   Heap.DaryMaxHeap 中的分析），因此 d 较大时 extractMin 可能反而更慢。
+ * - 每个 @Param 组合在单独的 fork 中运行，因此 MinQueue 的调用点始终是单态的，不影响内联。
+ *
+ * - 运行：mvn -P benchmark package && java -jar target/benchmarks.jar DaryHeapBenchmark
+ * */
+
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Thread)
+public class DaryHeapBenchmark {
+    @Param({"MinHeap", "d2", "d4", "d8", "d16"})
+    public String heap;
+
+    @Param({"10000", "1000000"})
+    public int size;
+
+    private List<Edge<Double>> edges;
+    private double[] deltas;
+    private int next;
+    private MinQueue<Double> events;
+
+    private interface MinQueue<E> {
+        void insert(E e);
+        E extractMin();
+    }
+
+    private static <E extends Comparable<E>> MinQueue<E> create(String name, int capacity) {
+        if (name.equals("MinHeap")) {
+            MinHeap<E> h = new MinHeap<>(capacity);
+            return new MinQueue<E>() {
+                public void insert(E e) { h.insert(e); }
+                public E extractMin() { return h.extractMin(); }
+            };
+        }
+        DaryMinHeap<E> h = new DaryMinHeap<>(Integer.parseInt(name.substring(1)), capacity);
+        return new MinQueue<E>() {
+            public void insert(E e) { h.insert(e); }
+            public E extractMin() { return h.extractMin(); }
+        };
+    }
+
+    @Setup(Level.Trial)
+    public void generate() {
+        Random random = new Random(42);
+        edges = new ArrayList<>(size);
+        for (int i = 0; i < size; i++)
+            edges.add(new Edge<>(random.nextInt(size), random.nextInt(size), random.nextDouble()));
+
+        deltas = new double[1 << 16];
+        for (int i = 0; i < deltas.length; i++)
+            deltas[i] = -Math.log(1 - random.nextDouble());  // 指数分布
+
+        events = create(heap, size);
+        for (int i = 0; i < size; i++)
+            events.insert(random.nextDouble() * size);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public double kruskal() {
+        MinQueue<Edge<Double>> q = create(heap, size);
+        for (Edge<Double> e : edges)
+            q.insert(e);
+        double sum = 0;
+        for (int i = 0; i < size; i++)
+            sum += q.extractMin().weight();
+        return sum;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public double eventScheduling() {
+        double t = events.extractMin();
+        events.insert(t + deltas[next++ & (deltas.length - 1)]);
+        return t;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(DaryHeapBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,38 @@
+package Benchmarks;
+
+import static Utils.Helpers.*;
+
+/*
+ * 基准测试的输入数据分布：
+ *
+ * - RANDOM：完全随机，取值范围 [0, size)，即 generateRandomIntArr。
+ * - NEARLY_ORDERED：近乎有序，在有序数组上随机 swap 约 0.1% 的元素，即 generateNearlyOrderedArr。
+ * - MANY_DUPLICATES：包含大量重复元素，取值范围 [0, 10)，即 generateRandomArrayFromRange。
+ *
+ * - 这三种分布对应的就是 QuickSort3Ways 中说的"两个维度"（是否近乎有序、是否包含大量重复元素）。
+ * */
+
+public enum Distribution {
+    RANDOM,
+    NEARLY_ORDERED,
+    MANY_DUPLICATES;
+
+    public Integer[] generate(int size) {
+        switch (this) {
+            case NEARLY_ORDERED:
+                return generateNearlyOrderedArr(size, Math.max(10, size / 1000));
+            case MANY_DUPLICATES:
+                return generateRandomArrayFromRange(size, 0, 10);
+            default:
+                return generateRandomIntArr(size);
+        }
+    }
+
+    public int[] generateInts(int size) {
+        Integer[] boxed = generate(size);
+        int[] arr = new int[size];
+        for (int i = 0; i < size; i++)
+            arr[i] = boxed[i];
+        return arr;
+    }
+}
@@ -0,0 +1,94 @@
+package Benchmarks;
+
+import SortingAdvanced.DualPivotQuickSort;
+import SortingAdvanced.PivotStrategy;
+import Utils.SortMetrics;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+ * DualPivotQuickSort 在不同 PivotStrategy 下的对比：
+ *
+ * - 除了耗时，还通过 @AuxCounters 记录每次排序的比较次数、swap 次数和插入排序中的赋值次数
+ *   （Counters.comparisons / swaps / assignments），JMH 会把它们与耗时一起输出。Counters 的类型为 EVENTS，输出的是
+ *   整个 iteration 的累计值，除以该 iteration 的 sorts 即为每次排序的平均值。
+ * - 统计由 Utils.SortMetrics.measure 完成（fork 出的 JVM 带上了 -Dsort.metrics=true）。统计本身有开销（每个元素
+ *   都被包装了一层，每次比较多一次间接调用），因此耗时只在同一组内横向比较；与其他排序算法的耗时对比见
+ *   ComparisonSortBenchmark。
+ * - seeded 策略不依赖可变状态，同一份数据每次排序的过程完全相同。
+ *
+ * - 运行：mvn -P benchmark package && java -jar target/benchmarks.jar DualPivotQuickSortBenchmark
+ * */
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms4g", "-Xmx4g", "-Dsort.metrics=true"})
+@State(Scope.Thread)
+public class DualPivotQuickSortBenchmark {
+    @Param({"random", "medianOf3", "ninther", "seeded"})
+    public String strategy;
+
+    @Param({"100000", "1000000"})
+    public int size;
+
+    @Param({"RANDOM", "NEARLY_ORDERED", "MANY_DUPLICATES"})
+    public Distribution distribution;
+
+    private PivotStrategy pivotStrategy;
+    private Integer[] source;
+    private Integer[] work;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Counters {
+        public long comparisons;
+        public long swaps;
+        public long assignments;
+        public long sorts;
+    }
+
+    @Setup(Level.Trial)
+    public void generate() {
+        source = distribution.generate(size);
+        work = new Integer[size];
+        pivotStrategy = createStrategy(strategy);
+    }
+
+    @Setup(Level.Invocation)
+    public void reset() {
+        System.arraycopy(source, 0, work, 0, size);
+    }
+
+    @Benchmark
+    public Integer[] dualPivotQuickSort(Counters counters) {
+        PivotStrategy s = pivotStrategy;
+        SortMetrics.Report report = SortMetrics.measure(strategy, work, a -> DualPivotQuickSort.sort(a, s));
+        counters.comparisons += report.comparisons;
+        counters.swaps += report.swaps;
+        counters.assignments += report.assignments;
+        counters.sorts++;
+        return work;
+    }
+
+    private static PivotStrategy createStrategy(String name) {
+        switch (name) {
+            case "random":    return PivotStrategy.random();
+            case "medianOf3": return PivotStrategy.medianOf3();
+            case "ninther":   return PivotStrategy.ninther();
+            case "seeded":    return PivotStrategy.seeded(42);
+            default: throw new IllegalArgumentException("createStrategy failed. Unknown strategy: " + name);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(DualPivotQuickSortBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,116 @@
+package Benchmarks;
+
+import MinimumSpanningTree.AuxiliaryDataStructure.IndexMinPQ;
+import MinimumSpanningTree.AuxiliaryDataStructure.IndexPQ;
+import MinimumSpanningTree.AuxiliaryDataStructure.IndexPairingHeap;
+import MinimumSpanningTree.PrimMST;
+import MinimumSpanningTree.WeightedDenseGraph;
+import MinimumSpanningTree.WeightedGraph;
+import MinimumSpanningTree.WeightedSparseGraph;
+import ShortestPath.Dijkstra;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Prim 和 Dijkstra 中二叉堆（IndexMinPQ）与配对堆（IndexPairingHeap）的对比，用来确定 IndexPQ.forGraph 的阈值：
+ *
+ * - graph 的格式为"顶点数x平均度数"，边的两个端点和权值都是随机的：
+ *   1. dijkstra 在有向图上运行，共 V·度数 条边；
+ *   2. prim 在无向图上运行，先用一棵随机树保证连通，再补足到 V·度数/2 条边（每条边计入两个顶点的度数）。
+ *   以 "/dense" 结尾的用 WeightedDenseGraph（邻接矩阵）存储，每对顶点之间以 度数/(V-1) 的概率有一条边，其余用
+ *   WeightedSparseGraph（邻接表，允许平行边）。
+ * - 前三组的平均度数在 logV 附近及以上，后几组接近完全图（forGraph 在平均度数超过 V/2 时才选择配对堆，这种图通常
+ *   用 WeightedDenseGraph 存储）。
+ * - 每次调用都要新建一个堆，但与遍历所有边相比，分配 V 大小的数组的开销可以忽略。
+ *
+ * - 运行：mvn -P benchmark package && java -jar target/benchmarks.jar IndexPQBenchmark
+ * */
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Thread)
+public class IndexPQBenchmark {
+    @Param({"IndexMinPQ", "IndexPairingHeap"})
+    public String heap;
+
+    @Param({"300000x4", "300000x16", "20000x256", "2000x500", "2000x1900", "2000x500/dense", "2000x1900/dense"})
+    public String graph;
+
+    private int n;
+    private WeightedGraph<?> directed;
+    private WeightedGraph<?> undirected;
+
+    private interface EdgeSink {  // 具体图类型的 addEdge（通过原始类型的 WeightedGraph 调用会有 unchecked 警告）
+        void add(int v, int w, double weight);
+    }
+
+    @Setup(Level.Trial)
+    public void generate() {
+        boolean dense = graph.endsWith("/dense");
+        String spec = dense ? graph.substring(0, graph.indexOf('/')) : graph;
+        n = Integer.parseInt(spec.substring(0, spec.indexOf('x')));
+        int degree = Integer.parseInt(spec.substring(spec.indexOf('x') + 1));
+
+        if (dense) {
+            WeightedDenseGraph<Double> d = new WeightedDenseGraph<>(n, true), u = new WeightedDenseGraph<>(n, false);
+            addEdges(d::addEdge, u::addEdge, degree, true);
+            directed = d;
+            undirected = u;
+        } else {
+            WeightedSparseGraph<Double> d = new WeightedSparseGraph<>(n, true), u = new WeightedSparseGraph<>(n, false);
+            addEdges(d::addEdge, u::addEdge, degree, false);
+            directed = d;
+            undirected = u;
+        }
+    }
+
+    private void addEdges(EdgeSink directed, EdgeSink undirected, int degree, boolean dense) {
+        Random random = new Random(42);
+        for (int v = 1; v < n; v++)  // 随机树，保证无向图是连通的
+            undirected.add(v, random.nextInt(v), random.nextDouble());
+
+        if (dense) {
+            double p = (double) degree / (n - 1);
+            for (int v = 0; v < n; v++)
+                for (int w = 0; w < n; w++)
+                    if (v != w && random.nextDouble() < p) {
+                        directed.add(v, w, random.nextDouble());
+                        if (v < w) undirected.add(v, w, random.nextDouble());  // 与树边重复时替换，边数不变
+                    }
+        } else {
+            long edges = (long) n * degree;
+            for (long i = 0; i < edges; i++)
+                directed.add(random.nextInt(n), random.nextInt(n), random.nextDouble());
+            for (long i = n - 1; i < edges / 2; i++)
+                undirected.add(random.nextInt(n), random.nextInt(n), random.nextDouble());
+        }
+    }
+
+    private IndexPQ create() {
+        return heap.equals("IndexMinPQ") ? new IndexMinPQ(n) : new IndexPairingHeap(n);
+    }
+
+    @Benchmark
+    public Object dijkstra() {
+        return new Dijkstra<Double>(directed, 0, create()).distances();
+    }
+
+    @Benchmark
+    public Object prim() {
+        return new PrimMST<Double>(undirected, create()).weight();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(IndexPQBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,103 @@
+package Benchmarks;
+
+import SortingAdvanced.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static Utils.Helpers.generateNearlyOrderedArr;
+import static Utils.Helpers.generateRandomIntArr;
+
+/*
+ * MergeSortAdaptive 在有序、逆序、k 次随机 swap 的数据上与其它归并排序的对比：
+ *
+ * - input：
+ *   - SORTED：完全有序，只有一个 run；
+ *   - REVERSED：完全逆序，只有一个严格递减的 run；
+ *   - K_SWAPS：在有序数组上随机 swap k 次（即 generateNearlyOrderedArr(size, k)），run 的个数为 O(k)；
+ *   - RANDOM：作为对照组，此时没有可利用的 run，MergeSortAdaptive 退化为普通的归并排序。
+ * - Arrays.sort(Object[]) 即 JDK 的 TimSort，作为参照。
+ *
+ * - 运行：mvn -P benchmark package && java -jar target/benchmarks.jar MergeSortAdaptiveBenchmark -prof gc
+ * */
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Thread)
+public class MergeSortAdaptiveBenchmark {
+    static final Map<String, Consumer<Integer[]>> SORTERS = new LinkedHashMap<>();
+
+    static {
+        SORTERS.put("MergeSort", MergeSort::sort);
+        SORTERS.put("MergeSort2", MergeSort2::sort);
+        SORTERS.put("MergeSortBottomUp", MergeSortBottomUp::sort);
+        SORTERS.put("MergeSortAdaptive", MergeSortAdaptive::sort);
+        SORTERS.put("Arrays.sort", Arrays::sort);
+    }
+
+    @Param({"MergeSort", "MergeSort2", "MergeSortBottomUp", "MergeSortAdaptive", "Arrays.sort"})
+    public String sorter;
+
+    @Param({"1000000"})
+    public int size;
+
+    @Param({"SORTED", "REVERSED", "K_SWAPS", "RANDOM"})
+    public String input;
+
+    @Param({"100"})
+    public int k;  // 只对 K_SWAPS 有效
+
+    private Consumer<Integer[]> fn;
+    private Integer[] source;
+    private Integer[] work;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        fn = SORTERS.get(sorter);
+        switch (input) {
+            case "SORTED":
+                source = generateNearlyOrderedArr(size, 0);
+                break;
+            case "REVERSED":
+                source = new Integer[size];
+                for (int i = 0; i < size; i++)
+                    source[i] = size - i;
+                break;
+            case "K_SWAPS":
+                source = generateNearlyOrderedArr(size, k);
+                break;
+            default:
+                source = generateRandomIntArr(size);
+        }
+        work = new Integer[size];
+    }
+
+    @Setup(Level.Invocation)
+    public void reset() {
+        System.arraycopy(source, 0, work, 0, size);
+    }
+
+    @Benchmark
+    public Integer[] sort() {
+        fn.accept(work);
+        return work;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(MergeSortAdaptiveBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
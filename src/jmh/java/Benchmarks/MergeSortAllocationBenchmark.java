@@ -0,0 +1,93 @@
+package Benchmarks;
+
+import SortingAdvanced.MergeSort;
+import SortingAdvanced.MergeSort2;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+ * MergeSort / MergeSort2 每次 merge 分配辅助数组的版本与复用辅助数组的版本（sort(arr, aux)）的对比：
+ *
+ * - 主要关注 GCProfiler 输出的 gc.alloc.rate.norm（每次排序分配的字节数）：
+ *   - sort(arr)：每次 merge 都通过 Arrays.copyOfRange 分配一个数组，总共约 4 * n * log2(n) 字节（压缩指针下每个引用
+ *     4 字节），以及约 n 个数组对象头；
+ *   - sort(arr, aux)：aux 在 @Setup 中分配（模拟按线程缓存的辅助数组），排序本身应当为 0 字节（JMH 自身的少量分配除外）。
+ * - 同时也能看到 gc.count / gc.time 的差别，即 GC 压力对吞吐量的影响。
+ * - 与 ComparisonSortBenchmark 相同，不使用 @Setup(Level.Invocation)（size = 10000 时单次排序不到一毫秒，每次调用的
+ *   打点和同步开销会扭曲结果），而是在每个方法内部先把 source 拷贝到 work 再排序，copy 只拷贝，作为基线。拷贝不产生
+ *   分配，因此 gc.alloc.rate.norm 不受影响。
+ *
+ * - 运行：mvn -P benchmark package && java -jar target/benchmarks.jar MergeSortAllocationBenchmark -prof gc
+ *   （main 中已添加 GCProfiler）
+ * */
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Thread)
+public class MergeSortAllocationBenchmark {
+    @Param({"10000", "1000000", "10000000"})
+    public int size;
+
+    @Param({"RANDOM", "NEARLY_ORDERED"})
+    public Distribution distribution;
+
+    private Integer[] source;
+    private Integer[] work;
+    private Integer[] aux;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        source = distribution.generate(size);
+        work = new Integer[size];
+        aux = new Integer[size];
+    }
+
+    @Benchmark
+    public Integer[] copy() {  // 只拷贝，作为其他方法的基线
+        System.arraycopy(source, 0, work, 0, size);
+        return work;
+    }
+
+    @Benchmark
+    public Integer[] mergeSort() {
+        System.arraycopy(source, 0, work, 0, size);
+        MergeSort.sort(work);
+        return work;
+    }
+
+    @Benchmark
+    public Integer[] mergeSortWithAux() {
+        System.arraycopy(source, 0, work, 0, size);
+        MergeSort.sort(work, aux);
+        return work;
+    }
+
+    @Benchmark
+    public Integer[] mergeSort2() {
+        System.arraycopy(source, 0, work, 0, size);
+        MergeSort2.sort(work);
+        return work;
+    }
+
+    @Benchmark
+    public Integer[] mergeSort2WithAux() {
+        System.arraycopy(source, 0, work, 0, size);
+        MergeSort2.sort(work, aux);
+        return work;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(MergeSortAllocationBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,80 @@
+package Benchmarks;
+
+import SortingAdvanced.MergeSort2;
+import SortingAdvanced.MergeSortParallel;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * MergeSortParallel 的加速比曲线：
+ *
+ * - parallelism 是 ForkJoinPool 的线程数，用 parallel 的得分除以 sequential（MergeSort2）的得分即为对应核数下的加速比。
+ * - sequential 与 parallelism 无关，可以只跑一次：... MergeSortParallelBenchmark.sequential -p parallelism=1
+ * - cutoff 过小时任务调度开销占比上升，过大时并行度不足，可以用 -p cutoff=... 做调优。
+ *
+ * - 运行：mvn -P benchmark package && java -jar target/benchmarks.jar MergeSortParallelBenchmark
+ * */
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+@State(Scope.Thread)
+public class MergeSortParallelBenchmark {
+    @Param({"1", "2", "4", "8", "16", "32"})
+    public int parallelism;
+
+    @Param({"1000000", "10000000"})
+    public int size;
+
+    @Param({"8192"})
+    public int cutoff;
+
+    @Param({"RANDOM", "NEARLY_ORDERED"})
+    public Distribution distribution;
+
+    private ForkJoinPool pool;
+    private Integer[] source;
+    private Integer[] work;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        pool = new ForkJoinPool(parallelism);
+        source = distribution.generate(size);
+        work = new Integer[size];
+    }
+
+    @TearDown(Level.Trial)
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    @Setup(Level.Invocation)
+    public void reset() {
+        System.arraycopy(source, 0, work, 0, size);
+    }
+
+    @Benchmark
+    public Integer[] sequential() {
+        MergeSort2.sort(work);
+        return work;
+    }
+
+    @Benchmark
+    public Integer[] parallel() {
+        MergeSortParallel.sort(work, pool, cutoff);
+        return work;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(MergeSortParallelBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,91 @@
+package Benchmarks;
+
+import Heap.MaxHeap;
+import Heap.MultiQueue;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Collections;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * 并发优先队列的吞吐量随线程数的变化：
+ *
+ * - queue：
+ *   1. MultiQueue：c = 2，p = 当前的线程数；
+ *   2. PriorityBlockingQueue：JDK 自带的并发优先队列，内部是一把锁保护的二叉堆（用 reverseOrder 使其成为最大堆）；
+ *   3. LockedMaxHeap：用一把全局锁包起来的 MaxHeap，即目前任务调度器的做法。
+ * - 负载为 hold 模型：每次操作先 insert 一个随机元素，再 extractMax 一次，队列大小保持在 size 附近。所有线程共用同一个
+ *   队列（Scope.Benchmark），得分为所有线程的总吞吐量。
+ * - 后两者的吞吐量在线程数增加后基本不变甚至下降（所有线程都在争抢同一把锁），MultiQueue 应随线程数近似线性增长。
+ *   放松语义的代价（rank error）见 MultiQueue.rankError。
+ *
+ * - 运行：mvn -P benchmark package && java -cp target/benchmarks.jar Benchmarks.MultiQueueBenchmark
+ *   （main 中依次以 1~32 个线程运行；直接用 benchmarks.jar 运行时可以通过 -t 指定线程数）
+ * */
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class MultiQueueBenchmark {
+    @Param({"MultiQueue", "PriorityBlockingQueue", "LockedMaxHeap"})
+    public String queue;
+
+    @Param({"100000"})
+    public int size;
+
+    private MultiQueue<Integer> multiQueue;
+    private PriorityBlockingQueue<Integer> blockingQueue;
+    private MaxHeap<Integer> lockedHeap;
+
+    @Setup(Level.Trial)
+    public void setUp(BenchmarkParams params) {
+        multiQueue = new MultiQueue<>(2, params.getThreads());
+        blockingQueue = new PriorityBlockingQueue<>(size, Collections.reverseOrder());
+        lockedHeap = new MaxHeap<>(size);
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < size; i++) {
+            int e = random.nextInt();
+            switch (queue) {
+                case "MultiQueue": multiQueue.insert(e); break;
+                case "PriorityBlockingQueue": blockingQueue.add(e); break;
+                default: lockedHeap.insert(e);
+            }
+        }
+    }
+
+    @Benchmark
+    public Integer hold() {
+        int e = ThreadLocalRandom.current().nextInt();
+        switch (queue) {
+            case "MultiQueue":
+                multiQueue.insert(e);
+                return multiQueue.extractMax();
+            case "PriorityBlockingQueue":
+                blockingQueue.add(e);
+                return blockingQueue.poll();
+            default:
+                synchronized (lockedHeap) {
+                    lockedHeap.insert(e);
+                    return lockedHeap.extractMax();
+                }
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        for (int threads : new int[]{1, 2, 4, 8, 16, 32})
+            new Runner(new OptionsBuilder()
+                    .include(MultiQueueBenchmark.class.getSimpleName())
+                    .threads(threads)
+                    .build()).run();
+    }
+}
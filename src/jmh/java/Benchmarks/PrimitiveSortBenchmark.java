@@ -0,0 +1,137 @@
+package Benchmarks;
+
+import SortingAdvanced.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/*
+ * 基本类型版本（int[]）与泛型版本（Integer[]）的对比：
+ *
+ * - 两组输入的数据完全相同，只是一组装箱、一组不装箱。
+ * - 除了吞吐量，-prof gc 的 gc.alloc.rate.norm 也能看出差别：int[] 版本的 MergeSort 只分配一个 4n 字节的辅助数组。
+ * - 与 ComparisonSortBenchmark 相同，不使用 @Setup(Level.Invocation)（size = 1000 时单次排序只有微秒级，每次调用的
+ *   打点和同步开销会淹没结果）：
+ *   1. boxed/primitive + boxedCopy/primitiveCopy（Throughput）：在方法内部拷贝后排序，减去只拷贝的得分即为排序本身
+ *      的开销。适用于小 size；
+ *   2. boxedSingleShot/primitiveSingleShot（SingleShotTime）：每个 iteration 只排序一次，拷贝在
+ *      @Setup(Level.Iteration) 中完成。适用于 size = 1e7。
+ *
+ * - 运行：mvn -P benchmark package && java -jar target/benchmarks.jar PrimitiveSortBenchmark -prof gc
+ *   小 size：... 'PrimitiveSortBenchmark.(boxed|primitive|boxedCopy|primitiveCopy)$' -p size=1000,100000
+ *   大 size：... 'PrimitiveSortBenchmark.*SingleShot' -p size=10000000
+ * */
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+@State(Scope.Thread)
+public class PrimitiveSortBenchmark {
+    static final Map<String, Consumer<Integer[]>> BOXED_SORTERS = new LinkedHashMap<>();
+    static final Map<String, Consumer<int[]>> PRIMITIVE_SORTERS = new LinkedHashMap<>();
+
+    static {
+        BOXED_SORTERS.put("MergeSort", MergeSort::sort);
+        BOXED_SORTERS.put("MergeSortBottomUp", MergeSortBottomUp::sort);
+        BOXED_SORTERS.put("QuickSort2Ways", QuickSort2Ways::sort);
+        BOXED_SORTERS.put("QuickSort3Ways", QuickSort3Ways::sort);
+        PRIMITIVE_SORTERS.put("MergeSort", MergeSort::sort);
+        PRIMITIVE_SORTERS.put("MergeSortBottomUp", MergeSortBottomUp::sort);
+        PRIMITIVE_SORTERS.put("QuickSort2Ways", QuickSort2Ways::sort);
+        PRIMITIVE_SORTERS.put("QuickSort3Ways", QuickSort3Ways::sort);
+    }
+
+    @Param({"MergeSort", "MergeSortBottomUp", "QuickSort2Ways", "QuickSort3Ways"})
+    public String sorter;
+
+    @Param({"1000", "100000", "10000000"})
+    public int size;
+
+    @Param({"RANDOM", "NEARLY_ORDERED", "MANY_DUPLICATES"})
+    public Distribution distribution;
+
+    private Consumer<Integer[]> boxedFn;
+    private Consumer<int[]> primitiveFn;
+    private Integer[] boxedSource, boxedWork;
+    private int[] primitiveSource, primitiveWork;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        boxedFn = BOXED_SORTERS.get(sorter);
+        primitiveFn = PRIMITIVE_SORTERS.get(sorter);
+        boxedSource = distribution.generate(size);
+        primitiveSource = new int[size];
+        for (int i = 0; i < size; i++)
+            primitiveSource[i] = boxedSource[i];
+        boxedWork = new Integer[size];
+        primitiveWork = new int[size];
+    }
+
+    @Setup(Level.Iteration)
+    public void reset() {  // 只供 xxxSingleShot 使用：每个 iteration 只调用一次，相当于每次排序前重置
+        System.arraycopy(boxedSource, 0, boxedWork, 0, size);
+        System.arraycopy(primitiveSource, 0, primitiveWork, 0, size);
+    }
+
+    @Benchmark
+    public Integer[] boxed() {  // 拷贝 + 排序，减去 boxedCopy 的得分即为排序本身的开销
+        System.arraycopy(boxedSource, 0, boxedWork, 0, size);
+        boxedFn.accept(boxedWork);
+        return boxedWork;
+    }
+
+    @Benchmark
+    public Integer[] boxedCopy() {
+        System.arraycopy(boxedSource, 0, boxedWork, 0, size);
+        return boxedWork;
+    }
+
+    @Benchmark
+    public int[] primitive() {
+        System.arraycopy(primitiveSource, 0, primitiveWork, 0, size);
+        primitiveFn.accept(primitiveWork);
+        return primitiveWork;
+    }
+
+    @Benchmark
+    public int[] primitiveCopy() {
+        System.arraycopy(primitiveSource, 0, primitiveWork, 0, size);
+        return primitiveWork;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 3)
+    @Measurement(iterations = 10)
+    public Integer[] boxedSingleShot() {
+        boxedFn.accept(boxedWork);
+        return boxedWork;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 3)
+    @Measurement(iterations = 10)
+    public int[] primitiveSingleShot() {
+        primitiveFn.accept(primitiveWork);
+        return primitiveWork;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(PrimitiveSortBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
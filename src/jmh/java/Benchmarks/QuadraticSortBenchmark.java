@@ -0,0 +1,99 @@
+package Benchmarks;
+
+import SortingBasic.BubbleSort;
+import SortingBasic.InsertionSort;
+import SortingBasic.SelectionSort;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/*
+ * O(n^2) 级别排序算法的 JMH 基准测试：
+ *
+ * - 测试方式（sort - copy 与 sortSingleShot 的用法）与 ComparisonSortBenchmark 相同，只是 size 只到 1e5 —— 对于 1e6 以上的随机数据，一次 O(n^2) 排序
+ *   就需要数分钟到数天，没有测量意义。
+ * - 1e5 的随机数据单次排序已在秒级，应使用 sortSingleShot；1e3 使用 sort - copy。
+ * - 对于 NEARLY_ORDERED，InsertionSort.sort2 和 BubbleSort.sort2 接近 O(n)，这正是这组测试最值得看的结果。
+ *
+ * - 运行：mvn -P benchmark package && java -jar target/benchmarks.jar QuadraticSortBenchmark -prof gc
+ * */
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class QuadraticSortBenchmark {
+    static final Map<String, Consumer<Integer[]>> SORTERS = new LinkedHashMap<>();
+
+    static {
+        SORTERS.put("BubbleSort.sort1", BubbleSort::sort1);
+        SORTERS.put("BubbleSort.sort2", BubbleSort::sort2);
+        SORTERS.put("SelectionSort", SelectionSort::sort);
+        SORTERS.put("InsertionSort.sort1", InsertionSort::sort1);
+        SORTERS.put("InsertionSort.sort2", InsertionSort::sort2);
+    }
+
+    @Param({"BubbleSort.sort1", "BubbleSort.sort2", "SelectionSort", "InsertionSort.sort1", "InsertionSort.sort2"})
+    public String sorter;
+
+    @Param({"1000", "10000", "100000"})
+    public int size;
+
+    @Param({"RANDOM", "NEARLY_ORDERED", "MANY_DUPLICATES"})
+    public Distribution distribution;
+
+    private Consumer<Integer[]> fn;
+    private Integer[] source;
+    private Integer[] work;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        fn = SORTERS.get(sorter);
+        source = distribution.generate(size);
+        work = new Integer[size];
+    }
+
+    @Setup(Level.Iteration)
+    public void reset() {  // 只供 sortSingleShot 使用：每个 iteration 只调用一次，相当于每次排序前重置
+        System.arraycopy(source, 0, work, 0, size);
+    }
+
+    @Benchmark
+    public Integer[] sort() {  // 拷贝 + 排序，减去 copy 的得分即为排序本身的开销
+        System.arraycopy(source, 0, work, 0, size);
+        fn.accept(work);
+        return work;
+    }
+
+    @Benchmark
+    public Integer[] copy() {  // 只拷贝，作为 sort 的基线
+        System.arraycopy(source, 0, work, 0, size);
+        return work;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 3)
+    @Measurement(iterations = 10)
+    public Integer[] sortSingleShot() {  // 每个 iteration 只排序一次，拷贝在 @Setup(Level.Iteration) 中完成，不计入时间
+        fn.accept(work);
+        return work;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(QuadraticSortBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
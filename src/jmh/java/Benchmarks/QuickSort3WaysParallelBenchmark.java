@@ -0,0 +1,87 @@
+package Benchmarks;
+
+import SortingAdvanced.QuickSort3Ways;
+import SortingAdvanced.QuickSort3WaysParallel;
+import SortingAdvanced.SampleSort;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * QuickSort3WaysParallel、SampleSort 与 Arrays.parallelSort 的对比：
+ *
+ * - 主要关注 MANY_DUPLICATES（取值范围只有 [0, 10)）：三路快排会把所有 == v 的元素一次性放到最终位置上，
+ *   而 Arrays.parallelSort 对 Object[] 使用的是并行归并（TimSort），无法利用重复元素。
+ * - RANDOM 作为对照组，在这种数据上并行三路快排不一定占优。
+ * - SampleSort 每个阶段都能用上所有的核，核数越多相对 QuickSort3WaysParallel 的优势越明显；对于 MANY_DUPLICATES，
+ *   几乎所有元素都落入相等桶，只需要分类和分发两趟扫描。
+ * - Arrays.parallelSort 固定使用 common pool，因此 QuickSort3WaysParallel 和 SampleSort 也使用 common pool，保证线程数相同；
+ *   要测试不同核数，可以加上 -jvmArgsAppend -Djava.util.concurrent.ForkJoinPool.common.parallelism=N。
+ *
+ * - 运行：mvn -P benchmark package && java -jar target/benchmarks.jar QuickSort3WaysParallelBenchmark
+ * */
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+@State(Scope.Thread)
+public class QuickSort3WaysParallelBenchmark {
+    @Param({"1000000", "10000000"})
+    public int size;
+
+    @Param({"MANY_DUPLICATES", "RANDOM"})
+    public Distribution distribution;
+
+    private ForkJoinPool pool;
+    private Integer[] source;
+    private Integer[] work;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        pool = ForkJoinPool.commonPool();
+        source = distribution.generate(size);
+        work = new Integer[size];
+    }
+
+    @Setup(Level.Invocation)
+    public void reset() {
+        System.arraycopy(source, 0, work, 0, size);
+    }
+
+    @Benchmark
+    public Integer[] quickSort3Ways() {
+        QuickSort3Ways.sort(work);
+        return work;
+    }
+
+    @Benchmark
+    public Integer[] quickSort3WaysParallel() {
+        QuickSort3WaysParallel.sort(work, pool, 8192);
+        return work;
+    }
+
+    @Benchmark
+    public Integer[] sampleSort() {
+        SampleSort.sort(work, pool);
+        return work;
+    }
+
+    @Benchmark
+    public Integer[] arraysParallelSort() {
+        Arrays.parallelSort(work);
+        return work;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(QuickSort3WaysParallelBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,79 @@
+package Benchmarks;
+
+import SortingAdvanced.QuickSort2Ways;
+import SortingAdvanced.QuickSort3Ways;
+import SortingAdvanced.QuickSortBlock;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * QuickSortBlock（块划分）与 QuickSort2Ways、QuickSort3Ways 的 int[] 版本以及 Arrays.sort 的对比：
+ *
+ * - 分支预测失败的差别在 RANDOM 上最明显；NEARLY_ORDERED 上比较结果大多可预测，普通 partition 的劣势较小。
+ * - 在 Linux 上可以加上 -prof perfnorm 查看每次排序的 branch-misses，直接验证块划分是否消除了分支预测失败。
+ *
+ * - 运行：mvn -P benchmark package && java -jar target/benchmarks.jar QuickSortBlockBenchmark -prof perfnorm
+ * */
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Thread)
+public class QuickSortBlockBenchmark {
+    @Param({"100000", "10000000"})
+    public int size;
+
+    @Param({"RANDOM", "NEARLY_ORDERED", "MANY_DUPLICATES"})
+    public Distribution distribution;
+
+    private int[] source;
+    private int[] work;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        source = distribution.generateInts(size);
+        work = new int[size];
+    }
+
+    @Setup(Level.Invocation)
+    public void reset() {
+        System.arraycopy(source, 0, work, 0, size);
+    }
+
+    @Benchmark
+    public int[] quickSort2Ways() {
+        QuickSort2Ways.sort(work);
+        return work;
+    }
+
+    @Benchmark
+    public int[] quickSort3Ways() {
+        QuickSort3Ways.sort(work);
+        return work;
+    }
+
+    @Benchmark
+    public int[] quickSortBlock() {
+        QuickSortBlock.sort(work);
+        return work;
+    }
+
+    @Benchmark
+    public int[] arraysSort() {
+        Arrays.sort(work);
+        return work;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(QuickSortBlockBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,62 @@
+package Benchmarks;
+
+import SortingAdvanced.MergeSort2;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+ * 叶子节点使用排序网络时，不同 cutoff 对整体排序时间的影响（MergeSort2.sort(int[], cutoff)）：
+ *
+ * - cutoff = 1 即完全不使用排序网络（递归到单个元素），作为基准。
+ * - cutoff 越大，递归和 merge 的层数越少（每翻一倍少一层），但排序网络的比较-交换次数增长得比 nlogn 快（16 个元素
+ *   需要 63 次），因此存在一个最优值，并且与数据分布有关：NEARLY_ORDERED 上大部分 merge 本来就会被跳过。
+ *
+ * - 运行：mvn -P benchmark package && java -jar target/benchmarks.jar SortingNetworkCutoffBenchmark
+ * */
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Thread)
+public class SortingNetworkCutoffBenchmark {
+    @Param({"1", "2", "4", "6", "8", "10", "12", "14", "16"})
+    public int cutoff;
+
+    @Param({"100000", "10000000"})
+    public int size;
+
+    @Param({"RANDOM", "NEARLY_ORDERED", "MANY_DUPLICATES"})
+    public Distribution distribution;
+
+    private int[] source;
+    private int[] work;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        source = distribution.generateInts(size);
+        work = new int[size];
+    }
+
+    @Setup(Level.Invocation)
+    public void reset() {
+        System.arraycopy(source, 0, work, 0, size);
+    }
+
+    @Benchmark
+    public int[] mergeSort2() {
+        MergeSort2.sort(work, cutoff);
+        return work;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(SortingNetworkCutoffBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
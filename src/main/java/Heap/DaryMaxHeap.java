@@ -0,0 +1,153 @@
+package Heap;
+
+import java.util.Arrays;
+
+import static Utils.Helpers.log;
+
+/*
+ * d 叉最大堆（d-ary Max Heap）
+ *
+ * - 问题：MaxHeap 是二叉堆，树高为 log2(n)。当堆大到放不进 L2 缓存时，siftDown 每下降一层都要访问一个新的位置，
+ *   每层都会产生 cache miss。
+ *
+ * - d 叉堆：每个节点有 d 个孩子，位置 k 的孩子是 d*k+1...d*k+d，父节点是 (k-1)/d。
+ *   - 树高降为 logd(n)（d = 4 时是二叉堆的一半，d = 8 时是三分之一），siftUp 只比较父节点，因此 insert 的比较次数和
+ *     内存访问都随之减少。
+ *   - siftDown 每层要在 d 个孩子中找最大值，比较次数变为 d * logd(n)（比二叉堆多）。d 个孩子的引用在数组中是连续的，
+ *     读取它们只需一两个缓存行；但堆中存的是 E 的引用，每次 compareTo 还要解引用这些元素对象本身，而它们散布在堆内存
+ *     的各处。因此 siftDown 的 cache miss 次数约为 d * logd(n)，并不比二叉堆的 2 * log2(n) 少（d = 4 时相等，d 更大
+ *     时更多）。d 叉堆对引用类型的收益主要来自 siftUp（insert）的层数减少和 sift 过程中数组访问的局部性，以
+ *     DaryHeapBenchmark 的实测结果为准。
+ *   - 若要让"每层只有一两次 cache miss"真正成立，键必须直接存放在数组中（如 double[] 键 + int[] 索引，参见
+ *     IndexMinPQ 的做法），这样比较孩子时不需要解引用任何对象。
+ *
+ * - 关于缓存行对齐：Java 无法控制数组元素相对于缓存行的位置（对象只保证按8字节对齐，数组元素从对象头之后开始），
+ *   因此这里不提供"对齐"的布局 —— 把元素整体平移只能保证相对于数组起始位置对齐，实际上什么也保证不了。
+ *
+ * - 与 MaxHeap 的其他区别：
+ *   1. 数组满时自动扩容（容量翻倍），不需要预先知道元素个数；
+ *   2. sift 过程不使用 swap，而是先取出要移动的元素，将沿途的元素逐个移过去，最后再放入最终位置，每层只需一次赋值。
+ *
+ * - 性能对比见 Benchmarks.DaryHeapBenchmark。
+ * */
+
+public class DaryMaxHeap<E extends Comparable<E>> {
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private final int d;
+    private E[] data;
+    private int size;
+
+    public DaryMaxHeap(int d) {
+        this(d, DEFAULT_CAPACITY);
+    }
+
+    public DaryMaxHeap(int d, int capacity) {
+        if (d < 2)
+            throw new IllegalArgumentException("DaryMaxHeap failed. Arity should be at least 2.");
+        this.d = d;
+        @SuppressWarnings("unchecked")  // 不能直接创建泛型数组，但数组中只会放入 E
+        E[] data = (E[]) new Comparable<?>[Math.max(capacity, 1)];
+        this.data = data;
+    }
+
+    public DaryMaxHeap(int d, E[] arr) {  // heapify
+        this(d, arr.length);
+        System.arraycopy(arr, 0, data, 0, arr.length);
+        size = arr.length;
+        for (int k = size == 0 ? -1 : (size - 2) / d; k >= 0; k--)  // 从最后一个非叶子节点开始下沉
+            siftDown(k, data[k]);
+    }
+
+    // 把 e 放在堆中位置 k 上并上浮
+    private void siftUp(int k, E e) {
+        while (k > 0) {
+            int parent = (k - 1) / d;
+            E p = data[parent];
+            if (p.compareTo(e) >= 0)
+                break;
+            data[k] = p;  // 父节点下移
+            k = parent;
+        }
+        data[k] = e;
+    }
+
+    // 把 e 放在堆中位置 k 上并下沉
+    private void siftDown(int k, E e) {
+        int half = (size - 2) / d;  // 位置 <= half 的节点都至少有一个孩子
+        while (size > 1 && k <= half) {
+            int first = d * k + 1, last = Math.min(first + d, size);  // 孩子在 data[first...last) 中
+            int max = first;
+            for (int i = first + 1; i < last; i++)
+                if (data[i].compareTo(data[max]) > 0)
+                    max = i;
+            if (e.compareTo(data[max]) >= 0)
+                break;
+            data[k] = data[max];  // 较大的孩子上移
+            k = max;
+        }
+        data[k] = e;
+    }
+
+    private void resize(int newCapacity) {
+        data = Arrays.copyOf(data, newCapacity);
+    }
+
+    public E findMax() {
+        if (size == 0)
+            throw new IllegalArgumentException("findMax failed. Heap is empty.");
+        return data[0];
+    }
+
+    public void insert(E e) {
+        if (size == data.length)
+            resize(2 * size);
+        siftUp(size++, e);
+    }
+
+    public E extractMax() {
+        E ret = findMax();
+        E last = data[--size];
+        data[size] = null;
+        if (size > 0)
+            siftDown(0, last);
+        return ret;
+    }
+
+    public E replace(E e) {
+        E ret = findMax();
+        siftDown(0, e);
+        return ret;
+    }
+
+    public int getArity() { return d; }
+
+    public int getSize() { return size; }
+
+    public boolean isEmpty() { return size == 0; }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(Arrays.copyOf(data, size));
+    }
+
+    public static void main(String[] args) {
+        Integer[] inputSeq = {3, 10, 6, 4, 8, 7, 1, 5, 2, 9};
+        DaryMaxHeap<Integer> heap = new DaryMaxHeap<>(4, 2);  // 初始容量为2，插入过程中会扩容
+
+        log("---- Testing insert ----");
+        for (int e : inputSeq) {
+            heap.insert(e);
+            log("insert " + e + " -> " + heap.toString());
+        }
+
+        log("\n---- Testing extractMax ----");
+        while (!heap.isEmpty()) {
+            int max = heap.extractMax();
+            log("extract " + max + " -> " + heap.toString());
+        }
+
+        log("\n---- Testing heapify ----");
+        log(new DaryMaxHeap<>(3, inputSeq));
+    }
+}
@@ -1,5 +1,7 @@
 package Heap;
 
+import Utils.SortMetrics;
+
 import static Utils.Helpers.*;
 
 /*
@@ -30,6 +32,8 @@ public class HeapSort {
 
     public static <E extends Comparable<E>> void sort1(E[] arr) {  // 第一种实现
         MaxHeap<E> heap = new MaxHeap<>(arr.length);
+        SortMetrics.countAuxArray(arr.length, SortMetrics.REFERENCE_BYTES);  // MaxHeap 内部的数组
+        SortMetrics.countAssignments(arr.length);
         for (int i = 0; i < arr.length; i++)
             heap.insert(arr[i]);
         for (int i = arr.length - 1; i >= 0; i--)
@@ -38,6 +42,8 @@ public class HeapSort {
 
     public static <E extends Comparable<E>> void sort2(E[] arr) {  // 第二种实现
         MaxHeap<E> heap = new MaxHeap<>(arr);
+        SortMetrics.countAuxArray(arr.length, SortMetrics.REFERENCE_BYTES);
+        SortMetrics.countAssignments(arr.length);
         for (int i = arr.length - 1; i >= 0; i--)
             arr[i] = heap.extractMax();
     }
@@ -68,6 +74,31 @@ public class HeapSort {
         }
     }
 
+    // 对 arr[l...r] 进行原地堆排序，过程与 sort3 相同，只是堆的根节点在 l 而不是0（供 IntroSort 对子区间使用）
+    public static <E extends Comparable<E>> void sortRange(E[] arr, int l, int r) {
+        int n = r - l + 1;
+        for (int i = (n - 2) / 2; i >= 0; i--)  // heapify，(n-2)/2 即最后一个非叶子节点（相对于 l 的偏移）
+            siftDown3(arr, l, n, i);
+
+        for (int i = n - 1; i > 0; i--) {
+            swap(arr, l + i, l);
+            siftDown3(arr, l, i, 0);
+        }
+    }
+
+    // 与 siftDown2 相同，只是 k 和 n 都是相对于 l 的偏移，访问数组时要加上 l
+    private static <E extends Comparable<E>> void siftDown3(E[] arr, int l, int n, int k) {
+        while (k * 2 + 1 < n) {
+            int i = k * 2 + 1;
+            if (i + 1 < n && arr[l + i + 1].compareTo(arr[l + i]) > 0)
+                i += 1;
+            if (arr[l + k].compareTo(arr[l + i]) >= 0)
+                break;
+            swap(arr, l + i, l + k);
+            k = i;
+        }
+    }
+
     public static void main(String[] args) {
         Integer[] arr1 = generateRandomIntArr(10);
         Integer[] arr2 = arr1.clone();
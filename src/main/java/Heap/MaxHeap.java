@@ -1,16 +1,27 @@
 package Heap;
 
 import java.util.Arrays;
+import java.util.Collection;
 
 import static Utils.Helpers.log;
 import static Utils.Helpers.swap;
 
 /*
 * 最大堆（Max Heap）
+*
+* - 批量操作：
+*   - insertAll：一次插入 k 个元素。先把它们全部追加到数组末尾，再恢复堆的性质：
+*     - k 相对于 n 较小时（k·logn < n），逐个 siftUp，O(klogn)；
+*     - 否则只对"包含新元素的子树"的根做 siftDown（自底向上，与构造器中的 heapify 相同），其他子树中全是原来的元素，
+*       本身就是堆，不需要处理。新元素在数组中是连续的 [n, n+k)，因此它们在每一层的祖先也是连续的一段，逐层向上取
+*       父节点即可得到所有要处理的区间，共需约 2k + logn·logk 次 siftDown，即 O(k + logn·logk)。n = 0 时就是完整的
+*       heapify。
+*   - meld：把另一个堆中的所有元素并入当前堆，总是把较小的堆追加到较大的堆后面，然后与 insertAll 相同地恢复堆的性质。
+*   - drainTo：依次取出最大的 k 个元素放入数组中（降序）。
 * */
 
 public class MaxHeap<E extends Comparable<E>> {
-    private E[] data;  // 这里使用数组实现最大堆，因此不能扩容，若要扩容则需使用动态数据结构实现，或自行为 data 添加 resize 方法
+    private E[] data;  // 数组满时 insert 会自动扩容（容量翻倍）
     private int size;
 
     public MaxHeap(int capacity) {
@@ -64,16 +75,26 @@ public class MaxHeap<E extends Comparable<E>> {
         }
     }
 
-    private E findMax() { return data[0]; }  // 找到最大值，相当于 priority queue 的 peek 方法
+    private void resize(int newCapacity) {
+        data = Arrays.copyOf(data, newCapacity);
+    }
+
+    public E findMax() {  // 找到最大值，相当于 priority queue 的 peek 方法
+        if (size == 0)
+            throw new IllegalArgumentException("findMax failed. Heap is empty.");
+        return data[0];
+    }
 
     public void insert(E e) {
+        if (size == data.length)
+            resize(Math.max(2 * size, 1));
         data[size] = e;
         size++;
         siftUp(size - 1);
     }
 
     public E extractMax() {
-        E ret = data[0];           // 先保存最大值
+        E ret = findMax();         // 先保存最大值
         data[0] = data[size - 1];  // 取数组的最后一个元素覆盖第一个元素
         data[size - 1] = null;     // 移除最大值元素
         size--;
@@ -81,6 +102,82 @@ public class MaxHeap<E extends Comparable<E>> {
         return ret;
     }
 
+    public void insertAll(Collection<? extends E> c) {
+        ensureCapacity(size + c.size());
+        int oldSize = size;
+        for (E e : c)
+            data[size++] = e;
+        restoreAppended(oldSize);
+    }
+
+    public void meld(MaxHeap<E> other) {  // 将 other 中的所有元素并入当前堆，other 变为空堆
+        if (other == this)
+            throw new IllegalArgumentException("meld failed. Cannot meld a heap with itself.");
+        if (other.size > size) {  // 交换两个堆的数组，使得总是把较小的堆追加到较大的堆后面
+            E[] tempData = data;
+            data = other.data;
+            other.data = tempData;
+            int tempSize = size;
+            size = other.size;
+            other.size = tempSize;
+        }
+
+        ensureCapacity(size + other.size);
+        int oldSize = size;
+        System.arraycopy(other.data, 0, data, size, other.size);
+        size += other.size;
+        Arrays.fill(other.data, 0, other.size, null);
+        other.size = 0;
+        restoreAppended(oldSize);
+    }
+
+    public int drainTo(E[] arr, int k) {  // 取出最大的 k 个元素（不足 k 个时全部取出），降序放入 arr 中，返回取出的个数
+        if (k < 0 || k > arr.length)
+            throw new IllegalArgumentException("drainTo failed. k should be in [0, arr.length].");
+        int count = Math.min(k, size);
+        for (int i = 0; i < count; i++)
+            arr[i] = extractMax();
+        return count;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > data.length)
+            resize(Math.max(capacity, 2 * data.length));
+    }
+
+    // [oldSize, size) 中是新追加的元素，恢复堆的性质
+    private void restoreAppended(int oldSize) {
+        int k = size - oldSize;
+        if (k == 0) return;
+
+        if (oldSize > 0 && (long) k * (32 - Integer.numberOfLeadingZeros(oldSize)) < oldSize) {
+            for (int i = oldSize; i < size; i++)  // 逐个上浮（siftUp 只访问祖先，因此后面尚未处理的元素不受影响）
+                siftUp(i);
+            return;
+        }
+
+        if (size < 2) return;
+        int lastNonLeafNodeIndex = getParentIndex(size - 1);
+        int[] ranges = new int[64];  // 需要 siftDown 的区间，按下标从大到小排列，相邻的区间合并
+        int count = 0;
+        for (int lo = oldSize, hi = size - 1; ; lo = (lo - 1) / 2, hi = (hi - 1) / 2) {
+            int h = Math.min(hi, lastNonLeafNodeIndex);  // 叶子节点不需要 siftDown
+            if (lo <= h) {
+                if (count > 0 && h >= ranges[count - 2] - 1)
+                    ranges[count - 2] = lo;
+                else {
+                    ranges[count++] = lo;
+                    ranges[count++] = h;
+                }
+            }
+            if (lo == 0) break;
+        }
+
+        for (int r = 0; r < count; r += 2)  // 下标从大到小处理，保证处理一个节点时其子树都已经是堆
+            for (int i = ranges[r + 1]; i >= ranges[r]; i--)
+                siftDown(i);
+    }
+
     public E replace(E e) {
         E ret = findMax();
         data[0] = e;
@@ -115,5 +212,16 @@ public class MaxHeap<E extends Comparable<E>> {
 
         log("\n---- Testing heapify ----");
         log(new MaxHeap<>(inputSeq));
+
+        log("\n---- Testing insertAll, meld and drainTo ----");
+        MaxHeap<Integer> heap1 = new MaxHeap<>(inputSeq);
+        heap1.insertAll(Arrays.asList(12, 0, 15, 11, 13, 14));
+        log("insertAll -> " + heap1);
+        MaxHeap<Integer> heap2 = new MaxHeap<>(new Integer[]{20, 16, 18});
+        heap1.meld(heap2);
+        log("meld -> " + heap1 + ", other size: " + heap2.getSize());
+        Integer[] top = new Integer[5];
+        heap1.drainTo(top, top.length);
+        log("drainTo(5) -> " + Arrays.toString(top) + ", rest: " + heap1);
     }
 }
@@ -0,0 +1,278 @@
+package Heap;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.LongAdder;
+
+import static Utils.Helpers.log;
+
+/*
+ * MultiQueue：可扩展的并发最大优先队列（relaxed concurrent priority queue）
+ *
+ * - 问题：MaxHeap、IndexMaxHeap、MinHeap 都不是线程安全的。用一把全局锁包起来（或使用 PriorityBlockingQueue）时，
+ *   所有线程的 insert 和 extractMax 都要串行地经过同一个堆顶，线程一多这把锁就成了瓶颈。
+ *
+ * - 思路：放弃"每次都取出全局最大值"这一严格语义，换取可扩展性。
+ *   - 内部有 q = c·p 个 MaxHeap（p 为线程数，c 为每个线程平均对应的堆数，通常取 2~4），每个堆有自己的（自旋）锁；
+ *   - insert：随机选一个堆，tryLock 成功就插入，失败（被其他线程占用）就换一个随机的堆重试，因此线程之间几乎不会等待；
+ *   - extractMax：随机选两个堆，比较它们的堆顶，对堆顶较大的那个 tryLock 并取出堆顶。比较堆顶时不加锁，读的是每个
+ *     堆在上次修改后发布的 volatile 的 top，可能已经过时，因此加锁后还要再检查一次堆是否为空。
+ *   - 只看两个堆而不是一个堆（power of two choices），使取出的元素接近全局最大值：期望的 rank error 为 O(q)，
+ *     且与运行时间无关；只看一个堆时 rank error 会随时间不断增大。
+ *
+ * - 放松后的语义：
+ *   - extractMax 取出的不一定是当前的最大值，而是"排名靠前"的某个元素。rank error 指取出的元素在当时队列中的排名
+ *     （最大值的排名为0）。rankError 方法给出了 rank error 的统计报告，可以据此选择 c。
+ *   - 两个随机的堆都为空时会依次检查所有的堆；所有堆都为空时 extractMax 返回 null。与其他线程的 insert 并发时，可能
+ *     返回 null 但随后立即有元素可取（即 isEmpty、getSize 只是近似值）。
+ *   - 适用于任务调度、并行的分支定界、Dijkstra 的 relaxed 变体等"稍微打乱优先级也不影响正确性"的场景。
+ *
+ * - 避免引入新的全局竞争点：
+ *   - 伪共享（false sharing）：每个堆的锁状态和 top 放在同一个 Slot 对象中，每次 insert/extractMax 都会写它们。Slot 是在
+ *     构造器中连续分配的，若不加处理，相邻的几个 Slot 会落在同一个 64 字节的缓存行中，一个线程加锁或发布 top 都会使其他
+ *     线程缓存的相邻 Slot 失效。因此 Slot 的热点字段前后各用 64 字节的 long 字段填充（父类的字段总是排在子类之前，
+ *     所以用 SlotPadding -> SlotLock -> SlotFields -> Slot 的继承关系保证填充在热点字段的两侧）。锁也不使用
+ *     ReentrantLock，因为它的状态在另一个单独分配的 Sync 对象中，无法一起填充；这里直接对 Slot 中的 locked 字段做 CAS。
+ *   - 元素个数：用 LongAdder 而不是 AtomicInteger 计数，否则每次操作都要 CAS 同一个共享变量，又变成了全局的竞争点。
+ *     LongAdder 的求和较慢，只在两个随机的堆都为空时（以及 getSize、isEmpty 中）才会用到。
+ *
+ * - 与 PriorityBlockingQueue 的吞吐量对比见 Benchmarks.MultiQueueBenchmark。
+ * */
+
+public class MultiQueue<E extends Comparable<E>> {
+    private static final int DEFAULT_C = 2;
+
+    private final Slot<E>[] slots;
+    private final LongAdder size = new LongAdder();
+
+    private static class SlotPadding {  // 热点字段之前的填充（p0 占住对象头之后的4字节空隙，否则 JVM 会把 locked 放进去）
+        int p0;
+        long p00, p01, p02, p03, p04, p05, p06, p07;
+    }
+
+    private static class SlotLock extends SlotPadding {  // locked 单独放在非泛型的类中，这样 LOCKED 不需要是原始类型
+        static final AtomicIntegerFieldUpdater<SlotLock> LOCKED = AtomicIntegerFieldUpdater.newUpdater(SlotLock.class, "locked");
+
+        volatile int locked;  // 0 为未加锁，1 为已加锁
+    }
+
+    private static class SlotFields<E extends Comparable<E>> extends SlotLock {
+        volatile E top;  // 堆顶，在持有锁时更新，比较时不加锁读取；堆为空时为 null
+        final MaxHeap<E> heap = new MaxHeap<>(16);
+    }
+
+    private static final class Slot<E extends Comparable<E>> extends SlotFields<E> {
+        long p10, p11, p12, p13, p14, p15, p16, p17;  // 热点字段之后的填充
+
+        boolean tryLock() { return locked == 0 && LOCKED.compareAndSet(this, 0, 1); }
+
+        void lock() {
+            while (!tryLock())
+                Thread.yield();
+        }
+
+        void unlock() { locked = 0; }
+
+        void publishTop() { top = heap.isEmpty() ? null : heap.findMax(); }
+    }
+
+    public MultiQueue() {
+        this(DEFAULT_C, Runtime.getRuntime().availableProcessors());
+    }
+
+    public MultiQueue(int c, int p) {
+        if (c < 1 || p < 1)
+            throw new IllegalArgumentException("MultiQueue failed. c and p should be positive.");
+        @SuppressWarnings("unchecked")  // 不能直接创建泛型数组，但数组中只会放入 Slot<E>
+        Slot<E>[] slots = (Slot<E>[]) new Slot<?>[Math.max(c * p, 2)];  // 至少两个堆才能做 two choices
+        for (int i = 0; i < slots.length; i++)
+            slots[i] = new Slot<>();
+        this.slots = slots;
+    }
+
+    public void insert(E e) {
+        if (e == null)
+            throw new IllegalArgumentException("insert failed. Element should not be null.");
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (true) {
+            Slot<E> s = slots[random.nextInt(slots.length)];
+            if (s.tryLock()) {
+                try {
+                    s.heap.insert(e);
+                    s.publishTop();
+                } finally {
+                    s.unlock();
+                }
+                size.increment();
+                return;
+            }
+        }
+    }
+
+    public E extractMax() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (true) {
+            int i = random.nextInt(slots.length), j = random.nextInt(slots.length - 1);
+            if (j >= i) j++;  // 保证 i != j
+            E a = slots[i].top, b = slots[j].top;
+            if (a == null && b == null) {
+                if (size.sum() == 0)
+                    return null;
+                E e = extractFromAny();  // 元素集中在少数几个堆中，随机选择很难选中，直接依次检查
+                if (e != null || size.sum() == 0)
+                    return e;
+                continue;
+            }
+
+            Slot<E> s = b == null || a != null && a.compareTo(b) >= 0 ? slots[i] : slots[j];
+            if (s.tryLock()) {
+                try {
+                    if (!s.heap.isEmpty())  // 加锁前读到的 top 可能已经过时
+                        return extract(s);
+                } finally {
+                    s.unlock();
+                }
+            }
+        }
+    }
+
+    private E extractFromAny() {
+        for (Slot<E> s : slots) {
+            if (s.top == null)
+                continue;
+            s.lock();
+            try {
+                if (!s.heap.isEmpty())
+                    return extract(s);
+            } finally {
+                s.unlock();
+            }
+        }
+        return null;
+    }
+
+    private E extract(Slot<E> s) {  // 调用方须持有 s 的锁
+        E ret = s.heap.extractMax();
+        s.publishTop();
+        size.decrement();
+        return ret;
+    }
+
+    public int getQueueCount() { return slots.length; }
+
+    public int getSize() { return (int) size.sum(); }
+
+    public boolean isEmpty() { return size.sum() == 0; }
+
+    /*
+     * rank error 报告：在 q = c·p 个堆的 MultiQueue 中预先插入 n 个元素，然后执行 ops 次 hold 操作（extractMax 后
+     * 再插入一个新元素，队列大小保持为 n），记录每次取出的元素在当时队列中的排名。
+     * - 元素取 0...n+ops-1 的一个随机排列（互不相同），排名用 Fenwick 树（树状数组）统计：tree 中记录当前在队列中的
+     *   元素，取出 x 时它的排名就是队列中比 x 大的元素个数，O(logn)。
+     * - 这里是单线程执行的，测的是随机选堆本身带来的 rank error；多线程时 tryLock 失败后换堆重试，还会在此基础上略有
+     *   增加。
+     * */
+    public static RankErrorReport rankError(int c, int p, int n, int ops) {
+        int universe = n + ops;
+        List<Integer> keys = new ArrayList<>(universe);
+        for (int i = 0; i < universe; i++)
+            keys.add(i);
+        Collections.shuffle(keys);
+
+        MultiQueue<Integer> queue = new MultiQueue<>(c, p);
+        int[] tree = new int[universe + 1];
+        for (int i = 0; i < n; i++) {
+            queue.insert(keys.get(i));
+            fenwickAdd(tree, keys.get(i), 1);
+        }
+
+        RankErrorReport report = new RankErrorReport(queue.getQueueCount(), n, ops);
+        for (int i = 0; i < ops; i++) {
+            int x = queue.extractMax();
+            fenwickAdd(tree, x, -1);
+            long rank = fenwickCount(tree, universe - 1) - fenwickCount(tree, x);  // 队列中比 x 大的元素个数
+            report.mean += rank;
+            report.max = Math.max(report.max, rank);
+            if (rank == 0)
+                report.exact++;
+
+            int k = keys.get(n + i);
+            queue.insert(k);
+            fenwickAdd(tree, k, 1);
+        }
+        report.mean /= ops;
+        return report;
+    }
+
+    private static void fenwickAdd(int[] tree, int x, int delta) {
+        for (int i = x + 1; i < tree.length; i += i & -i)
+            tree[i] += delta;
+    }
+
+    private static long fenwickCount(int[] tree, int x) {  // 队列中 <= x 的元素个数
+        long count = 0;
+        for (int i = x + 1; i > 0; i -= i & -i)
+            count += tree[i];
+        return count;
+    }
+
+    public static class RankErrorReport {
+        public final int queues;
+        public final int n;
+        public final int ops;
+        public double mean;
+        public long max;
+        public long exact;  // rank error 为0（取出的正好是最大值）的次数
+
+        RankErrorReport(int queues, int n, int ops) {
+            this.queues = queues;
+            this.n = n;
+            this.ops = ops;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("queues = %3d, n = %d, ops = %d: mean rank error = %.2f, max = %d, exact = %.1f%%",
+                    queues, n, ops, mean, max, 100.0 * exact / ops);
+        }
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        log("---- Rank error (c = 2) ----");
+        for (int p : new int[]{1, 2, 4, 8, 16, 32})
+            log(rankError(2, p, 100000, 200000));
+
+        log("\n---- Rank error (p = 16) ----");
+        for (int c : new int[]{1, 2, 4, 8})
+            log(rankError(c, 16, 100000, 200000));
+
+        log("\n---- Testing concurrent insert and extractMax ----");
+        int threads = 8, perThread = 100000;
+        MultiQueue<Integer> queue = new MultiQueue<>(2, threads);
+        AtomicInteger extracted = new AtomicInteger();
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            workers[t] = new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < perThread; i++) {
+                    queue.insert(random.nextInt());
+                    if (i % 2 == 1 && queue.extractMax() != null)
+                        extracted.incrementAndGet();
+                }
+            });
+            workers[t].start();
+        }
+        for (Thread w : workers)
+            w.join();
+
+        int rest = 0;
+        while (queue.extractMax() != null)
+            rest++;
+        log(String.format("inserted = %d, extracted = %d, drained = %d, total = %d",
+                threads * perThread, extracted.get(), rest, extracted.get() + rest));
+    }
+}
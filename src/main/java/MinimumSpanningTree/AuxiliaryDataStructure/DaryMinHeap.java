@@ -0,0 +1,134 @@
+package MinimumSpanningTree.AuxiliaryDataStructure;
+
+import java.util.Arrays;
+
+import static Utils.Helpers.log;
+
+/*
+* d 叉最小堆（d-ary Min Heap，可以代替 MinHeap 作为 KruskalMST、LazyPrimMST 的辅助数据结构）
+*
+* - 实现与 Heap.DaryMaxHeap 相同（可配置的叉数 d、自动扩容），只是比较方向相反，原理说明（以及 d 叉堆对引用类型
+*   的 cache miss 分析）见该类。
+* - 与 MinHeap 相比，底层是普通数组而不是 ArrayList，get/set 不需要经过 List 接口和边界检查，sift 中也没有 swap。
+* */
+
+public class DaryMinHeap<E extends Comparable<E>> {
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private final int d;
+    private E[] data;
+    private int size;
+
+    public DaryMinHeap(int d) {
+        this(d, DEFAULT_CAPACITY);
+    }
+
+    public DaryMinHeap(int d, int capacity) {
+        if (d < 2)
+            throw new IllegalArgumentException("DaryMinHeap failed. Arity should be at least 2.");
+        this.d = d;
+        @SuppressWarnings("unchecked")  // 不能直接创建泛型数组，但数组中只会放入 E
+        E[] data = (E[]) new Comparable<?>[Math.max(capacity, 1)];
+        this.data = data;
+    }
+
+    public DaryMinHeap(int d, E[] arr) {  // heapify
+        this(d, arr.length);
+        System.arraycopy(arr, 0, data, 0, arr.length);
+        size = arr.length;
+        for (int k = size == 0 ? -1 : (size - 2) / d; k >= 0; k--)  // 从最后一个非叶子节点开始下沉
+            siftDown(k, data[k]);
+    }
+
+    // 把 e 放在堆中位置 k 上并上浮
+    private void siftUp(int k, E e) {
+        while (k > 0) {
+            int parent = (k - 1) / d;
+            E p = data[parent];
+            if (p.compareTo(e) <= 0)
+                break;
+            data[k] = p;  // 父节点下移
+            k = parent;
+        }
+        data[k] = e;
+    }
+
+    // 把 e 放在堆中位置 k 上并下沉
+    private void siftDown(int k, E e) {
+        int half = (size - 2) / d;  // 位置 <= half 的节点都至少有一个孩子
+        while (size > 1 && k <= half) {
+            int first = d * k + 1, last = Math.min(first + d, size);  // 孩子在 data[first...last) 中
+            int min = first;
+            for (int i = first + 1; i < last; i++)
+                if (data[i].compareTo(data[min]) < 0)
+                    min = i;
+            if (e.compareTo(data[min]) <= 0)
+                break;
+            data[k] = data[min];  // 较小的孩子上移
+            k = min;
+        }
+        data[k] = e;
+    }
+
+    private void resize(int newCapacity) {
+        data = Arrays.copyOf(data, newCapacity);
+    }
+
+    public E findMin() {
+        if (size == 0)
+            throw new IllegalArgumentException("findMin failed. Heap is empty.");
+        return data[0];
+    }
+
+    public void insert(E e) {
+        if (size == data.length)
+            resize(2 * size);
+        siftUp(size++, e);
+    }
+
+    public E extractMin() {
+        E ret = findMin();
+        E last = data[--size];
+        data[size] = null;
+        if (size > 0)
+            siftDown(0, last);
+        return ret;
+    }
+
+    public E replace(E e) {
+        E ret = findMin();
+        siftDown(0, e);
+        return ret;
+    }
+
+    public int getArity() { return d; }
+
+    public int getSize() { return size; }
+
+    public boolean isEmpty() { return size == 0; }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(Arrays.copyOf(data, size));
+    }
+
+    public static void main(String[] args) {
+        Integer[] inputSeq = {3, 10, 6, 4, 8, 7, 1, 5, 2, 9};
+        DaryMinHeap<Integer> heap = new DaryMinHeap<>(4, 2);  // 初始容量为2，插入过程中会扩容
+
+        log("---- Testing insert ----");
+        for (int e : inputSeq) {
+            heap.insert(e);
+            log("insert " + e + " -> " + heap.toString());
+        }
+
+        log("\n---- Testing extractMin ----");
+        while (!heap.isEmpty()) {
+            int min = heap.extractMin();
+            log("extract " + min + " -> " + heap.toString());
+        }
+
+        log("\n---- Testing heapify ----");
+        log(new DaryMinHeap<>(3, inputSeq));
+    }
+}
@@ -9,6 +9,7 @@ import static Utils.Helpers.swap;
 * 最小索引堆（作为 PrimMST 的辅助数据结构）
 *
 * - 采用了 IndexMaxHeapOptimised 中的实现，带有 reverse 反向索引，使 change 方法的复杂度为 O(logn)。
+* - PrimMST 和 Dijkstra 现在使用键为 double 的 IndexPQ（IndexMinPQ 或 IndexPairingHeap），避免了每次比较时的 compareTo 调用和每次更新时的对象分配。
 * */
 
 public class IndexMinHeap<E extends Comparable<E>> {
@@ -0,0 +1,162 @@
+package MinimumSpanningTree.AuxiliaryDataStructure;
+
+import java.util.Arrays;
+
+import static Utils.Helpers.log;
+
+/*
+ * 基本类型键的最小索引优先队列（Index Min Priority Queue with double keys，作为 PrimMST 和 Dijkstra 的辅助数据结构）
+ *
+ * - 与 IndexMinHeap 的结构相同（indexes + reverse 反向索引），但键直接存在 double[] 中，而不是 E[]：
+ *   1. IndexMinHeap<Edge<Weight>> 每次 sift 都要调用 Edge.compareTo -> Weight.compareTo，是两次虚方法调用和两次指针
+ *      解引用；这里只是一条 double 比较指令。
+ *   2. 使用 IndexMinHeap 时，Dijkstra 每次松弛都要创建新的 Edge 或 Double 作为堆中的元素；这里 insert、decreaseKey
+ *      只写入 double，不分配任何对象。图算法需要的其他信息（如每个顶点对应的边）由调用方放在自己的数组中。
+ *
+ * - sift 时不使用 swap，而是先把要移动的元素取出来，把沿途的元素逐个移过去，最后再放入最终位置（与 InsertionSort.sort2
+ *   中用赋值代替 swap 相同），每层只需写一次 indexes 和 reverse。
+ *
+ * - 所有操作都是 O(logn)，contains、getKey、minIndex 是 O(1)。键不能是 NaN。
+ * */
+
+public class IndexMinPQ implements IndexPQ {
+    private final double[] keys;    // keys[i] 为索引 i 的键
+    private final int[] indexes;    // indexes[k] 为堆中第 k 个位置上的索引
+    private final int[] reverse;    // reverse[i] 为索引 i 在堆中的位置，不在堆中时为 -1
+    private int size;
+
+    public IndexMinPQ(int capacity) {
+        keys = new double[capacity];
+        indexes = new int[capacity];
+        reverse = new int[capacity];
+        Arrays.fill(reverse, -1);
+    }
+
+    @Override
+    public boolean contains(int i) {
+        if (i < 0 || i >= keys.length)
+            throw new IllegalArgumentException("contains failed. Index out of bounds.");
+        return reverse[i] != -1;
+    }
+
+    @Override
+    public void insert(int i, double key) {
+        if (contains(i))
+            throw new IllegalArgumentException("insert failed. Index has been taken");
+        keys[i] = key;
+        siftUp(size++, i);
+    }
+
+    @Override
+    public int minIndex() {
+        if (size == 0)
+            throw new IllegalArgumentException("minIndex failed. Queue is empty.");
+        return indexes[0];
+    }
+
+    public double minKey() { return keys[minIndex()]; }
+
+    @Override
+    public int extractMinIndex() {
+        int ret = minIndex();
+        reverse[ret] = -1;
+        size--;
+        if (size > 0)
+            siftDown(0, indexes[size]);  // 将最后一个索引放到堆顶再下沉
+        return ret;
+    }
+
+    @Override
+    public double getKey(int i) {
+        if (!contains(i))
+            throw new IllegalArgumentException("getKey failed.");
+        return keys[i];
+    }
+
+    @Override
+    public void decreaseKey(int i, double key) {  // Dijkstra 和 Prim 中只会减小键，只需上浮
+        if (!contains(i))
+            throw new IllegalArgumentException("decreaseKey failed.");
+        if (key > keys[i])
+            throw new IllegalArgumentException("decreaseKey failed. New key is greater than the current key.");
+        keys[i] = key;
+        siftUp(reverse[i], i);
+    }
+
+    public void change(int i, double key) {
+        if (!contains(i))
+            throw new IllegalArgumentException("change failed.");
+        keys[i] = key;
+        int k = reverse[i];
+        siftUp(k, i);
+        if (reverse[i] == k)  // 没有上浮则尝试下沉
+            siftDown(k, i);
+    }
+
+    // 把索引 i 放在位置 k 上并上浮
+    private void siftUp(int k, int i) {
+        double key = keys[i];
+        while (k > 0) {
+            int parent = (k - 1) / 2;
+            if (keys[indexes[parent]] <= key)
+                break;
+            place(k, indexes[parent]);  // 父节点下移
+            k = parent;
+        }
+        place(k, i);
+    }
+
+    // 把索引 i 放在位置 k 上并下沉
+    private void siftDown(int k, int i) {
+        double key = keys[i];
+        while (k * 2 + 1 < size) {
+            int child = k * 2 + 1;
+            if (child + 1 < size && keys[indexes[child + 1]] < keys[indexes[child]])
+                child++;
+            if (key <= keys[indexes[child]])
+                break;
+            place(k, indexes[child]);  // 较小的子节点上移
+            k = child;
+        }
+        place(k, i);
+    }
+
+    private void place(int k, int i) {
+        indexes[k] = i;
+        reverse[i] = k;
+    }
+
+    @Override
+    public int getSize() { return size; }
+
+    @Override
+    public boolean isEmpty() { return size == 0; }
+
+    @Override
+    public String toString() {
+        return String.format("Keys: %s; Indexes: %s; Reverse: %s", Arrays.toString(keys),
+                Arrays.toString(Arrays.copyOf(indexes, size)), Arrays.toString(reverse));
+    }
+
+    public static void main(String[] args) {
+        double[] inputSeq = {15, 17, 19, 13, 22, 20};
+        int[] insertOrder = {4, 2, 3, 0, 5, 1};
+
+        log("---- Testing insert ----");
+        IndexMinPQ pq = new IndexMinPQ(inputSeq.length);
+        for (int i = 0; i < inputSeq.length; i++) {
+            pq.insert(insertOrder[i], inputSeq[i]);
+            log(pq);
+        }
+
+        log("\n---- Testing decreaseKey and change ----");
+        pq.decreaseKey(5, 1);  // 索引5的键 22 -> 1，上浮到堆顶
+        log(pq);
+        pq.change(0, 999);     // 索引0的键 13 -> 999，下沉
+        log(pq);
+        while (!pq.isEmpty()) {
+            double key = pq.minKey();
+            log("Extracted: " + pq.extractMinIndex() + " (" + key + "); " + pq);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package MinimumSpanningTree.AuxiliaryDataStructure;
+
+/*
+ * 键为 double 的最小索引优先队列接口（作为 PrimMST 和 Dijkstra 的辅助数据结构）
+ *
+ * - 两种实现：
+ *   1. IndexMinPQ：二叉堆，insert、decreaseKey、extractMinIndex 都是 O(logV)。
+ *   2. IndexPairingHeap：配对堆，insert、decreaseKey 是 O(1)，extractMinIndex 是均摊 O(logV)。
+ *
+ * - 如何选择：Prim 和 Dijkstra 中 extractMinIndex 最多执行 V 次，而 decreaseKey 最多执行 E 次。
+ *   - 二叉堆的总开销为 O(ElogV)；配对堆为 O(E + VlogV)（decreaseKey 的均摊复杂度理论上略高于 O(1)，但实际表现
+ *     接近 O(1)）。
+ *   - 但 O(ElogV) 只是上界：边的权值随机时，一个顶点的键被更新的次数期望只有 O(log(E/V)) 次，大部分松弛都不会触发
+ *     decreaseKey，而被触发的 decreaseKey 在二叉堆中通常也只上浮一两层。因此实际上两者的开销都以遍历 E 条边为主，
+ *     二叉堆的数组结构更紧凑、常数更小。
+ *   - 实测（随机权值，单核，Dijkstra 用有向图，Prim 用无向图，平均度数 = 有向图 E/V、无向图 2E/V）：
+ *       V        平均度数   图的实现              Dijkstra 二叉堆 / 配对堆    Prim 二叉堆 / 配对堆
+ *       300000   4          WeightedSparseGraph   407ms / 541ms               498ms / 501ms
+ *       300000   16         WeightedSparseGraph   629ms / 918ms               784ms / 840ms
+ *       300000   48         WeightedSparseGraph   1467ms / 1737ms             1595ms / 1788ms
+ *       20000    256        WeightedSparseGraph   165ms / 194ms               325ms / 356ms
+ *       2000     500        WeightedSparseGraph   31ms / 28ms                 45ms / 50ms
+ *       2000     1900       WeightedSparseGraph   48ms / 50ms                 205ms / 220ms
+ *       2000     500        WeightedDenseGraph    52ms / 51ms                 68ms / 69ms
+ *       2000     1000       WeightedDenseGraph    85ms / 82ms                 117ms / 129ms
+ *       2000     1900       WeightedDenseGraph    79ms / 82ms                 147ms / 150ms
+ *     平均度数为 logV 左右时配对堆明显更慢，只有接近完全图时两者才基本持平（无论用哪种图的实现）。
+ *   - 因此 forGraph 只在平均度数超过 V/2（即超过一半的顶点对之间有边，WeightedDenseGraph 面向的就是这种图）时才选择
+ *     配对堆：此时实测开销相当，而 E 接近 V²，配对堆 O(E + VlogV) 的上界能避免在 decreaseKey 密集的权值分布下退化
+ *     到 O(V²logV)。其他情况都使用二叉堆。可以用 Benchmarks.IndexPQBenchmark 在目标机器上重新测量。
+ * */
+
+public interface IndexPQ {
+    boolean contains(int i);
+
+    void insert(int i, double key);
+
+    void decreaseKey(int i, double key);
+
+    double getKey(int i);
+
+    int minIndex();
+
+    int extractMinIndex();
+
+    int getSize();
+
+    boolean isEmpty();
+
+    static IndexPQ forGraph(int vertexCount, int edgeCount, boolean directed) {
+        long degreeSum = directed ? edgeCount : 2L * edgeCount;  // 无向图的每条边在两个顶点的邻接表中各出现一次
+        if (degreeSum > (long) vertexCount * vertexCount / 2)     // 平均度数 degreeSum / V 超过 V/2 即认为是稠密图
+            return new IndexPairingHeap(vertexCount);
+        return new IndexMinPQ(vertexCount);
+    }
+}
@@ -0,0 +1,263 @@
+package MinimumSpanningTree.AuxiliaryDataStructure;
+
+import java.util.Arrays;
+
+import static Utils.Helpers.log;
+
+/*
+ * 索引配对堆（Index Pairing Heap）
+ *
+ * - 配对堆是一棵多叉树，每个节点的键都 <= 其所有孩子的键，根即为最小值。它只有一个基本操作 link(a, b)：比较两个根，
+ *   把键较大的那个作为另一个的第一个孩子，O(1)。
+ *   - insert：新节点自成一棵树，与根 link，O(1)；
+ *   - decreaseKey：把该节点（连同它的子树）从父节点的孩子列表中剪下来，减小键后与根 link，O(1)。因为子树中的键都 >=
+ *     原来的键 > 新的键，所以剪下来的子树仍然满足堆的性质；
+ *   - meld：两个根 link，O(1)；
+ *   - extractMin：删除根后，根的孩子们要合并成一棵树。采用两趟配对（two-pass pairing）：第一趟从左到右两两 link，
+ *     第二趟从右到左把配对的结果逐个 link 起来。均摊 O(logn)。
+ *   与二叉堆相比，大量的 decreaseKey 不再需要上浮。Prim 和 Dijkstra 何时应该选择它见 IndexPQ。
+ *
+ * - 节点的"指针"用 int 下标表示，都存放在以索引为下标的数组中，不需要为每个节点创建对象：
+ *   - child[i]：i 的第一个孩子；
+ *   - next[i]：i 右边的兄弟；
+ *   - prev[i]：若 i 是第一个孩子则为其父节点，否则为其左边的兄弟（剪切时要用到）。
+ *
+ * - meld：两个堆必须共用同一组节点数组（即同一个索引空间，通过 newHeap 创建），这样 link 之后不需要搬运任何节点，
+ *   才能做到 O(1)。此时 contains(i) 要判断 i 属于哪个堆：每个索引记录插入时所属堆的编号 owner[i]，meld 时用并查集
+ *   （与 UnionFind 相同的思路）把被合并的堆的编号并入当前堆的编号，因此 contains 仍然是近似 O(1) 的。
+ * */
+
+public class IndexPairingHeap implements IndexPQ {
+    private static final int NIL = -1;
+
+    private final Nodes nodes;
+    private int id;        // 当前堆在 nodes.heapParent 中的编号
+    private int root = NIL;
+    private int size;
+
+    private static class Nodes {  // 同一索引空间中所有堆共用的节点数组
+        final double[] keys;
+        final int[] child, next, prev;
+        final int[] owner;    // owner[i] 为索引 i 插入时所属堆的编号，不在任何堆中时为 NIL
+        int[] heapParent = new int[2];  // 堆编号的并查集
+        int heapCount;
+
+        Nodes(int capacity) {
+            keys = new double[capacity];
+            child = new int[capacity];
+            next = new int[capacity];
+            prev = new int[capacity];
+            owner = new int[capacity];
+            Arrays.fill(child, NIL);
+            Arrays.fill(next, NIL);
+            Arrays.fill(prev, NIL);
+            Arrays.fill(owner, NIL);
+        }
+
+        int newHeap() {
+            if (heapCount == heapParent.length)
+                heapParent = Arrays.copyOf(heapParent, heapCount * 2);
+            heapParent[heapCount] = heapCount;
+            return heapCount++;
+        }
+
+        int find(int h) {
+            while (h != heapParent[h]) {
+                heapParent[h] = heapParent[heapParent[h]];  // 路径压缩
+                h = heapParent[h];
+            }
+            return h;
+        }
+    }
+
+    public IndexPairingHeap(int capacity) {
+        nodes = new Nodes(capacity);
+        id = nodes.newHeap();
+    }
+
+    private IndexPairingHeap(Nodes nodes) {
+        this.nodes = nodes;
+        id = nodes.newHeap();
+    }
+
+    public IndexPairingHeap newHeap() {  // 创建一个与当前堆共用索引空间的空堆，两者之间可以 meld
+        return new IndexPairingHeap(nodes);
+    }
+
+    @Override
+    public boolean contains(int i) {
+        if (i < 0 || i >= nodes.keys.length)
+            throw new IllegalArgumentException("contains failed. Index out of bounds.");
+        int o = nodes.owner[i];
+        return o == id || o != NIL && nodes.find(o) == nodes.find(id);
+    }
+
+    @Override
+    public void insert(int i, double key) {
+        if (nodes.owner[i] != NIL)  // 索引空间是共用的，因此不能与其他堆中的索引重复
+            throw new IllegalArgumentException("insert failed. Index has been taken");
+        nodes.keys[i] = key;
+        nodes.owner[i] = id;
+        root = root == NIL ? i : link(root, i);
+        size++;
+    }
+
+    @Override
+    public void decreaseKey(int i, double key) {
+        if (!contains(i))
+            throw new IllegalArgumentException("decreaseKey failed.");
+        if (key > nodes.keys[i])
+            throw new IllegalArgumentException("decreaseKey failed. New key is greater than the current key.");
+        nodes.keys[i] = key;
+        if (i == root) return;
+
+        int[] child = nodes.child, next = nodes.next, prev = nodes.prev;
+        int p = prev[i];  // 把 i 连同其子树剪下来
+        if (child[p] == i) child[p] = next[i];
+        else next[p] = next[i];
+        if (next[i] != NIL) prev[next[i]] = p;
+        next[i] = prev[i] = NIL;
+        root = link(root, i);
+    }
+
+    @Override
+    public double getKey(int i) {
+        if (!contains(i))
+            throw new IllegalArgumentException("getKey failed.");
+        return nodes.keys[i];
+    }
+
+    @Override
+    public int minIndex() {
+        if (size == 0)
+            throw new IllegalArgumentException("minIndex failed. Heap is empty.");
+        return root;
+    }
+
+    public double minKey() { return nodes.keys[minIndex()]; }
+
+    @Override
+    public int extractMinIndex() {
+        int ret = minIndex();
+        int first = nodes.child[ret];
+        nodes.child[ret] = NIL;
+        nodes.owner[ret] = NIL;
+        root = mergePairs(first);
+        size--;
+        return ret;
+    }
+
+    public void meld(IndexPairingHeap other) {  // 将 other 中的所有元素并入当前堆，other 变为空堆
+        if (other.nodes != nodes)
+            throw new IllegalArgumentException("meld failed. Heaps should share the same index space (see newHeap).");
+        if (other == this || other.root == NIL) return;
+
+        nodes.heapParent[nodes.find(other.id)] = nodes.find(id);
+        root = root == NIL ? other.root : link(root, other.root);
+        size += other.size;
+
+        other.root = NIL;
+        other.size = 0;
+        other.id = nodes.newHeap();  // other 原来的编号已经代表当前堆了，因此换一个新编号
+    }
+
+    // 把 a、b 两棵树合并成一棵，返回新的根（a、b 都必须是没有兄弟的根）
+    private int link(int a, int b) {
+        if (nodes.keys[b] < nodes.keys[a]) {
+            int t = a;
+            a = b;
+            b = t;
+        }
+        int[] child = nodes.child, next = nodes.next, prev = nodes.prev;
+        next[b] = child[a];  // b 成为 a 的第一个孩子
+        if (child[a] != NIL) prev[child[a]] = b;
+        prev[b] = a;
+        child[a] = b;
+        return a;
+    }
+
+    // 两趟配对：把 first 及其所有右兄弟合并成一棵树
+    private int mergePairs(int first) {
+        if (first == NIL) return NIL;
+        int[] next = nodes.next, prev = nodes.prev;
+
+        int stack = NIL;  // 第一趟的结果通过 next 串成一个栈，这样第二趟就是从右到左了
+        for (int a = first; a != NIL; ) {
+            int b = next[a];
+            int rest = b == NIL ? NIL : next[b];
+            next[a] = prev[a] = NIL;
+            int m = a;
+            if (b != NIL) {
+                next[b] = prev[b] = NIL;
+                m = link(a, b);
+            }
+            next[m] = stack;
+            stack = m;
+            a = rest;
+        }
+
+        int result = stack;
+        stack = next[result];
+        next[result] = NIL;
+        while (stack != NIL) {
+            int s = stack;
+            stack = next[s];
+            next[s] = NIL;
+            result = link(s, result);
+        }
+        return result;
+    }
+
+    @Override
+    public int getSize() { return size; }
+
+    @Override
+    public boolean isEmpty() { return size == 0; }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        if (root != NIL) toString(root, sb);
+        return sb.toString();
+    }
+
+    private void toString(int i, StringBuilder sb) {  // 以 index:key(孩子...) 的形式输出整棵树
+        sb.append(i).append(':').append(nodes.keys[i]);
+        if (nodes.child[i] == NIL) return;
+        sb.append('(');
+        for (int c = nodes.child[i]; c != NIL; c = nodes.next[c]) {
+            toString(c, sb);
+            if (nodes.next[c] != NIL) sb.append(", ");
+        }
+        sb.append(')');
+    }
+
+    public static void main(String[] args) {
+        double[] inputSeq = {15, 17, 19, 13, 22, 20};
+        int[] insertOrder = {4, 2, 3, 0, 5, 1};
+
+        log("---- Testing insert ----");
+        IndexPairingHeap heap = new IndexPairingHeap(8);
+        for (int i = 0; i < inputSeq.length; i++) {
+            heap.insert(insertOrder[i], inputSeq[i]);
+            log(heap);
+        }
+
+        log("\n---- Testing decreaseKey ----");
+        heap.decreaseKey(5, 1);  // 索引5的键 22 -> 1，被剪下来后成为新的根
+        log(heap);
+
+        log("\n---- Testing meld ----");
+        IndexPairingHeap other = heap.newHeap();
+        other.insert(6, 14);
+        other.insert(7, 2);
+        heap.meld(other);
+        log(heap + "; contains(7): " + heap.contains(7) + "; other is empty: " + other.isEmpty());
+
+        log("\n---- Testing extractMin ----");
+        while (!heap.isEmpty()) {
+            double key = heap.minKey();
+            log("Extracted: " + heap.extractMinIndex() + " (" + key + "); " + heap);
+        }
+    }
+}
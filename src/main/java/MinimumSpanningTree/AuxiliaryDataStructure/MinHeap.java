@@ -54,7 +54,7 @@ public class MinHeap<E extends Comparable> {
         }
     }
 
-    private E findMin() { return data.get(0); }
+    public E findMin() { return data.get(0); }
 
     public void insert(E e) {
         data.add(e);
@@ -18,9 +18,14 @@ package MinimumSpanningTree;
 *   - 答案就是最小索引堆（Minimum Index Heap）。
 *
 * - 👉 看动画演示后再理解一遍以上文字：https://coding.imooc.com/lesson/71.html#mid=1490（3'34''）
+*
+* - 实现：索引堆使用 IndexPQ，堆中只存每个顶点当前最小横切边的权值（double），边本身存在 edgeTo[w] 中。这样比较时
+*   不需要经过 Edge.compareTo 和 Weight.compareTo，更新时也不需要在堆中替换对象。
+*   - 默认由 IndexPQ.forGraph 按图的稠密程度选择实现：一般的图用二叉堆 IndexMinPQ，接近完全图时用 decreaseKey 为
+*     O(1) 的配对堆 IndexPairingHeap（此时复杂度为 O(E + VlogV)），选择的依据和实测数据见 IndexPQ。也可以通过构造器指定。
 * */
 
-import MinimumSpanningTree.AuxiliaryDataStructure.IndexMinHeap;
+import MinimumSpanningTree.AuxiliaryDataStructure.IndexPQ;
 import MinimumSpanningTree.WeightedGraphReader.WeightedGraphReader;
 
 import java.util.ArrayList;
@@ -32,14 +37,22 @@ public class PrimMST<Weight extends Number & Comparable> {
     private WeightedGraph graph;
     private boolean[] visited;
     private List<Edge<Weight>> mst;
-    private IndexMinHeap<Edge<Weight>> indexHeap;
+    private IndexPQ indexHeap;
+    private Edge<Weight>[] edgeTo;  // edgeTo[w] 为顶点 w 当前最小的横切边（即 indexHeap 中索引 w 对应的边）
     private Number minWeight;
 
     public PrimMST(WeightedGraph graph) {
+        this(graph, IndexPQ.forGraph(graph.getVertexCount(), graph.getEdgeCount(), graph.isDirected()));
+    }
+
+    public PrimMST(WeightedGraph<?> graph, IndexPQ indexHeap) {  // indexHeap 须为空，容量至少为顶点个数
         this.graph = graph;
         visited = new boolean[graph.getVertexCount()];
         mst = new ArrayList<>();
-        indexHeap = new IndexMinHeap<>(graph.getVertexCount());
+        this.indexHeap = indexHeap;
+        @SuppressWarnings("unchecked")  // 不能直接创建泛型数组，但数组中只会放入 Edge<Weight>
+        Edge<Weight>[] edgeTo = (Edge<Weight>[]) new Edge<?>[graph.getVertexCount()];
+        this.edgeTo = edgeTo;
         minWeight = 0;
 
         prim();  // 开始计算最小生成树
@@ -48,7 +61,7 @@ public class PrimMST<Weight extends Number & Comparable> {
     private void prim() {
         visit(0);
         while (!indexHeap.isEmpty()) {
-            Edge<Weight> e = indexHeap.extractMin();  // 得到最小横切边
+            Edge<Weight> e = edgeTo[indexHeap.extractMinIndex()];  // 得到最小横切边
             mst.add(e);
             visit(visited[e.v()] ? e.w() : e.v());
         }
@@ -67,11 +80,16 @@ public class PrimMST<Weight extends Number & Comparable> {
         for (Edge<Weight> e : it) {
             int w = e.theOther(v);
             if (!visited[w]) {
+                double weight = e.weight().doubleValue();
                 if (indexHeap.contains(w)) {
-                    if (e.weight().compareTo(indexHeap.getItem(w).weight()) < 0)
-                        indexHeap.change(w, e);  // 在切分不断扩大的过程中持续更新每个顶点对应的最小横切边，而不是像 Lazy Prim 中那样将所有边加入堆中比较
-                } else
-                    indexHeap.insert(w, e);  // 将一条边加入堆中要满足：1.是横切边  2.该边的权值 < 当前顶点 w 在堆中所对应的边的权值
+                    if (weight < indexHeap.getKey(w)) {
+                        edgeTo[w] = e;
+                        indexHeap.decreaseKey(w, weight);  // 在切分不断扩大的过程中持续更新每个顶点对应的最小横切边，而不是像 Lazy Prim 中那样将所有边加入堆中比较
+                    }
+                } else {
+                    edgeTo[w] = e;
+                    indexHeap.insert(w, weight);  // 将一条边加入堆中要满足：1.是横切边  2.该边的权值 < 当前顶点 w 在堆中所对应的边的权值
+                }
             }
         }
     }
@@ -29,12 +29,13 @@ public class WeightedDenseGraph<Weight extends Number & Comparable> implements W
         if (v < 0 || v >= n || w < 0 || w >= n)
             throw new IllegalArgumentException("addEdge failed. Vertex index is out of boundary");
 
+        if (graph[v][w] == null)  // 替换已有的边时边数不变（PrimMST、Dijkstra 按 getEdgeCount 判断图的稠密程度）
+            m++;
+
         graph[v][w] = new Edge(v, w, weight);  // 如果本没边，则新建边；如果已有边，则替换（在其他实现中可以采用别的策略进行替换，例如找到两个边中更大/小的那个进行替换）
 
         if (v != w && !directed)
             graph[w][v] = new Edge(w, v, weight);
-
-        m++;
     }
 
     /*
@@ -54,7 +55,8 @@ public class WeightedDenseGraph<Weight extends Number & Comparable> implements W
 
         List<Edge<Weight>> edges = new ArrayList<>();
         for (int i = 0; i < n; i++)
-            edges.add(graph[v][i]);
+            if (graph[v][i] != null)  // 跳过没有边的位置
+                edges.add(graph[v][i]);
         return edges;
     }
 
@@ -64,6 +66,9 @@ public class WeightedDenseGraph<Weight extends Number & Comparable> implements W
     @Override
     public int getEdgeCount() { return m; }
 
+    @Override
+    public boolean isDirected() { return directed; }
+
     /*
      * Misc
      * */
@@ -94,5 +99,6 @@ public class WeightedDenseGraph<Weight extends Number & Comparable> implements W
         g.addEdge(2, 3, 7);
         g.addEdge(2, 3, 9);  // 替换已存在的边
         log(g);
+        log(g.getEdgeCount());  // 2，替换边不增加边数
     }
 }
@@ -6,4 +6,5 @@ public interface WeightedGraph<Weight extends Number & Comparable> {
     Iterable<Edge<Weight>> getAdjacentEdges(int v);
     int getVertexCount();
     int getEdgeCount();
+    boolean isDirected();
 }
\ No newline at end of file
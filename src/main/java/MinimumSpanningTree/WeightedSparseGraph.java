@@ -54,6 +54,9 @@ public class WeightedSparseGraph<Weight extends Number & Comparable> implements
     @Override
     public int getEdgeCount() { return m; }
 
+    @Override
+    public boolean isDirected() { return directed; }
+
     /*
      * Misc
      * */
@@ -1,12 +1,13 @@
 package ShortestPath;
 
-import MinimumSpanningTree.AuxiliaryDataStructure.IndexMinHeap;
+import MinimumSpanningTree.AuxiliaryDataStructure.IndexPQ;
 import MinimumSpanningTree.Edge;
 import MinimumSpanningTree.WeightedGraph;
 import MinimumSpanningTree.WeightedGraphReader.WeightedGraphReader;
 import MinimumSpanningTree.WeightedSparseGraph;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Stack;
 
@@ -66,78 +67,86 @@ import static Utils.Helpers.log;
  *     1. 从未被访问的顶点中找出距离起始顶点最近的那个，即找数组中的最小值；
  *     2. 在发现有更短的路径后，对起始顶点到该顶点的距离进行更新，即更新数组中的元素。
  *   - 最小索引堆能同时满足这两个需求（类似 Prim 算法里的需求）。
+ *   - 实现上使用 IndexPQ，堆中的键就是起始顶点到该顶点的当前最短距离（double），到达该顶点的边存在 edgeTo 中。松弛时
+ *     只需写入 double 并调用 decreaseKey，不创建任何对象；distances() 返回的 Weight[] 只在算法结束后生成一次。
  *
  * - 复杂度分析：
  *   正是因为要使用最小索引堆：
  *     - 只需要开辟顶点个数大小的空间；
  *     - 每次插入、更新操作都是 O(logV) 的复杂度；
  *     - 另外在算法过程中要对所有边进行遍历，因此使得算法的整体复杂度为 O(ElogV) 级别。
+ *   - 每条边最多触发一次 decreaseKey，而 extractMin 只有 V 次。若 decreaseKey 成为主要开销，可以改用 decreaseKey
+ *     为 O(1) 的配对堆（IndexPairingHeap），整体复杂度降为 O(E + VlogV)。但权值随机时大部分松弛并不会触发
+ *     decreaseKey，实测只有接近完全图时两者才持平，因此默认由 IndexPQ.forGraph 只在这种图上选择配对堆（实测数据见
+ *     IndexPQ），也可以通过构造器指定。
  * */
 
 public class Dijkstra<Weight extends Number & Comparable<Weight>> {
     private WeightedGraph graph;
     private int source;              // 起始顶点，即单源最短路径中的"源"
     private Weight[] distances;      // 记录起始顶点到其他所有顶点的最短距离
+    private double[] distTo;         // 算法过程中使用的距离，不可达时为 +∞
+    private Edge<Weight>[] edgeTo;   // edgeTo[w] 为当前到达顶点 w 的最短路径上的最后一条边
     private boolean[] visited;       // 记录每个顶点是否被访问过
     private List<Edge<Weight>> spt;  // 最短路径树
-    private IndexMinHeap<Edge<Weight>> heap;  // 辅助数据结构
+    private IndexPQ heap;            // 辅助数据结构
 
     public Dijkstra(WeightedGraph graph, int source) {
+        this(graph, source, IndexPQ.forGraph(graph.getVertexCount(), graph.getEdgeCount(), graph.isDirected()));
+    }
+
+    public Dijkstra(WeightedGraph<?> graph, int source, IndexPQ heap) {  // heap 须为空，容量至少为顶点个数
         this.graph = graph;
         this.source = source;
         int n = graph.getVertexCount();
         distances = (Weight[]) new Number[n];  // 自定义类数组的声明要强转一下
+        distTo = new double[n];
+        @SuppressWarnings("unchecked")  // 不能直接创建泛型数组，但数组中只会放入 Edge<Weight>
+        Edge<Weight>[] edgeTo = (Edge<Weight>[]) new Edge<?>[n];
+        this.edgeTo = edgeTo;
         visited = new boolean[n];
         spt = new ArrayList<>();
-        heap = new IndexMinHeap(graph.getVertexCount());
+        this.heap = heap;
 
-        for (int i = 0; i < distances.length; i++)
-            distances[i] = null;  // 初始化时所有的顶点都不可达
+        Arrays.fill(distTo, Double.POSITIVE_INFINITY);  // 初始化时所有的顶点都不可达
 
         dijkstra();
     }
 
     private void dijkstra() {
-        visit(source);
-        distances[source] = (Weight)(Number) 0;
+        distTo[source] = 0;
+        heap.insert(source, 0);
 
         while (!heap.isEmpty()) {
-            Edge<Weight> minE = heap.extractMin();
-            int minV = visited[minE.v()] ? minE.w() : minE.v();
-
-            if (visited[minV]) continue;
-
-            spt.add(minE);  // 添加到最短路径树中
+            int minV = heap.extractMinIndex();  // 未被访问的顶点中距离起始顶点最近的
+            visited[minV] = true;
+            if (minV != source)
+                spt.add(edgeTo[minV]);  // 添加到最短路径树中
 
             Iterable<Edge<Weight>> it = graph.getAdjacentEdges(minV);
             for (Edge<Weight> e : it)  // 对顶点 minV 的每条邻边进行松弛操作
                 relax(minV, e);
-
-            visit(minV);
         }
+
+        // 统一装箱为 Double（包括 distTo[source] = 0.0），若起点单独装箱为 Integer 0，Dijkstra<Double> 取起点的距离时会
+        // ClassCastException
+        for (int v = 0; v < distances.length; v++)  // 初始化时所有的顶点都不可达（null）
+            if (visited[v])
+                distances[v] = (Weight)(Number) distTo[v];
     }
 
     private void relax(int v, Edge<Weight> e) {
         int w = e.theOther(v);
-        Number relaxedDistance = distances[v].doubleValue() + e.weight().doubleValue();  // 计算松弛距离
-        if (distances[w] == null || distances[w].compareTo((Weight) relaxedDistance) > 0)
-            distances[w] = (Weight) relaxedDistance;  // 更新顶点的最短距离
-    }
-
-    private void visit(int v) {
-        visited[v] = true;  // 访问顶点
-
-        Iterable<Edge<Weight>> it = graph.getAdjacentEdges(v);
-        for (Edge<Weight> e : it) {  // 遍历该顶点的邻边
-            int w = e.theOther(v);
-
-            if (distances[w] == null)
-                distances[w] = e.weight();  // 更新起始顶点到邻边上另一顶点的距离（前提是之前没有值）
-
-            if (heap.contains(w))  // 将邻边放入堆中进行比较
-                heap.change(w, e);
+        if (visited[w]) return;
+
+        double relaxedDistance = distTo[v] + e.weight().doubleValue();  // 计算松弛距离
+        if (relaxedDistance < distTo[w]) {
+            distTo[w] = relaxedDistance;  // 更新顶点的最短距离
+            edgeTo[w] = e;
+            if (heap.contains(w))
+                heap.decreaseKey(w, relaxedDistance);
             else
-                heap.insert(w, e);
+                heap.insert(w, relaxedDistance);
         }
     }
 
@@ -1,6 +1,10 @@
 package SortingAdvanced;
 
+import SortingSpecialised.RadixSortLSD;
+
 import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 
 import static Utils.Helpers.*;
 
@@ -11,6 +15,25 @@ import static Utils.Helpers.*;
 * - 使用归并排序（及其中的分治思想）解决该问题，将算法复杂度控制在 O(nlogn) 层级上。
 * - 归并排序的分治思路是：在"分"的问题上不做过多考虑，直接简单快速的进行二分。它的重点在于"治"，以及何将"治"完之后的子问题
 *   的解合并起来形成原问题的解。
+*
+* - count2 的问题：
+*   1. 逆序对最多有 n(n-1)/2 个（完全逆序时），n 超过约 65536 时就超出了 int 的范围，结果会溢出成错误的值；
+*   2. 每次 merge 都通过 Arrays.copyOfRange 分配一个新的辅助数组，总共分配 O(nlogn) 的内存。
+*
+* - 解法三（count3）：与 count2 相同的分治，但
+*   1. 返回 long；
+*   2. 辅助数组只在开始时分配一次，所有 merge 共用（与 MergeSortParallel 相同，各个 merge 的区间互不重叠）；
+*   3. 两次递归互相独立，元素个数 > PARALLEL_CUTOFF 时用 ForkJoinPool 并行执行（CountTask），两边的结果相加后再
+*      加上 merge 中的计数。注意 merge 本身仍是顺序的，因此最上层的 merge 会成为瓶颈（见 MergeSortParallel 中的分析），
+*      但 O(n) 的 merge 相对 O(nlogn) 的整体而言只占一小部分。
+*   与 count2 一样，count3 结束后 arr 会被排好序。
+*
+* - 解法四（count4）：树状数组（Fenwick Tree / Binary Indexed Tree），仅用于 int[]：
+*   1. 坐标压缩：将元素替换为其在所有不同元素中的排名（1...m），这样不管元素的取值范围多大，树状数组的大小都只是 m；
+*   2. 从右往左遍历，对于 arr[i]，已经插入树状数组的都是它右边的元素，查询其中排名 < rank(arr[i]) 的元素个数，即以
+*      arr[i] 为左端的逆序对个数，然后将 rank(arr[i]) 插入树状数组；
+*   3. 树状数组的查询（前缀和）与插入都是 O(logm)，整体复杂度为 O(nlogn)，不修改 arr，且只需要 O(n) 的基本类型数组，
+*      不需要创建任何对象。
 * */
 
 public class Exercise_InversionCount {
@@ -55,6 +78,92 @@ public class Exercise_InversionCount {
         return count;
     }
 
+    private static final int PARALLEL_CUTOFF = 8192;
+
+    public static <T extends Comparable<T>> long count3(T[] arr) {  // 解法三：分治 + 共享辅助数组 + fork/join，复杂度为 O(nlogn)
+        T[] aux = Arrays.copyOf(arr, arr.length);
+        return ForkJoinPool.commonPool().invoke(new CountTask<>(arr, aux, 0, arr.length - 1));
+    }
+
+    private static class CountTask<T extends Comparable<T>> extends RecursiveTask<Long> {
+        private static final long serialVersionUID = 1L;
+
+        private final T[] arr, aux;
+        private final int l, r;
+
+        CountTask(T[] arr, T[] aux, int l, int r) {
+            this.arr = arr;
+            this.aux = aux;
+            this.l = l;
+            this.r = r;
+        }
+
+        @Override
+        protected Long compute() {
+            if (r - l + 1 <= PARALLEL_CUTOFF)  // 任务足够小时在当前线程中顺序计算
+                return count3(arr, aux, l, r);
+
+            int mid = (r - l) / 2 + l;
+            CountTask<T> left = new CountTask<>(arr, aux, l, mid);
+            left.fork();
+            long c2 = new CountTask<>(arr, aux, mid + 1, r).compute();
+            long c1 = left.join();
+            return c1 + c2 + merge3(arr, aux, l, mid, r);
+        }
+    }
+
+    private static <T extends Comparable<T>> long count3(T[] arr, T[] aux, int l, int r) {
+        if (l >= r) return 0;
+        int mid = (r - l) / 2 + l;
+        long c1 = count3(arr, aux, l, mid);
+        long c2 = count3(arr, aux, mid + 1, r);
+        return c1 + c2 + merge3(arr, aux, l, mid, r);
+    }
+
+    private static <T extends Comparable<T>> long merge3(T[] arr, T[] aux, int l, int mid, int r) {  // 与 merge 相同，只是使用共享的 aux
+        if (arr[mid].compareTo(arr[mid + 1]) <= 0)  // 左半部分的元素都不大于右半部分，不构成任何逆序对
+            return 0;
+
+        System.arraycopy(arr, l, aux, l, r - l + 1);
+        int i = l, j = mid + 1;
+        long count = 0;
+
+        for (int k = l; k <= r; k++) {
+            if (i > mid)
+                arr[k] = aux[j++];
+            else if (j > r)
+                arr[k] = aux[i++];
+            else if (aux[i].compareTo(aux[j]) <= 0)
+                arr[k] = aux[i++];
+            else {
+                arr[k] = aux[j++];
+                count += mid - i + 1;
+            }
+        }
+        return count;
+    }
+
+    public static long count4(int[] arr) {  // 解法四：树状数组，复杂度为 O(nlogn)
+        int n = arr.length;
+        int[] sorted = arr.clone();  // 坐标压缩：排序并去重
+        RadixSortLSD.sort(sorted);
+        int m = 0;
+        for (int i = 0; i < n; i++)
+            if (i == 0 || sorted[i] != sorted[i - 1])
+                sorted[m++] = sorted[i];
+
+        int[] tree = new int[m + 1];  // 树状数组，下标从1开始，tree[i] 存储的是 (i - lowbit(i), i] 区间内的元素个数
+        long count = 0;
+        for (int i = n - 1; i >= 0; i--) {
+            int rank = Arrays.binarySearch(sorted, 0, m, arr[i]) + 1;  // arr[i] 的排名，1...m
+            for (int j = rank - 1; j > 0; j -= j & -j)  // 查询排名 < rank 的元素个数，即前缀和 [1, rank-1]
+                count += tree[j];
+            for (int j = rank; j <= m; j += j & -j)     // 插入 rank
+                tree[j]++;
+        }
+        return count;
+    }
+
     public static void main(String[] args) {
         Integer[] arr1 = {4, 2, 5, 1, 3, 3};
         Integer[] arr2 = arr1.clone();
@@ -65,5 +174,24 @@ public class Exercise_InversionCount {
         Integer[] arr4 = arr3.clone();
         timeIt(arr3, Exercise_InversionCount::count1);
         timeIt(arr4, Exercise_InversionCount::count2);  // 性能远高于 count1
+
+        // 完全逆序的 100 万个元素：逆序对个数约为 5 * 10^11，count2 会溢出
+        int n = 1000000;
+        Integer[] arr5 = new Integer[n];
+        int[] arr6 = new int[n];
+        for (int i = 0; i < n; i++) {
+            arr5[i] = n - i;
+            arr6[i] = n - i;
+        }
+        log(count2(arr5.clone()));  // 溢出后的错误结果
+        log(count3(arr5));          // 499999500000
+        log(count4(arr6));          // 499999500000
+
+        Integer[] arr7 = generateRandomIntArr(10000000);
+        int[] arr8 = new int[arr7.length];
+        for (int i = 0; i < arr7.length; i++)
+            arr8[i] = arr7[i];
+        timeIt(() -> log(count3(arr7)));
+        timeIt(() -> log(count4(arr8)));
     }
 }
@@ -0,0 +1,257 @@
+package SortingAdvanced;
+
+import SortingBasic.InsertionSort;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static Utils.Helpers.*;
+
+/*
+ * 内省选择（IntroSelect）：最坏情况下线性复杂度的第 k 小元素选择
+ *
+ * - Exercise_KthSmallestElement 和 Exercise_KthSmallestElement_3Ways 的问题：
+ *   与快速排序一样，quickSelect 的平均复杂度为 O(n)，但若 pivot 连续取得很差（每次都取到区间的最值），复杂度退化为
+ *   O(n^2)。对于上亿个样本的数组，一次"运气不好"就可能让整个计算卡住。
+ *
+ * - 思路（与 IntroSort 相同的"内省"思想）：
+ *   1. 以三路 quickSelect 为主体（随机 pivot，且对大量重复元素友好 —— 如延迟数据中常见的大量相同值）；
+ *   2. 限制随机 pivot 的次数（2 * log2(n)，正常情况下区间每次大约减半，远用不完这个预算），预算用完说明 partition
+ *      严重失衡，此后改用中位数的中位数（median of medians，BFPRT 算法）选 pivot：
+ *      1. 将区间每5个元素分成一组，对每组进行插入排序，取出各组的中位数，依次放到区间的最前面；
+ *      2. 递归地选出这 n/5 个中位数的中位数，作为 pivot。
+ *      可以证明这样选出的 pivot 至少大于、也至少小于区间中 3n/10 个元素，因此每次 partition 后区间至少缩小到 7n/10，
+ *      由 T(n) <= T(n/5) + T(7n/10) + O(n) 可得复杂度为 O(n)。它的常数较大，因此只作为兜底，不作为默认策略。
+ *   3. 区间元素个数 <= 16 时直接插入排序。
+ *
+ * - 多重选择（multiSelect）：一次求出多个顺序统计量（如 p50、p90、p99）：
+ *   - 若分别调用 select，每次都要从整个数组开始 partition；而多重选择在一次递归中同时处理所有的 k：每次 partition 后，
+ *     把 k 按所在的位置分到左、中、右三段，只在包含 k 的段中继续递归，中间一段（== pivot）中的 k 直接得到结果。
+ *   - 前几层 partition 被所有 k 共享，复杂度为 O(nlogm)，m 为 k 的个数（m 很小时接近 O(n)）。
+ *
+ * - percentiles(arr, ps)：按"最近秩"（nearest-rank）方法计算百分位数：第 p 百分位数（0 < p <= 1）是排序后的第
+ *   ceil(p * n) 个元素。只进行选择而非完整排序，并且 arr 中元素的顺序会被改变。
+ *
+ * - 所有的 k 与 Exercise_KthSmallestElement 中的语义相同，从1开始（"第1小"就是最小）。
+ * */
+
+public class IntroSelect {
+    private static final int INSERTION_SORT_CUTOFF = 16;
+
+    public static <T extends Comparable<T>> T select(T[] arr, int k) {
+        checkK(arr.length, k);
+        select(arr, 0, arr.length - 1, new int[] {k - 1}, 0, 0, 2 * log2(arr.length));
+        return arr[k - 1];
+    }
+
+    public static <T extends Comparable<T>> List<T> multiSelect(T[] arr, int... ks) {  // 返回的结果与 ks 一一对应
+        int[] sortedKs = toSortedIndexes(arr.length, ks);
+        select(arr, 0, arr.length - 1, sortedKs, 0, sortedKs.length - 1, 2 * log2(arr.length));
+
+        List<T> res = new ArrayList<>(ks.length);
+        for (int k : ks)
+            res.add(arr[k - 1]);
+        return res;
+    }
+
+    public static double select(double[] arr, int k) {
+        checkK(arr.length, k);
+        select(arr, 0, arr.length - 1, new int[] {k - 1}, 0, 0, 2 * log2(arr.length));
+        return arr[k - 1];
+    }
+
+    public static double[] multiSelect(double[] arr, int... ks) {
+        int[] sortedKs = toSortedIndexes(arr.length, ks);
+        select(arr, 0, arr.length - 1, sortedKs, 0, sortedKs.length - 1, 2 * log2(arr.length));
+
+        double[] res = new double[ks.length];
+        for (int i = 0; i < ks.length; i++)
+            res[i] = arr[ks[i] - 1];
+        return res;
+    }
+
+    public static double[] percentiles(double[] arr, double... ps) {
+        int[] ks = new int[ps.length];
+        for (int i = 0; i < ps.length; i++) {
+            if (!(ps[i] > 0 && ps[i] <= 1))
+                throw new IllegalArgumentException("percentiles failed. Percentile should be in (0, 1].");
+            ks[i] = Math.max(1, (int) Math.ceil(ps[i] * arr.length));
+        }
+        return multiSelect(arr, ks);
+    }
+
+    /* ---------------------------------- 泛型版本 ---------------------------------- */
+
+    // 在 arr[l...r] 中使 ks[from...to] 上的元素各就各位（ks 有序且从0开始），depth 为剩余的随机 pivot 预算
+    private static <T extends Comparable<T>> void select(T[] arr, int l, int r, int[] ks, int from, int to, int depth) {
+        while (from <= to) {
+            if (r - l < INSERTION_SORT_CUTOFF) {
+                InsertionSort.sortRange(arr, l, r);
+                return;
+            }
+
+            int p = depth-- > 0 ? ThreadLocalRandom.current().nextInt(r - l + 1) + l : medianOfMedians(arr, l, r);
+            int[] ps = partition(arr, l, r, p);        // arr[l...ps[0]] < v，arr[ps[1]...r] > v
+
+            int mid = from;                            // ks[from...mid-1] 落在左段
+            while (mid <= to && ks[mid] <= ps[0]) mid++;
+            int right = mid;                           // ks[right...to] 落在右段，中间的 k 已经各就各位
+            while (right <= to && ks[right] < ps[1]) right++;
+
+            if (right > to) {                          // 只有左段需要继续，循环处理
+                r = ps[0];
+                to = mid - 1;
+            } else {                                   // 左段（若有）递归处理，右段循环处理
+                if (mid > from)
+                    select(arr, l, ps[0], ks, from, mid - 1, depth);
+                l = ps[1];
+                from = right;
+            }
+        }
+    }
+
+    // 返回中位数的中位数的索引，复杂度为 O(n)
+    private static <T extends Comparable<T>> int medianOfMedians(T[] arr, int l, int r) {
+        int groups = (r - l + 1 + 4) / 5;
+        for (int g = 0; g < groups; g++) {
+            int gl = l + g * 5, gr = Math.min(gl + 4, r);
+            InsertionSort.sortRange(arr, gl, gr);
+            swap(arr, l + g, gl + (gr - gl) / 2);      // 各组的中位数依次放到区间最前面
+        }
+        int mid = l + (groups - 1) / 2;
+        select(arr, l, l + groups - 1, new int[] {mid}, 0, 0, 0);  // 预算为0，递归时同样使用 median of medians
+        return mid;
+    }
+
+    // 与 Exercise_KthSmallestElement_3Ways 中的 partition 相同，只是 pivot 由调用方指定
+    private static <T extends Comparable<T>> int[] partition(T[] arr, int l, int r, int p) {
+        swap(arr, l, p);
+        T v = arr[l];
+        int lt = l, gt = r + 1;
+
+        for (int i = l + 1; i < gt; ) {
+            int cmp = arr[i].compareTo(v);
+            if (cmp < 0)
+                swap(arr, i++, ++lt);
+            else if (cmp > 0)
+                swap(arr, i, --gt);
+            else
+                i++;
+        }
+        swap(arr, l, lt);
+        return new int[] {lt - 1, gt};
+    }
+
+    /* ---------------------------------- double[] 版本 ---------------------------------- */
+    // 与泛型版本相同，只是用 Double.compare 比较（与 Arrays.sort(double[]) 的顺序一致）
+
+    private static void select(double[] arr, int l, int r, int[] ks, int from, int to, int depth) {
+        while (from <= to) {
+            if (r - l < INSERTION_SORT_CUTOFF) {
+                insertionSort(arr, l, r);
+                return;
+            }
+
+            int p = depth-- > 0 ? ThreadLocalRandom.current().nextInt(r - l + 1) + l : medianOfMedians(arr, l, r);
+            int[] ps = partition(arr, l, r, p);
+
+            int mid = from;
+            while (mid <= to && ks[mid] <= ps[0]) mid++;
+            int right = mid;
+            while (right <= to && ks[right] < ps[1]) right++;
+
+            if (right > to) {
+                r = ps[0];
+                to = mid - 1;
+            } else {
+                if (mid > from)
+                    select(arr, l, ps[0], ks, from, mid - 1, depth);
+                l = ps[1];
+                from = right;
+            }
+        }
+    }
+
+    private static int medianOfMedians(double[] arr, int l, int r) {
+        int groups = (r - l + 1 + 4) / 5;
+        for (int g = 0; g < groups; g++) {
+            int gl = l + g * 5, gr = Math.min(gl + 4, r);
+            insertionSort(arr, gl, gr);
+            swap(arr, l + g, gl + (gr - gl) / 2);
+        }
+        int mid = l + (groups - 1) / 2;
+        select(arr, l, l + groups - 1, new int[] {mid}, 0, 0, 0);
+        return mid;
+    }
+
+    private static int[] partition(double[] arr, int l, int r, int p) {
+        swap(arr, l, p);
+        double v = arr[l];
+        int lt = l, gt = r + 1;
+
+        for (int i = l + 1; i < gt; ) {
+            int cmp = Double.compare(arr[i], v);
+            if (cmp < 0)
+                swap(arr, i++, ++lt);
+            else if (cmp > 0)
+                swap(arr, i, --gt);
+            else
+                i++;
+        }
+        swap(arr, l, lt);
+        return new int[] {lt - 1, gt};
+    }
+
+    private static void insertionSort(double[] arr, int l, int r) {
+        for (int i = l + 1; i <= r; i++) {
+            double e = arr[i];
+            int j = i;
+            for (; j > l && Double.compare(arr[j - 1], e) > 0; j--)
+                arr[j] = arr[j - 1];
+            arr[j] = e;
+        }
+    }
+
+    /* ---------------------------------- 辅助方法 ---------------------------------- */
+
+    private static void checkK(int n, int k) {
+        if (k < 1 || k > n)
+            throw new IllegalArgumentException("select failed. k should be in [1, " + n + "].");
+    }
+
+    private static int[] toSortedIndexes(int n, int[] ks) {  // 检查 ks，并转换为有序、去重、从0开始的索引
+        for (int k : ks)
+            checkK(n, k);
+        return Arrays.stream(ks).map(k -> k - 1).sorted().distinct().toArray();
+    }
+
+    private static int log2(int n) {  // 即 floor(log2(n))
+        return n <= 1 ? 0 : 31 - Integer.numberOfLeadingZeros(n);
+    }
+
+    public static void main(String[] args) {
+        Integer[] arr1 = {4, 2, 5, 1, 3, 6, 7, 8};
+        log(select(arr1, 2));
+
+        Character[] arr2 = {'b', 'd', 'e', 'c', 'a'};
+        log(multiSelect(arr2, 1, 3, 5));
+
+        // 1000 万个延迟样本（对数正态分布，带长尾）的 p50、p90、p99、p99.9
+        int n = 10000000;
+        double[] latencies = new double[n];
+        for (int i = 0; i < n; i++)
+            latencies[i] = Math.exp(ThreadLocalRandom.current().nextGaussian() + 3);
+        double[] copy = latencies.clone();
+
+        long start = System.nanoTime();
+        log(percentiles(latencies, 0.5, 0.9, 0.99, 0.999));
+        log("percentiles: " + (System.nanoTime() - start) / 1e9 + " s");
+
+        start = System.nanoTime();
+        Arrays.sort(copy);
+        log(new double[] {copy[n / 2 - 1], copy[n * 9 / 10 - 1], copy[n / 100 * 99 - 1], copy[n / 1000 * 999 - 1]});
+        log("Arrays.sort: " + (System.nanoTime() - start) / 1e9 + " s");
+    }
+}
@@ -0,0 +1,84 @@
+package SortingAdvanced;
+
+import Heap.HeapSort;
+import SortingBasic.InsertionSort;
+import Utils.SortMetrics;
+
+import static Utils.Helpers.*;
+
+/*
+ * 内省排序（IntroSort = Introspective Sort）：
+ *
+ * - 现有排序算法各自的问题：
+ *   - 快速排序：平均最快，但最坏情况是 O(n^2)。即使是随机 pivot 的 QuickSort2Ways，也只是让最坏情况"概率极低"，
+ *     而不是"不可能"；对于对外提供服务的场景，我们不希望存在任何输入能让排序退化。
+ *   - 归并排序：保证 O(nlogn)，但需要 O(n) 的额外空间。
+ *   - 堆排序（HeapSort.sort3）：保证 O(nlogn) 且原地排序，但常数大、缓存不友好，平均比快排慢不少。
+ *   - 插入排序：O(n^2)，但在小区间上比任何 O(nlogn) 的算法都快。
+ *
+ * - 思路：三者结合，取长补短（C++ STL 的 std::sort 就是这样实现的）：
+ *   1. 以快速排序为主体（QuickSort2Ways 的随机 pivot + 双路 partition）；
+ *   2. 记录递归深度，若深度超过 2 * log2(n)，说明 partition 已经严重失衡（正常情况下深度应接近 log2(n)），此时对
+ *      当前区间改用堆排序（HeapSort.sortRange），从而保证整体的最坏复杂度是 O(nlogn)；
+ *   3. 区间元素个数 <= 16 时不再 partition，直接用插入排序（InsertionSort.sortRange）完成。
+ *
+ * - 为什么切换到堆排序后仍是 O(nlogn)：在深度达到 2log2(n) 之前，每层 partition 的总工作量是 O(n)，共 O(nlogn)；
+ *   之后每个区间的堆排序是 O(k * logk)，所有区间互不重叠，总和不超过 O(nlogn)。
+ *
+ * - 空间：每次 partition 后只对较短的一边递归，较长的一边通过循环继续处理（尾递归消除），因此栈深度最多为 O(logn)，
+ *   且不需要任何辅助数组。
+ * */
+
+public class IntroSort {
+    private static final int INSERTION_SORT_CUTOFF = 15;
+
+    public static <T extends Comparable<T>> void sort(T[] arr) {
+        sort(arr, 0, arr.length - 1, 2 * log2(arr.length));
+    }
+
+    private static <T extends Comparable<T>> void sort(T[] arr, int l, int r, int depthLimit) {
+        SortMetrics.enter();
+        while (r - l > INSERTION_SORT_CUTOFF) {
+            if (depthLimit == 0) {              // partition 已经严重失衡，改用堆排序
+                HeapSort.sortRange(arr, l, r);
+                SortMetrics.exit();
+                return;
+            }
+            depthLimit--;
+
+            int p = QuickSort2Ways.partition(arr, l, r);
+            if (p - l < r - p) {                // 只对较短的一边递归，较长的一边在下一轮循环中处理
+                sort(arr, l, p - 1, depthLimit);
+                l = p + 1;
+            } else {
+                sort(arr, p + 1, r, depthLimit);
+                r = p - 1;
+            }
+        }
+        InsertionSort.sortRange(arr, l, r);
+        SortMetrics.exit();
+    }
+
+    private static int log2(int n) {  // 即 floor(log2(n))
+        return n <= 1 ? 0 : 31 - Integer.numberOfLeadingZeros(n);
+    }
+
+    public static void main(String[] args) {
+        Integer[] arr = generateRandomIntArr(20);
+        log(arr);
+        sort(arr);
+        log(arr);
+
+        // 性能测试
+        Integer[] arr1 = generateRandomIntArr(1000000);
+        Integer[] arr2 = arr1.clone();
+        Integer[] arr3 = arr1.clone();
+        timeIt(() -> QuickSort2Ways.sort(arr1));
+        timeIt(() -> HeapSort.sort3(arr2));
+        timeIt(() -> IntroSort.sort(arr3));  // 与 QuickSort2Ways 相当，但最坏情况有保证
+
+        Integer[] arr4 = generateRandomArrayFromRange(1000000, 0, 10);  // 包含大量重复元素
+        timeIt(() -> IntroSort.sort(arr4));
+        log(isSorted(arr4));
+    }
+}
@@ -1,6 +1,7 @@
 package SortingAdvanced;
 
 import SortingBasic.InsertionSort;
+import Utils.SortMetrics;
 
 import java.util.Arrays;
 
@@ -44,6 +45,24 @@ import static Utils.Helpers.*;
  *   在 sort 方法中，可以在 merge 之前加一个判断：如果 arr[mid] < arr[mid+1]，则说明 arr[mid+1, r] 中的所有元素都已
  *   经大于 arr[l, mid] 中的所有元素，不需要再 merge 了。这是因为当两次 sort 完成之后，arr[l, mid] 和 arr[mid+1, r]
  *   这两段区间已经各自是有序的了，此时若前者的最大值 < 后者的最小值，则说明两个区间之间已经有序。
+ *
+ * - 基本类型版本（int[]、long[]、double[]）：
+ *   - 泛型版本只能排序 Integer[] 这样的包装类数组：每个元素都是一个独立的对象（对象头 + 值 + 引用，约 20 字节），每次
+ *     比较都要经过 compareTo 的虚方法调用和一次指针解引用。基本类型版本直接在原数组上比较，每个元素只占 4~8 字节，比较
+ *     也只是一条机器指令，JIT 更容易优化。
+ *   - 辅助数组只在排序开始时分配一次，每次 merge 只需用 System.arraycopy 拷贝 arr[l...r] 这一段，而不是每次 merge 都
+ *     分配一个新数组。
+ *   - double 的比较使用 Double.compare，与 Arrays.sort(double[]) 的全序一致（-0.0 < 0.0，NaN 排在最后）。
+ *
+ * - 复用辅助数组的版本 sort(arr, aux)：
+ *   - 泛型版本的 merge 每次都通过 Arrays.copyOfRange 分配一个新数组，对 n 个元素排序共要分配约 n 次、O(nlogn) 字节，
+ *     产生大量短命对象，给 GC 带来很大压力。
+ *   - 因此辅助数组由调用方传入（长度 >= arr.length，可以按线程缓存起来反复使用），排序过程中不再分配任何内存。
+ *   - 来回归并（ping-pong）：普通的 merge 每次都要先把 arr[l...r] 拷贝到 aux 中再归并回来。若让 arr 和 aux 在相邻两层
+ *     递归中交替作为源和目标（本层把 aux 中的两段有序区间归并到 arr，则下一层就把 arr 中的归并到 aux），就省掉了这次
+ *     拷贝，只需在排序开始时把 arr 整体拷贝到 aux 一次。
+ *   - 同样保留 arr[mid] <= arr[mid+1] 时跳过 merge 的优化：此时两段已经整体有序，只需用 System.arraycopy 从源整块
+ *     拷贝到目标（ping-pong 要求结果必须出现在目标数组中），不需要任何比较。
  * */
 
 public class MergeSort {
@@ -54,6 +73,7 @@ public class MergeSort {
     // 递归地对 arr[l...r] 的范围（前闭后闭）进行排序
     private static <T extends Comparable<T>> void sort(T[] arr, int l, int r) {
         if (l >= r) return;          // 异常及递归终止条件
+        SortMetrics.enter();
         int mid = (r - l) / 2  + l;  // 也可以写成 (l + r) / 2，但是可能整型溢出
 
         sort(arr, l, mid);
@@ -62,11 +82,14 @@ public class MergeSort {
         boolean alreadyOrdered = arr[mid].compareTo(arr[mid + 1]) > 0;
         if (alreadyOrdered)          // 若分解完之后该部分元素已经是有序的则不用再 merge（这个判断能带来不错的性能提升）
             merge(arr, l, mid, r);   // 递归到底后再从底往上进行合并
+        SortMetrics.exit();
     }
 
     // 将 arr[l...mid 和 arr[mid+1...r] 这两部分进行归并，此时这两部分都已经各自有序了
     private static <T extends Comparable<T>> void merge(T[] arr, int l, int mid, int r) {
         T[] aux = Arrays.copyOfRange(arr, l, r + 1);  // 创建辅助数组（空间换时间）
+        SortMetrics.countAuxArray(r - l + 1, SortMetrics.REFERENCE_BYTES);
+        SortMetrics.countAssignments(r - l + 1);
 
         int i = l, j = mid + 1;           // i 指向左半部分的起始索引 l；j 指向右半部分起始索引 mid+1
         for (int k = l; k <= r; k++) {    // k 指向 arr[l...r] 中的每个位置
@@ -81,6 +104,138 @@ public class MergeSort {
         }
     }
 
+    public static <T extends Comparable<T>> void sort(T[] arr, T[] aux) {
+        if (aux.length < arr.length)
+            throw new IllegalArgumentException("sort failed. aux should be at least as long as arr.");
+        System.arraycopy(arr, 0, aux, 0, arr.length);  // 两个数组的内容相同，之后每层递归交替作为源和目标
+        sort(aux, arr, 0, arr.length - 1);
+    }
+
+    // 将 src[l...r] 排好序放到 dst[l...r] 中（调用前 src 和 dst 中 [l...r] 的内容相同）
+    private static <T extends Comparable<T>> void sort(T[] src, T[] dst, int l, int r) {
+        if (l >= r) return;
+        SortMetrics.enter();
+        int mid = (r - l) / 2 + l;
+
+        sort(dst, src, l, mid);      // 下一层中源和目标互换，因此两段有序区间在 src 中
+        sort(dst, src, mid + 1, r);
+
+        if (src[mid].compareTo(src[mid + 1]) <= 0)  // 两段已经整体有序，整块拷贝即可
+            System.arraycopy(src, l, dst, l, r - l + 1);
+        else
+            merge(src, dst, l, mid, r);
+        SortMetrics.countAssignments(r - l + 1);
+        SortMetrics.exit();
+    }
+
+    // 将 src[l...mid] 和 src[mid+1...r] 归并到 dst[l...r] 中，不需要先拷贝
+    private static <T extends Comparable<T>> void merge(T[] src, T[] dst, int l, int mid, int r) {
+        int i = l, j = mid + 1;
+        for (int k = l; k <= r; k++) {
+            if (i > mid)
+                dst[k] = src[j++];
+            else if (j > r)
+                dst[k] = src[i++];
+            else if (src[i].compareTo(src[j]) < 0)
+                dst[k] = src[i++];
+            else
+                dst[k] = src[j++];
+        }
+    }
+
+    public static void sort(int[] arr) {
+        sort(arr, new int[arr.length], 0, arr.length - 1);  // 辅助数组只分配一次，所有 merge 共用
+    }
+
+    private static void sort(int[] arr, int[] aux, int l, int r) {
+        if (l >= r) return;
+        int mid = (r - l) / 2 + l;
+
+        sort(arr, aux, l, mid);
+        sort(arr, aux, mid + 1, r);
+
+        if (arr[mid] > arr[mid + 1])
+            merge(arr, aux, l, mid, r);
+    }
+
+    private static void merge(int[] arr, int[] aux, int l, int mid, int r) {
+        System.arraycopy(arr, l, aux, l, r - l + 1);  // aux 与 arr 等长，因此不需要像泛型版本那样减去偏移量 l
+        int i = l, j = mid + 1;
+
+        for (int k = l; k <= r; k++) {
+            if (i > mid)
+                arr[k] = aux[j++];
+            else if (j > r)
+                arr[k] = aux[i++];
+            else if (aux[i] <= aux[j])
+                arr[k] = aux[i++];
+            else
+                arr[k] = aux[j++];
+        }
+    }
+
+    public static void sort(long[] arr) {
+        sort(arr, new long[arr.length], 0, arr.length - 1);
+    }
+
+    private static void sort(long[] arr, long[] aux, int l, int r) {
+        if (l >= r) return;
+        int mid = (r - l) / 2 + l;
+
+        sort(arr, aux, l, mid);
+        sort(arr, aux, mid + 1, r);
+
+        if (arr[mid] > arr[mid + 1])
+            merge(arr, aux, l, mid, r);
+    }
+
+    private static void merge(long[] arr, long[] aux, int l, int mid, int r) {
+        System.arraycopy(arr, l, aux, l, r - l + 1);
+        int i = l, j = mid + 1;
+
+        for (int k = l; k <= r; k++) {
+            if (i > mid)
+                arr[k] = aux[j++];
+            else if (j > r)
+                arr[k] = aux[i++];
+            else if (aux[i] <= aux[j])
+                arr[k] = aux[i++];
+            else
+                arr[k] = aux[j++];
+        }
+    }
+
+    public static void sort(double[] arr) {
+        sort(arr, new double[arr.length], 0, arr.length - 1);
+    }
+
+    private static void sort(double[] arr, double[] aux, int l, int r) {
+        if (l >= r) return;
+        int mid = (r - l) / 2 + l;
+
+        sort(arr, aux, l, mid);
+        sort(arr, aux, mid + 1, r);
+
+        if (Double.compare(arr[mid], arr[mid + 1]) > 0)
+            merge(arr, aux, l, mid, r);
+    }
+
+    private static void merge(double[] arr, double[] aux, int l, int mid, int r) {
+        System.arraycopy(arr, l, aux, l, r - l + 1);
+        int i = l, j = mid + 1;
+
+        for (int k = l; k <= r; k++) {
+            if (i > mid)
+                arr[k] = aux[j++];
+            else if (j > r)
+                arr[k] = aux[i++];
+            else if (Double.compare(aux[i], aux[j]) <= 0)
+                arr[k] = aux[i++];
+            else
+                arr[k] = aux[j++];
+        }
+    }
+
     public static void main(String[] args) {
         Integer[] arr = generateRandomIntArr(10);
         log(arr);
@@ -92,5 +247,22 @@ public class MergeSort {
         Integer[] arr2 = arr1.clone();
         timeIt(arr1, InsertionSort::sort2);
         timeIt(arr2, MergeSort::sort);  // 对5w个随机数，归并排序比插入排序快100多倍
+
+        // 基本类型版本
+        int[] arr3 = generateRandomPrimitiveIntArr(1000000);
+        Integer[] arr4 = new Integer[arr3.length];
+        for (int i = 0; i < arr3.length; i++)
+            arr4[i] = arr3[i];
+        timeIt(() -> sort(arr4));
+        timeIt(() -> sort(arr3));      // 不装箱，比 Integer[] 版本快好几倍
+        log(isSorted(arr3));
+
+        // 复用辅助数组的版本
+        Integer[] arr5 = generateRandomIntArr(1000000);
+        Integer[] arr6 = arr5.clone();
+        Integer[] aux = new Integer[arr5.length];  // 可以在多次排序之间复用
+        timeIt(() -> sort(arr5));
+        timeIt(() -> sort(arr6, aux)); // 没有 merge 中的分配和拷贝
+        log(isSorted(arr6));
     }
 }
@@ -1,6 +1,7 @@
 package SortingAdvanced;
 
 import SortingBasic.InsertionSort;
+import Utils.SortMetrics;
 
 import java.util.Arrays;
 
@@ -16,6 +17,13 @@ import static Utils.Helpers.*;
  * - 注：
  *   1. 这种根据元素个数进行算法切换的优化对于很多高级排序算法都适用。
  *   2. 在 Java 中 HashMap 的实现里，初始哈希表中的每个位置对应的是一个链表，当哈希冲突到达一定程度时，会转换成红黑树。
+ *
+ * - 复用辅助数组的版本 sort(arr, aux)：与 MergeSort.sort(arr, aux) 相同（调用方传入辅助数组 + 来回归并），只是同样在
+ *   元素个数 <= 16 时改用插入排序。插入排序直接在本层的目标数组上进行，因为它与源数组的内容相同。
+ *
+ * - 基本类型版本 sort(int[] arr, cutoff)：元素个数 <= cutoff 时不再递归，而是用 SortingNetworks 中无分支的排序网络
+ *   完成叶子节点的排序（cutoff 最大为 SortingNetworks.MAX_SIZE = 16；cutoff = 1 即不使用排序网络，退化为普通的
+ *   MergeSort）。不同 cutoff 对整体排序时间的影响见 Benchmarks.SortingNetworkCutoffBenchmark。
  * */
 
 public class MergeSort2 {
@@ -29,16 +37,101 @@ public class MergeSort2 {
             return;
         }
 
+        SortMetrics.enter();
         int mid = (r - l) / 2 + l;
         sort(arr, l, mid);
         sort(arr, mid + 1, r);
 
         if (arr[mid].compareTo(arr[mid + 1]) > 0)
             merge(arr, l, mid, r);
+        SortMetrics.exit();
+    }
+
+    public static <T extends Comparable<T>> void sort(T[] arr, T[] aux) {
+        if (aux.length < arr.length)
+            throw new IllegalArgumentException("sort failed. aux should be at least as long as arr.");
+        System.arraycopy(arr, 0, aux, 0, arr.length);
+        sort(aux, arr, 0, arr.length - 1);
+    }
+
+    // 将 src[l...r] 排好序放到 dst[l...r] 中（调用前 src 和 dst 中 [l...r] 的内容相同）
+    private static <T extends Comparable<T>> void sort(T[] src, T[] dst, int l, int r) {
+        if (r - l <= 15) {
+            InsertionSort.sortRange(dst, l, r);
+            return;
+        }
+
+        SortMetrics.enter();
+        int mid = (r - l) / 2 + l;
+        sort(dst, src, l, mid);
+        sort(dst, src, mid + 1, r);
+
+        if (src[mid].compareTo(src[mid + 1]) <= 0)
+            System.arraycopy(src, l, dst, l, r - l + 1);
+        else
+            merge(src, dst, l, mid, r);
+        SortMetrics.countAssignments(r - l + 1);
+        SortMetrics.exit();
+    }
+
+    private static <T extends Comparable<T>> void merge(T[] src, T[] dst, int l, int mid, int r) {
+        int i = l, j = mid + 1;
+        for (int k = l; k <= r; k++) {
+            if (i > mid)
+                dst[k] = src[j++];
+            else if (j > r)
+                dst[k] = src[i++];
+            else if (src[i].compareTo(src[j]) < 0)
+                dst[k] = src[i++];
+            else
+                dst[k] = src[j++];
+        }
+    }
+
+    public static void sort(int[] arr) {
+        sort(arr, SortingNetworks.MAX_SIZE);
+    }
+
+    public static void sort(int[] arr, int cutoff) {
+        if (cutoff < 1 || cutoff > SortingNetworks.MAX_SIZE)
+            throw new IllegalArgumentException("sort failed. Cutoff should be in [1, " + SortingNetworks.MAX_SIZE + "].");
+        sort(arr, new int[arr.length], 0, arr.length - 1, cutoff);  // 辅助数组只分配一次
+    }
+
+    private static void sort(int[] arr, int[] aux, int l, int r, int cutoff) {
+        if (r - l + 1 <= cutoff) {
+            SortingNetworks.sort(arr, l, r);
+            return;
+        }
+
+        int mid = (r - l) / 2 + l;
+        sort(arr, aux, l, mid, cutoff);
+        sort(arr, aux, mid + 1, r, cutoff);
+
+        if (arr[mid] > arr[mid + 1])
+            merge(arr, aux, l, mid, r);
+    }
+
+    private static void merge(int[] arr, int[] aux, int l, int mid, int r) {  // 与 MergeSort 中 int[] 版本的 merge 相同
+        System.arraycopy(arr, l, aux, l, r - l + 1);
+        int i = l, j = mid + 1;
+
+        for (int k = l; k <= r; k++) {
+            if (i > mid)
+                arr[k] = aux[j++];
+            else if (j > r)
+                arr[k] = aux[i++];
+            else if (aux[i] <= aux[j])
+                arr[k] = aux[i++];
+            else
+                arr[k] = aux[j++];
+        }
     }
 
     private static <T extends Comparable<T>> void merge(T[] arr, int l, int mid, int r) {
         T[] aux = Arrays.copyOfRange(arr, l, r + 1);
+        SortMetrics.countAuxArray(r - l + 1, SortMetrics.REFERENCE_BYTES);
+        SortMetrics.countAssignments(r - l + 1);
         int i = l, j = mid + 1;
 
         for (int k = l; k <= r; k++) {
@@ -74,5 +167,12 @@ public class MergeSort2 {
         timeIt(arr3, MergeSort::sort);
         timeIt(arr4, MergeSort2::sort);  // 比普通的 MergeSort 快不少
         timeIt(arr5, InsertionSort::sort2);  // InsertionSort 还是最快的（但数据集不同结果会不同）
+
+        // 基本类型版本：叶子节点使用排序网络
+        int[] arr6 = generateRandomPrimitiveIntArr(1000000);
+        int[] arr7 = arr6.clone();
+        timeIt(() -> sort(arr6, 1));   // 不使用排序网络
+        timeIt(() -> sort(arr7));      // 叶子节点 <= 16 个元素时使用排序网络
+        log(isSorted(arr7));
     }
 }
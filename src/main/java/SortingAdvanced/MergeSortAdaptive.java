@@ -0,0 +1,452 @@
+package SortingAdvanced;
+
+import Utils.SortMetrics;
+
+import java.util.Comparator;
+
+import static Utils.Helpers.*;
+
+/*
+ * 自适应归并排序（Adaptive / Natural Merge Sort，即 TimSort 的思路）：
+ *
+ * - MergeSort 和 MergeSortBottomUp 的问题：
+ *   不管输入是什么样的，都机械地从中间（或按固定的 step）二分，因此即使数组已经完全有序，也要做满 O(nlogn) 的工作
+ *   （arr[mid] <= arr[mid+1] 的判断只能省掉 merge，省不掉递归和比较）。而 InsertionSort 中说过，近乎有序的数据
+ *   （如按时间生成的日志）在实际中非常常见。
+ *
+ * - 思路：不再人为地二分，而是利用数据中已经存在的有序片段（run）：
+ *   1. 找 run：从左往右扫描，找出最长的连续非递减片段；若是严格递减的片段，则原地翻转成递增的（必须是"严格"递减，
+ *      否则翻转会改变相等元素的相对顺序，破坏稳定性）。
+ *   2. 补齐短 run：若 run 的长度 < minRun，则用二分插入排序（binary insertion sort，即用二分查找找到插入位置，再整体
+ *      后移，比较次数为 O(logn)）把后面的元素补进来，使其长度达到 minRun（32~64 之间，使 n / minRun 接近2的幂，
+ *      这样最后的归并才是平衡的）。
+ *   3. 归并：将 run 压入一个栈中，并维持以下不变式（从栈顶往下看，A 是栈顶）：
+ *        |C| > |B| + |A|   且   |B| > |A|
+ *      一旦被破坏就合并 B 与 A（或 C 与 B，取较短的一个），这保证了栈中 run 的长度至少按斐波那契数列增长，因此栈的
+ *      深度为 O(logn)，并且每次合并的两个 run 长度相近（与 MergeSort 一样是平衡的归并）。
+ *   4. 最后将栈中剩余的 run 全部合并。
+ *
+ * - 合并两个 run 时的优化：
+ *   1. 在合并之前，先用二分查找找到 run2 的第一个元素在 run1 中的位置，以及 run1 的最后一个元素在 run2 中的位置，
+ *      这两个位置以外的元素已经在正确位置上，不用参与合并。
+ *   2. 只需把较短的那个 run 拷贝到临时数组中（因此临时数组最多只需要 n/2 大小）：若 run1 较短则从左往右合并（mergeLo），
+ *      否则从右往左合并（mergeHi）。
+ *   3. 跳跃模式（galloping）：若在合并过程中某一个 run 连续 minGallop 次"获胜"，说明数据可能是成块有序的，这时改为
+ *      用指数搜索（1, 3, 7, 15, ... 的步长 + 二分查找）找出该 run 中可以一次性拷贝过去的元素个数，再用 System.arraycopy
+ *      整块拷贝。若跳跃模式的效果不好（每次拷贝的块都很短），则退回逐个比较的模式，并增大 minGallop，使下次更难进入
+ *      跳跃模式。
+ *
+ * - 复杂度：
+ *   - 最好情况（完全有序或完全逆序）：只有一个 run，O(n)。
+ *   - 最坏情况：与普通归并排序一样，O(nlogn)。
+ *   - 对于 k 次随机 swap 得到的近乎有序的数据（即 generateNearlyOrderedArr），run 的个数为 O(k)，复杂度约为 O(n + klogk)。
+ *
+ * - 这个实现是稳定的，并且接受 Comparator，因此也可以用于按自定义规则的排序。
+ * */
+
+public class MergeSortAdaptive<T> {
+    private static final int MIN_MERGE = 32;    // 数组长度小于该值时直接用二分插入排序
+    private static final int MIN_GALLOP = 7;    // 进入跳跃模式的初始阈值
+    private static final int INITIAL_TMP_LENGTH = 256;
+
+    private final T[] arr;
+    private final Comparator<? super T> c;
+    private T[] tmp;                             // 临时数组，按需扩容，最大为 n/2
+    private int minGallop = MIN_GALLOP;
+
+    private final int[] runBase;                 // run 栈：runBase[i] 是第 i 个 run 的起始位置，runLen[i] 是其长度
+    private final int[] runLen;
+    private int stackSize = 0;
+
+    private MergeSortAdaptive(T[] arr, Comparator<? super T> c) {
+        this.arr = arr;
+        this.c = c;
+        int n = arr.length;
+        tmp = newArray(n < 2 * INITIAL_TMP_LENGTH ? n >>> 1 : INITIAL_TMP_LENGTH);
+        int stackLen = n < 120 ? 5 : n < 1542 ? 10 : n < 119151 ? 24 : 49;  // 由不变式推出的栈的最大深度
+        runBase = new int[stackLen];
+        runLen = new int[stackLen];
+        SortMetrics.countAuxArray(tmp.length, SortMetrics.REFERENCE_BYTES);
+        SortMetrics.countAuxArray(stackLen, Integer.BYTES);
+        SortMetrics.countAuxArray(stackLen, Integer.BYTES);
+    }
+
+    public static <T extends Comparable<T>> void sort(T[] arr) {
+        sort(arr, Comparator.<T>naturalOrder());
+    }
+
+    public static <T> void sort(T[] arr, Comparator<? super T> c) {
+        int n = arr.length;
+        if (n < 2) return;
+
+        if (n < MIN_MERGE) {  // 小数组：找到第一个 run 后用二分插入排序完成即可
+            int runLength = countRunAndMakeAscending(arr, 0, n, c);
+            binaryInsertionSort(arr, 0, n, runLength, c);
+            return;
+        }
+
+        MergeSortAdaptive<T> sorter = new MergeSortAdaptive<>(arr, c);
+        int minRun = minRunLength(n);
+        int lo = 0, remaining = n;
+        do {
+            int runLength = countRunAndMakeAscending(arr, lo, lo + remaining, c);
+            if (runLength < minRun) {  // run 太短则用二分插入排序补齐到 minRun
+                int force = Math.min(remaining, minRun);
+                binaryInsertionSort(arr, lo, lo + force, lo + runLength, c);
+                runLength = force;
+            }
+            sorter.pushRun(lo, runLength);
+            sorter.mergeCollapse();
+            lo += runLength;
+            remaining -= runLength;
+        } while (remaining != 0);
+
+        sorter.mergeForceCollapse();
+    }
+
+    // 找出从 lo 开始的 run 的长度（不超过 hi），若是严格递减的 run 则将其翻转
+    private static <T> int countRunAndMakeAscending(T[] arr, int lo, int hi, Comparator<? super T> c) {
+        int runHi = lo + 1;
+        if (runHi == hi) return 1;
+
+        if (c.compare(arr[runHi++], arr[lo]) < 0) {  // 严格递减
+            while (runHi < hi && c.compare(arr[runHi], arr[runHi - 1]) < 0)
+                runHi++;
+            reverseRange(arr, lo, runHi);
+        } else {                                      // 非递减
+            while (runHi < hi && c.compare(arr[runHi], arr[runHi - 1]) >= 0)
+                runHi++;
+        }
+        return runHi - lo;
+    }
+
+    private static void reverseRange(Object[] arr, int lo, int hi) {  // 翻转 arr[lo, hi)
+        hi--;
+        while (lo < hi) {
+            Object t = arr[lo];
+            arr[lo++] = arr[hi];
+            arr[hi--] = t;
+            SortMetrics.countSwap();
+        }
+    }
+
+    // 二分插入排序：arr[lo, start) 已经有序，将 arr[start, hi) 中的元素逐个插入
+    private static <T> void binaryInsertionSort(T[] arr, int lo, int hi, int start, Comparator<? super T> c) {
+        for (; start < hi; start++) {
+            T pivot = arr[start];
+            int left = lo, right = start;
+            while (left < right) {  // 找到第一个 > pivot 的位置（相等时插在后面，保证稳定性）
+                int mid = (left + right) >>> 1;
+                if (c.compare(pivot, arr[mid]) < 0) right = mid;
+                else left = mid + 1;
+            }
+            System.arraycopy(arr, left, arr, left + 1, start - left);  // 整体后移，比 InsertionSort 中逐个赋值更快
+            arr[left] = pivot;
+            SortMetrics.countAssignments(start - left + 1);            // 与 InsertionSort 相同：后移 start-left 次 + 插入1次
+        }
+    }
+
+    // 与 JDK 中 TimSort 的 minRunLength 相同：取 n 的最高6位，若剩余的低位中有1则再加1
+    private static int minRunLength(int n) {
+        int r = 0;
+        while (n >= MIN_MERGE) {
+            r |= n & 1;
+            n >>= 1;
+        }
+        return n + r;
+    }
+
+    private void pushRun(int base, int len) {
+        runBase[stackSize] = base;
+        runLen[stackSize] = len;
+        stackSize++;
+    }
+
+    // 检查栈顶的 run 是否满足不变式，不满足则合并，直到重新满足为止
+    private void mergeCollapse() {
+        while (stackSize > 1) {
+            int n = stackSize - 2;
+            if (n > 0 && runLen[n - 1] <= runLen[n] + runLen[n + 1] ||
+                n > 1 && runLen[n - 2] <= runLen[n] + runLen[n - 1]) {  // |C| <= |B| + |A|（同时检查下一层）
+                if (runLen[n - 1] < runLen[n + 1])  // 合并 C 与 B 还是 B 与 A，取较短的一个
+                    n--;
+            } else if (runLen[n] > runLen[n + 1]) {  // |B| > |A|，不变式成立
+                break;
+            }
+            mergeAt(n);
+        }
+    }
+
+    private void mergeForceCollapse() {
+        while (stackSize > 1) {
+            int n = stackSize - 2;
+            if (n > 0 && runLen[n - 1] < runLen[n + 1])
+                n--;
+            mergeAt(n);
+        }
+    }
+
+    // 合并栈中的第 i 个和第 i+1 个 run
+    private void mergeAt(int i) {
+        int base1 = runBase[i], len1 = runLen[i];
+        int base2 = runBase[i + 1], len2 = runLen[i + 1];
+
+        runLen[i] = len1 + len2;
+        if (i == stackSize - 3) {  // 若合并的是 C 与 B，则把 A 往下挪一格
+            runBase[i + 1] = runBase[i + 2];
+            runLen[i + 1] = runLen[i + 2];
+        }
+        stackSize--;
+
+        int k = gallopRight(arr[base2], arr, base1, len1, 0);  // run1 中 <= run2[0] 的元素已经在正确位置上
+        base1 += k;
+        len1 -= k;
+        if (len1 == 0) return;
+
+        len2 = gallopLeft(arr[base1 + len1 - 1], arr, base2, len2, len2 - 1);  // run2 中 >= run1 最后一个元素的也是
+        if (len2 == 0) return;
+
+        if (len1 <= len2)
+            mergeLo(base1, len1, base2, len2);
+        else
+            mergeHi(base1, len1, base2, len2);
+    }
+
+    // 从左往右合并，将较短的 run1 拷贝到 tmp 中
+    private void mergeLo(int base1, int len1, int base2, int len2) {
+        T[] tmp = ensureCapacity(len1);
+        System.arraycopy(arr, base1, tmp, 0, len1);
+
+        int c1 = 0, end1 = len1;                   // c1 指向 tmp 中 run1 的当前元素
+        int c2 = base2, end2 = base2 + len2;       // c2 指向 arr 中 run2 的当前元素
+        int d = base1;                             // d 指向下一个要写入的位置
+        int minGallop = this.minGallop;
+
+        outer:
+        while (true) {
+            int count1 = 0, count2 = 0;  // run1、run2 连续"获胜"的次数
+
+            do {  // 逐个比较模式，相等时取 run1 的元素，保证稳定性
+                if (c.compare(arr[c2], tmp[c1]) < 0) {
+                    arr[d++] = arr[c2++];
+                    count2++;
+                    count1 = 0;
+                    if (c2 == end2) break outer;
+                } else {
+                    arr[d++] = tmp[c1++];
+                    count1++;
+                    count2 = 0;
+                    if (c1 == end1) break outer;
+                }
+            } while ((count1 | count2) < minGallop);
+
+            do {  // 跳跃模式
+                count1 = gallopRight(arr[c2], tmp, c1, end1 - c1, 0);  // run1 中 <= arr[c2] 的元素可以整块拷贝
+                if (count1 != 0) {
+                    System.arraycopy(tmp, c1, arr, d, count1);
+                    d += count1;
+                    c1 += count1;
+                    if (c1 == end1) break outer;
+                }
+                arr[d++] = arr[c2++];
+                if (c2 == end2) break outer;
+
+                count2 = gallopLeft(tmp[c1], arr, c2, end2 - c2, 0);  // run2 中 < tmp[c1] 的元素可以整块拷贝
+                if (count2 != 0) {
+                    System.arraycopy(arr, c2, arr, d, count2);
+                    d += count2;
+                    c2 += count2;
+                    if (c2 == end2) break outer;
+                }
+                arr[d++] = tmp[c1++];
+                if (c1 == end1) break outer;
+
+                minGallop--;  // 跳跃模式有效，降低下次进入的门槛
+            } while (count1 >= MIN_GALLOP || count2 >= MIN_GALLOP);
+
+            if (minGallop < 0) minGallop = 0;
+            minGallop += 2;  // 退出跳跃模式，提高下次进入的门槛
+        }
+
+        this.minGallop = Math.max(minGallop, 1);
+        if (c1 < end1)  // run2 先用完时，run1 剩下的元素拷贝回去即可（若 run1 先用完，run2 剩下的元素本来就在正确位置上）
+            System.arraycopy(tmp, c1, arr, d, end1 - c1);
+        SortMetrics.countAssignments(d - base1 + end1 - c1);  // 与 MergeSort 相同，统计写回 arr 的元素个数（arr[base1, d) + 剩下的 run1）
+    }
+
+    // 从右往左合并，将较短的 run2 拷贝到 tmp 中
+    private void mergeHi(int base1, int len1, int base2, int len2) {
+        T[] tmp = ensureCapacity(len2);
+        System.arraycopy(arr, base2, tmp, 0, len2);
+
+        int c1 = base1 + len1 - 1;     // c1 指向 arr 中 run1 的当前元素（从右往左）
+        int c2 = len2 - 1;             // c2 指向 tmp 中 run2 的当前元素（从右往左）
+        int d = base2 + len2 - 1;
+        int minGallop = this.minGallop;
+
+        outer:
+        while (true) {
+            int count1 = 0, count2 = 0;
+
+            do {  // 从右往左时，相等时取 run2 的元素（放在右边），保证稳定性
+                if (c.compare(tmp[c2], arr[c1]) < 0) {
+                    arr[d--] = arr[c1--];
+                    count1++;
+                    count2 = 0;
+                    if (c1 < base1) break outer;
+                } else {
+                    arr[d--] = tmp[c2--];
+                    count2++;
+                    count1 = 0;
+                    if (c2 < 0) break outer;
+                }
+            } while ((count1 | count2) < minGallop);
+
+            do {
+                int len = c1 - base1 + 1;
+                count1 = len - gallopRight(tmp[c2], arr, base1, len, len - 1);  // run1 中 > tmp[c2] 的元素
+                if (count1 != 0) {
+                    d -= count1;
+                    c1 -= count1;
+                    System.arraycopy(arr, c1 + 1, arr, d + 1, count1);
+                    if (c1 < base1) break outer;
+                }
+                arr[d--] = tmp[c2--];
+                if (c2 < 0) break outer;
+
+                count2 = c2 + 1 - gallopLeft(arr[c1], tmp, 0, c2 + 1, c2);  // run2 中 >= arr[c1] 的元素
+                if (count2 != 0) {
+                    d -= count2;
+                    c2 -= count2;
+                    System.arraycopy(tmp, c2 + 1, arr, d + 1, count2);
+                    if (c2 < 0) break outer;
+                }
+                arr[d--] = arr[c1--];
+                if (c1 < base1) break outer;
+
+                minGallop--;
+            } while (count1 >= MIN_GALLOP || count2 >= MIN_GALLOP);
+
+            if (minGallop < 0) minGallop = 0;
+            minGallop += 2;
+        }
+
+        this.minGallop = Math.max(minGallop, 1);
+        if (c2 >= 0)  // run1 先用完时，run2 剩下的元素拷贝到最左边
+            System.arraycopy(tmp, 0, arr, base1, c2 + 1);
+        SortMetrics.countAssignments(base2 + len2 - 1 - d + c2 + 1);  // arr(d, base2+len2) + 剩下的 run2
+    }
+
+    /*
+     * 在有序区间 a[base, base+len) 中找 key 的插入位置 k，使 a[base+k-1] < key <= a[base+k]（即插在相等元素的左边）。
+     * 从 hint 处开始以 1, 3, 7, 15... 的步长向左或向右跳跃，直到越过 key，再在最后一步的范围内二分查找。当 key 的
+     * 位置离 hint 很近时（合并成块有序的数据时正是如此），只需 O(log(距离)) 次比较，而不是 O(log(len))。
+     * */
+    private int gallopLeft(T key, T[] a, int base, int len, int hint) {
+        int lastOfs = 0, ofs = 1;
+        if (c.compare(key, a[base + hint]) > 0) {  // 向右跳跃，直到 a[base+hint+lastOfs] < key <= a[base+hint+ofs]
+            int maxOfs = len - hint;
+            while (ofs < maxOfs && c.compare(key, a[base + hint + ofs]) > 0) {
+                lastOfs = ofs;
+                ofs = (ofs << 1) + 1;
+                if (ofs <= 0) ofs = maxOfs;  // 整型溢出
+            }
+            if (ofs > maxOfs) ofs = maxOfs;
+            lastOfs += hint;
+            ofs += hint;
+        } else {                                    // 向左跳跃，直到 a[base+hint-ofs] < key <= a[base+hint-lastOfs]
+            int maxOfs = hint + 1;
+            while (ofs < maxOfs && c.compare(key, a[base + hint - ofs]) <= 0) {
+                lastOfs = ofs;
+                ofs = (ofs << 1) + 1;
+                if (ofs <= 0) ofs = maxOfs;
+            }
+            if (ofs > maxOfs) ofs = maxOfs;
+            int t = lastOfs;
+            lastOfs = hint - ofs;
+            ofs = hint - t;
+        }
+
+        lastOfs++;  // 此时 a[base+lastOfs-1] < key <= a[base+ofs]，在 (lastOfs-1, ofs] 中二分查找
+        while (lastOfs < ofs) {
+            int m = lastOfs + ((ofs - lastOfs) >>> 1);
+            if (c.compare(key, a[base + m]) > 0) lastOfs = m + 1;
+            else ofs = m;
+        }
+        return ofs;
+    }
+
+    // 与 gallopLeft 相同，只是 a[base+k-1] <= key < a[base+k]（即插在相等元素的右边）
+    private int gallopRight(T key, T[] a, int base, int len, int hint) {
+        int lastOfs = 0, ofs = 1;
+        if (c.compare(key, a[base + hint]) < 0) {  // 向左跳跃
+            int maxOfs = hint + 1;
+            while (ofs < maxOfs && c.compare(key, a[base + hint - ofs]) < 0) {
+                lastOfs = ofs;
+                ofs = (ofs << 1) + 1;
+                if (ofs <= 0) ofs = maxOfs;
+            }
+            if (ofs > maxOfs) ofs = maxOfs;
+            int t = lastOfs;
+            lastOfs = hint - ofs;
+            ofs = hint - t;
+        } else {                                    // 向右跳跃
+            int maxOfs = len - hint;
+            while (ofs < maxOfs && c.compare(key, a[base + hint + ofs]) >= 0) {
+                lastOfs = ofs;
+                ofs = (ofs << 1) + 1;
+                if (ofs <= 0) ofs = maxOfs;
+            }
+            if (ofs > maxOfs) ofs = maxOfs;
+            lastOfs += hint;
+            ofs += hint;
+        }
+
+        lastOfs++;
+        while (lastOfs < ofs) {
+            int m = lastOfs + ((ofs - lastOfs) >>> 1);
+            if (c.compare(key, a[base + m]) < 0) ofs = m;
+            else lastOfs = m + 1;
+        }
+        return ofs;
+    }
+
+    private T[] ensureCapacity(int minCapacity) {  // 临时数组按需扩容（每次翻倍），但不超过 n/2
+        if (tmp.length < minCapacity) {
+            int newSize = Math.max(minCapacity, Math.min(tmp.length * 2, arr.length >>> 1));
+            tmp = newArray(newSize);
+            SortMetrics.countAuxArray(newSize, SortMetrics.REFERENCE_BYTES);
+        }
+        return tmp;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T[] newArray(int size) {  // 只在内部使用，因此可以用 Object[] 代替 T[]
+        return (T[]) new Object[size];
+    }
+
+    public static void main(String[] args) {
+        Integer[] arr = generateRandomIntArr(20);
+        log(arr);
+        sort(arr);
+        log(arr);
+
+        // 性能测试（几乎有序的数组）
+        Integer[] arr1 = generateNearlyOrderedArr(1000000, 100);
+        Integer[] arr2 = arr1.clone();
+        Integer[] arr3 = arr1.clone();
+        timeIt(() -> MergeSort.sort(arr1));
+        timeIt(() -> MergeSortBottomUp.sort(arr2));
+        timeIt(() -> MergeSortAdaptive.sort(arr3));  // run 的个数约等于 swap 次数，接近 O(n)
+        log(isSorted(arr3));
+
+        // 性能测试（完全逆序的数组）
+        Integer[] arr4 = new Integer[1000000];
+        for (int i = 0; i < arr4.length; i++)
+            arr4[i] = arr4.length - i;
+        Integer[] arr5 = arr4.clone();
+        timeIt(() -> MergeSort.sort(arr4));
+        timeIt(() -> MergeSortAdaptive.sort(arr5));  // 只有一个严格递减的 run，翻转一次即可
+        log(isSorted(arr5));
+    }
+}
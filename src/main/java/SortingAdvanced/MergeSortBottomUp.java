@@ -1,5 +1,7 @@
 package SortingAdvanced;
 
+import Utils.SortMetrics;
+
 import java.util.Arrays;
 
 import static Utils.Helpers.*;
@@ -30,6 +32,8 @@ import static Utils.Helpers.*;
  *     1  2  3  4  5  6  7  8
  *
  * - 比较：复杂度都是 O(nlogn)，都可以在1秒内轻松处理100万数量级的数据。但是统计性能上，自顶向下的递归的实现稍好一点。
+ *
+ * - 基本类型版本（int[]、long[]、double[]）：与 MergeSort 中的基本类型版本相同，辅助数组只分配一次。
  * */
 
 public class MergeSortBottomUp {
@@ -47,6 +51,8 @@ public class MergeSortBottomUp {
 
     private static <T extends Comparable<T>> void merge(T[] arr, int l, int mid, int r) {  // merge 方法不变
         T[] aux = Arrays.copyOfRange(arr, l, r + 1);
+        SortMetrics.countAuxArray(r - l + 1, SortMetrics.REFERENCE_BYTES);
+        SortMetrics.countAssignments(r - l + 1);
         int i = l, j = mid + 1;
 
         for (int k = l; k <= r; k++) {
@@ -61,6 +67,93 @@ public class MergeSortBottomUp {
         }
     }
 
+    public static void sort(int[] arr) {
+        int[] aux = new int[arr.length];  // 辅助数组只分配一次，所有 merge 共用
+        for (int step = 1; step <= arr.length; step *= 2) {
+            for (int i = 0; i + step < arr.length; i += step * 2) {
+                int l = i;
+                int mid = i + step - 1;
+                int r = Math.min(i + 2 * step - 1, arr.length - 1);
+                if (arr[mid] > arr[mid + 1])
+                    merge(arr, aux, l, mid, r);
+            }
+        }
+    }
+
+    private static void merge(int[] arr, int[] aux, int l, int mid, int r) {
+        System.arraycopy(arr, l, aux, l, r - l + 1);
+        int i = l, j = mid + 1;
+
+        for (int k = l; k <= r; k++) {
+            if (i > mid)
+                arr[k] = aux[j++];
+            else if (j > r)
+                arr[k] = aux[i++];
+            else if (aux[i] <= aux[j])
+                arr[k] = aux[i++];
+            else
+                arr[k] = aux[j++];
+        }
+    }
+
+    public static void sort(long[] arr) {
+        long[] aux = new long[arr.length];
+        for (int step = 1; step <= arr.length; step *= 2) {
+            for (int i = 0; i + step < arr.length; i += step * 2) {
+                int l = i;
+                int mid = i + step - 1;
+                int r = Math.min(i + 2 * step - 1, arr.length - 1);
+                if (arr[mid] > arr[mid + 1])
+                    merge(arr, aux, l, mid, r);
+            }
+        }
+    }
+
+    private static void merge(long[] arr, long[] aux, int l, int mid, int r) {
+        System.arraycopy(arr, l, aux, l, r - l + 1);
+        int i = l, j = mid + 1;
+
+        for (int k = l; k <= r; k++) {
+            if (i > mid)
+                arr[k] = aux[j++];
+            else if (j > r)
+                arr[k] = aux[i++];
+            else if (aux[i] <= aux[j])
+                arr[k] = aux[i++];
+            else
+                arr[k] = aux[j++];
+        }
+    }
+
+    public static void sort(double[] arr) {
+        double[] aux = new double[arr.length];
+        for (int step = 1; step <= arr.length; step *= 2) {
+            for (int i = 0; i + step < arr.length; i += step * 2) {
+                int l = i;
+                int mid = i + step - 1;
+                int r = Math.min(i + 2 * step - 1, arr.length - 1);
+                if (Double.compare(arr[mid], arr[mid + 1]) > 0)
+                    merge(arr, aux, l, mid, r);
+            }
+        }
+    }
+
+    private static void merge(double[] arr, double[] aux, int l, int mid, int r) {
+        System.arraycopy(arr, l, aux, l, r - l + 1);
+        int i = l, j = mid + 1;
+
+        for (int k = l; k <= r; k++) {
+            if (i > mid)
+                arr[k] = aux[j++];
+            else if (j > r)
+                arr[k] = aux[i++];
+            else if (Double.compare(aux[i], aux[j]) <= 0)
+                arr[k] = aux[i++];
+            else
+                arr[k] = aux[j++];
+        }
+    }
+
     public static void main(String[] args) {
         Integer[] arr = generateRandomIntArr(10);
         log(arr);
@@ -71,5 +164,9 @@ public class MergeSortBottomUp {
         Integer[] arr2 = arr1.clone();
         timeIt(arr1, MergeSortBottomUp::sort);
         timeIt(arr2, MergeSort::sort);
+
+        int[] arr3 = generateRandomPrimitiveIntArr(100000);
+        timeIt(() -> sort(arr3));  // 基本类型版本
+        log(isSorted(arr3));
     }
 }
\ No newline at end of file
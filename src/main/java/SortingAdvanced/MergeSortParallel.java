@@ -0,0 +1,200 @@
+package SortingAdvanced;
+
+import SortingBasic.InsertionSort;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import static Utils.Helpers.*;
+
+/*
+ * 并行归并排序（Parallel Merge Sort）：
+ *
+ * - MergeSort 中 sort(arr, l, mid) 和 sort(arr, mid + 1, r) 这两次递归处理的是互不重叠的两段区间，彼此完全独立，
+ *   因此可以交给不同的线程同时执行。这里使用 ForkJoinPool + RecursiveAction 实现：每个任务 fork 出左右两个子任务，
+ *   空闲线程会从其他线程的任务队列中"偷"任务来做（work stealing），从而让所有核都忙起来。
+ *
+ * - 顺序阈值（cutoff）：
+ *   - 任务太小时，创建任务和调度的开销会超过并行带来的收益，因此当区间元素个数 <= cutoff 时就不再拆分，而是在当前线程
+ *     里顺序排序（即 MergeSort2 的做法：<= 16 个元素时用 InsertionSort.sortRange，否则递归归并）。
+ *   - cutoff 可以通过 sort(arr, pool, cutoff) 配置，默认为 8192。
+ *
+ * - 并行 merge：
+ *   - 只并行两次递归还不够：最上面几层的 merge 是 O(n) 的顺序操作，最后一次 merge 要处理整个数组，此时只有一个线程在工作。
+ *     根据 Amdahl 定律，这部分会成为瓶颈（加速比最多只有 O(logn)）。
+ *   - 因此 merge 也要并行：在两个有序区间中较长的那个里取中间元素 x，再在另一个区间中二分查找 x 应插入的位置，这样
+ *     x 在结果中的最终位置就确定了，x 左边的两小段与右边的两小段可以分别独立地 merge，递归下去即可。
+ *         左区间: [ a1 ... x ... a2 ]        右区间: [ b1 ... | ... b2 ]
+ *                  \___/     \___/                    \____/   \____/
+ *                    A1        A2                        B1       B2      merge(A1, B1) 和 merge(A2, B2) 可并行
+ *   - 当两段区间的总长度 <= MERGE_CUTOFF 时再退化成普通的顺序 merge，因此实际上只有最后几层的 merge 是并行的。
+ *
+ * - 稳定性：二分查找时，若 x 来自左区间，则在右区间中找第一个 >= x 的位置；若来自右区间，则在左区间中找第一个 > x
+ *   的位置，再加上顺序 merge 时相等元素优先取左边，保证了相等元素的相对顺序不变，即这个实现是稳定的。
+ *
+ * - 辅助数组在排序开始时只分配一次（大小为 n），所有任务共用（各任务处理的区间互不重叠，因此不会冲突）。
+ * */
+
+public class MergeSortParallel {
+    private static final int DEFAULT_CUTOFF = 8192;
+    private static final int INSERTION_SORT_CUTOFF = 15;
+    private static final int MERGE_CUTOFF = 8192;
+
+    public static <T extends Comparable<T>> void sort(T[] arr) {
+        sort(arr, ForkJoinPool.commonPool(), DEFAULT_CUTOFF);
+    }
+
+    public static <T extends Comparable<T>> void sort(T[] arr, ForkJoinPool pool, int cutoff) {
+        if (cutoff <= INSERTION_SORT_CUTOFF)
+            throw new IllegalArgumentException("sort failed. Cutoff must be greater than " + INSERTION_SORT_CUTOFF);
+        T[] aux = Arrays.copyOf(arr, arr.length);
+        pool.invoke(new SortTask<>(arr, aux, 0, arr.length - 1, cutoff));
+    }
+
+    private static class SortTask<T extends Comparable<T>> extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final T[] arr, aux;
+        private final int l, r, cutoff;
+
+        SortTask(T[] arr, T[] aux, int l, int r, int cutoff) {
+            this.arr = arr;
+            this.aux = aux;
+            this.l = l;
+            this.r = r;
+            this.cutoff = cutoff;
+        }
+
+        @Override
+        protected void compute() {
+            if (r - l + 1 <= cutoff) {  // 任务足够小时在当前线程中顺序排序
+                sequentialSort(arr, aux, l, r);
+                return;
+            }
+
+            int mid = (r - l) / 2 + l;
+            invokeAll(new SortTask<>(arr, aux, l, mid, cutoff),
+                      new SortTask<>(arr, aux, mid + 1, r, cutoff));  // fork 左右两个子任务，并等待它们都完成
+
+            if (arr[mid].compareTo(arr[mid + 1]) <= 0)  // 和 MergeSort 中一样，已经有序则不用 merge
+                return;
+            System.arraycopy(arr, l, aux, l, r - l + 1);
+            new MergeTask<>(aux, l, mid, mid + 1, r, arr, l).compute();  // 在当前线程中开始 merge，其内部会继续 fork
+        }
+    }
+
+    // 将 src[l1...r1] 和 src[l2...r2] 这两段有序区间归并到 dst[d...] 中
+    private static class MergeTask<T extends Comparable<T>> extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final T[] src, dst;
+        private final int l1, r1, l2, r2, d;
+
+        MergeTask(T[] src, int l1, int r1, int l2, int r2, T[] dst, int d) {
+            this.src = src;
+            this.l1 = l1;
+            this.r1 = r1;
+            this.l2 = l2;
+            this.r2 = r2;
+            this.dst = dst;
+            this.d = d;
+        }
+
+        @Override
+        protected void compute() {
+            int n1 = r1 - l1 + 1, n2 = r2 - l2 + 1;
+            if (n1 + n2 <= MERGE_CUTOFF) {
+                sequentialMerge(src, l1, r1, l2, r2, dst, d);
+                return;
+            }
+
+            int m1, m2;     // 两段区间各自的切分点
+            int p;          // 切分元素在 dst 中的最终位置
+            if (n1 >= n2) {  // 在较长的区间中取中间元素
+                m1 = (r1 - l1) / 2 + l1;
+                m2 = lowerBound(src, l2, r2, src[m1]);  // 右区间中第一个 >= src[m1] 的位置
+                p = d + (m1 - l1) + (m2 - l2);
+                dst[p] = src[m1];
+                invokeAll(new MergeTask<>(src, l1, m1 - 1, l2, m2 - 1, dst, d),
+                          new MergeTask<>(src, m1 + 1, r1, m2, r2, dst, p + 1));
+            } else {
+                m2 = (r2 - l2) / 2 + l2;
+                m1 = upperBound(src, l1, r1, src[m2]);  // 左区间中第一个 > src[m2] 的位置
+                p = d + (m1 - l1) + (m2 - l2);
+                dst[p] = src[m2];
+                invokeAll(new MergeTask<>(src, l1, m1 - 1, l2, m2 - 1, dst, d),
+                          new MergeTask<>(src, m1, r1, m2 + 1, r2, dst, p + 1));
+            }
+        }
+    }
+
+    // 与 MergeSort2 相同，只是所有 merge 共用同一个 aux
+    private static <T extends Comparable<T>> void sequentialSort(T[] arr, T[] aux, int l, int r) {
+        if (r - l <= INSERTION_SORT_CUTOFF) {
+            InsertionSort.sortRange(arr, l, r);
+            return;
+        }
+
+        int mid = (r - l) / 2 + l;
+        sequentialSort(arr, aux, l, mid);
+        sequentialSort(arr, aux, mid + 1, r);
+
+        if (arr[mid].compareTo(arr[mid + 1]) > 0) {
+            System.arraycopy(arr, l, aux, l, r - l + 1);
+            sequentialMerge(aux, l, mid, mid + 1, r, arr, l);
+        }
+    }
+
+    private static <T extends Comparable<T>> void sequentialMerge(T[] src, int l1, int r1, int l2, int r2, T[] dst, int d) {
+        int i = l1, j = l2;
+        for (int k = d; i <= r1 || j <= r2; k++) {
+            if (i > r1)
+                dst[k] = src[j++];
+            else if (j > r2)
+                dst[k] = src[i++];
+            else if (src[i].compareTo(src[j]) <= 0)  // 相等时优先取左边，保证稳定性
+                dst[k] = src[i++];
+            else
+                dst[k] = src[j++];
+        }
+    }
+
+    // 在有序区间 arr[l...r] 中找第一个 >= e 的位置（若都 < e 则返回 r+1）
+    private static <T extends Comparable<T>> int lowerBound(T[] arr, int l, int r, T e) {
+        int lo = l, hi = r + 1;
+        while (lo < hi) {
+            int mid = (hi - lo) / 2 + lo;
+            if (arr[mid].compareTo(e) < 0) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    // 在有序区间 arr[l...r] 中找第一个 > e 的位置（若都 <= e 则返回 r+1）
+    private static <T extends Comparable<T>> int upperBound(T[] arr, int l, int r, T e) {
+        int lo = l, hi = r + 1;
+        while (lo < hi) {
+            int mid = (hi - lo) / 2 + lo;
+            if (arr[mid].compareTo(e) <= 0) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    public static void main(String[] args) {
+        Integer[] arr = generateRandomIntArr(20);
+        log(arr);
+        sort(arr);
+        log(arr);
+
+        // 性能测试
+        Integer[] arr1 = generateRandomIntArr(3000000);
+        Integer[] arr2 = arr1.clone();
+        Integer[] arr3 = arr1.clone();
+        timeIt(() -> MergeSort.sort(arr1));
+        timeIt(() -> MergeSort2.sort(arr2));
+        timeIt(() -> MergeSortParallel.sort(arr3));  // 加速比取决于核数，更准确的数据见 MergeSortParallelBenchmark
+        log(isSorted(arr3));
+    }
+}
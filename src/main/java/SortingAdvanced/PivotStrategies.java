@@ -0,0 +1,27 @@
+package SortingAdvanced;
+
+import java.util.Comparator;
+
+/*
+ * PivotStrategy 的实现所用的辅助函数。接口中的静态方法总是 public 的，放在这里（包级可见）以免成为公开 API 的一部分；
+ * TopK.main 生成测试数据时也用到了 mix。
+ * */
+
+final class PivotStrategies {
+    static long mix(long z) {  // SplitMix64 的混合函数，输入的每一位都会影响输出的所有位
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    // 返回 arr[i]、arr[j]、arr[k] 三者中位数的索引，最多3次比较
+    static <T> int median(T[] arr, int i, int j, int k, Comparator<? super T> c) {
+        if (c.compare(arr[i], arr[j]) < 0) {
+            if (c.compare(arr[j], arr[k]) < 0) return j;       // i < j < k
+            return c.compare(arr[i], arr[k]) < 0 ? k : i;      // i < k <= j 或 k <= i < j
+        } else {
+            if (c.compare(arr[k], arr[j]) < 0) return j;       // k < j <= i
+            return c.compare(arr[k], arr[i]) < 0 ? k : i;      // j <= k < i 或 j <= i <= k
+        }
+    }
+}
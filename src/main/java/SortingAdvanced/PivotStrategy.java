@@ -0,0 +1,84 @@
+package SortingAdvanced;
+
+import java.util.Comparator;
+import java.util.concurrent.ThreadLocalRandom;
+
+/*
+ * pivot 的选择策略：
+ *
+ * - QuickSort、QuickSort2Ways、QuickSort3Ways 中的 pivot 都是写死的（第一个元素或随机选一个），而 pivot 的好坏直接
+ *   决定了 partition 是否平衡，进而决定了比较次数和递归深度。这里将其抽象为接口，以便对比不同策略的效果：
+ *   1. random()：随机选一个，即现有快排的做法。期望比较次数约为 2nlnn ≈ 1.39nlog2(n)。
+ *   2. medianOf3()：取首、中、尾三个元素的中位数。多花2~3次比较，但 pivot 更接近真正的中位数，期望比较次数降到约
+ *      1.19nlog2(n)；并且对于有序/逆序数组能直接选中中位数。
+ *   3. ninther()：Tukey 的 ninther，即在区间中均匀取9个元素，分成3组，取"3组中位数的中位数"。比 medianOf3 更稳健，
+ *      适合大区间（区间较小时退化为 medianOf3，因为多出来的比较不划算）。
+ *   4. seeded(seed)：与 random() 相同，但"随机数"由 seed 和区间 [l, r] 经过哈希（SplitMix64 的混合函数）得到，不依赖
+ *      任何可变状态。因此同一输入每次排序选出的 pivot 序列完全相同（与该实例之前排序过什么、被几个线程共用都无关），
+ *      便于复现和对比。
+ *
+ * - choose 返回的是 pivot 在 arr[l...r] 中的索引，比较通过传入的 Comparator 进行，因此选 pivot 时的比较次数也会
+ *   被 Utils.SortMetrics 统计在内。
+ * */
+
+public interface PivotStrategy {
+    <T> int choose(T[] arr, int l, int r, Comparator<? super T> c);
+
+    static PivotStrategy random() {
+        return new PivotStrategy() {
+            @Override
+            public <T> int choose(T[] arr, int l, int r, Comparator<? super T> c) {
+                return ThreadLocalRandom.current().nextInt(r - l + 1) + l;
+            }
+
+            @Override
+            public String toString() { return "random"; }
+        };
+    }
+
+    static PivotStrategy seeded(long seed) {
+        return new PivotStrategy() {
+            @Override
+            public <T> int choose(T[] arr, int l, int r, Comparator<? super T> c) {
+                long h = PivotStrategies.mix(seed ^ PivotStrategies.mix(((long) l << 32) | (r & 0xFFFFFFFFL)));
+                return (int) ((h >>> 1) % (r - l + 1)) + l;
+            }
+
+            @Override
+            public String toString() { return "seeded(" + seed + ")"; }
+        };
+    }
+
+    static PivotStrategy medianOf3() {
+        return new PivotStrategy() {
+            @Override
+            public <T> int choose(T[] arr, int l, int r, Comparator<? super T> c) {
+                return PivotStrategies.median(arr, l, (r - l) / 2 + l, r, c);
+            }
+
+            @Override
+            public String toString() { return "medianOf3"; }
+        };
+    }
+
+    static PivotStrategy ninther() {
+        return new PivotStrategy() {
+            @Override
+            public <T> int choose(T[] arr, int l, int r, Comparator<? super T> c) {
+                int n = r - l + 1;
+                int mid = (r - l) / 2 + l;
+                if (n < 40)  // 区间较小时 ninther 多出的6次比较不划算
+                    return PivotStrategies.median(arr, l, mid, r, c);
+
+                int step = n / 8;
+                int m1 = PivotStrategies.median(arr, l, l + step, l + 2 * step, c);
+                int m2 = PivotStrategies.median(arr, mid - step, mid, mid + step, c);
+                int m3 = PivotStrategies.median(arr, r - 2 * step, r - step, r, c);
+                return PivotStrategies.median(arr, m1, m2, m3, c);
+            }
+
+            @Override
+            public String toString() { return "ninther"; }
+        };
+    }
+}
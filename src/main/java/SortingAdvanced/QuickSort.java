@@ -1,6 +1,7 @@
 package SortingAdvanced;
 
 import SortingBasic.InsertionSort;
+import Utils.SortMetrics;
 
 import static Utils.Helpers.*;
 
@@ -60,9 +61,11 @@ public class QuickSort {
 
     private static <T extends Comparable<T>> void sort(T[] arr, int l, int r) {
         if (l >= r) return;
+        SortMetrics.enter();
         int p = partition(arr, l, r);
         sort(arr, l, p - 1);
         sort(arr, p + 1, r);
+        SortMetrics.exit();
     }
 
     private static <T extends Comparable<T>> int partition(T[] arr, int l, int r) {
@@ -1,6 +1,7 @@
 package SortingAdvanced;
 
 import SortingBasic.InsertionSort;
+import Utils.SortMetrics;
 
 import java.util.Random;
 
@@ -44,9 +45,11 @@ public class QuickSort2 {
             InsertionSort.sortRange(arr, l, r);
             return;
         }
+        SortMetrics.enter();
         int p = partition(arr, l, r);
         sort(arr, l, p - 1);
         sort(arr, p + 1, r);
+        SortMetrics.exit();
     }
 
     private static <T extends Comparable<T>> int partition(T[] arr, int l, int r) {
@@ -1,6 +1,9 @@
 package SortingAdvanced;
 
+import Utils.SortMetrics;
+
 import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
 
 import static Utils.Helpers.*;
 
@@ -36,6 +39,10 @@ import static Utils.Helpers.*;
 *
 * - 实际上双路快排是快速排序的标准实现，因为它对于任意情况（完全随机、近乎有序、大量重复）的数据，都不会退化成 O(n^2)。
 *   因此平时我们一说起快速排序算法（Quick Sort），指的就是双路快排。
+*
+* - 基本类型版本（int[]、long[]、double[]）：
+*   - 不装箱的原因见 MergeSort 中的基本类型版本说明。
+*   - 随机 pivot 使用 ThreadLocalRandom，避免每次 partition 都 new 一个 Random 对象。
 * */
 
 public class QuickSort2Ways {
@@ -45,12 +52,14 @@ public class QuickSort2Ways {
 
     private static <T extends Comparable<T>> void sort(T[] arr, int l, int r) {
         if (l >= r) return;
+        SortMetrics.enter();
         int p = partition(arr, l, r);
         sort(arr, l, p - 1);
         sort(arr, p + 1, r);
+        SortMetrics.exit();
     }
 
-    private static <T extends Comparable<T>> int partition(T[] arr, int l, int r) {
+    static <T extends Comparable<T>> int partition(T[] arr, int l, int r) {  // 包级可见，供 IntroSort 复用
         int vIndex = new Random().nextInt(r - l + 1) + l;
         swap(arr, l, vIndex);
         T v = arr[l];
@@ -69,6 +78,93 @@ public class QuickSort2Ways {
         return j;
     }
 
+    public static void sort(int[] arr) {
+        sort(arr, 0, arr.length - 1);
+    }
+
+    private static void sort(int[] arr, int l, int r) {
+        if (l >= r) return;
+        int p = partition(arr, l, r);
+        sort(arr, l, p - 1);
+        sort(arr, p + 1, r);
+    }
+
+    private static int partition(int[] arr, int l, int r) {
+        int vIndex = ThreadLocalRandom.current().nextInt(r - l + 1) + l;  // ThreadLocalRandom 不需要每次 partition 都 new 一个 Random
+        swap(arr, l, vIndex);
+        int v = arr[l];
+
+        int i = l + 1, j = r;
+        while (true) {
+            while (i <= r && arr[i] < v) i++;
+            while (j >= l + 1 && arr[j] > v) j--;
+            if (i > j) break;
+            swap(arr, i, j);
+            i++;
+            j--;
+        }
+        swap(arr, l, j);
+        return j;
+    }
+
+    public static void sort(long[] arr) {
+        sort(arr, 0, arr.length - 1);
+    }
+
+    private static void sort(long[] arr, int l, int r) {
+        if (l >= r) return;
+        int p = partition(arr, l, r);
+        sort(arr, l, p - 1);
+        sort(arr, p + 1, r);
+    }
+
+    private static int partition(long[] arr, int l, int r) {
+        int vIndex = ThreadLocalRandom.current().nextInt(r - l + 1) + l;
+        swap(arr, l, vIndex);
+        long v = arr[l];
+
+        int i = l + 1, j = r;
+        while (true) {
+            while (i <= r && arr[i] < v) i++;
+            while (j >= l + 1 && arr[j] > v) j--;
+            if (i > j) break;
+            swap(arr, i, j);
+            i++;
+            j--;
+        }
+        swap(arr, l, j);
+        return j;
+    }
+
+    public static void sort(double[] arr) {
+        sort(arr, 0, arr.length - 1);
+    }
+
+    private static void sort(double[] arr, int l, int r) {
+        if (l >= r) return;
+        int p = partition(arr, l, r);
+        sort(arr, l, p - 1);
+        sort(arr, p + 1, r);
+    }
+
+    private static int partition(double[] arr, int l, int r) {
+        int vIndex = ThreadLocalRandom.current().nextInt(r - l + 1) + l;
+        swap(arr, l, vIndex);
+        double v = arr[l];
+
+        int i = l + 1, j = r;
+        while (true) {
+            while (i <= r && Double.compare(arr[i], v) < 0) i++;
+            while (j >= l + 1 && Double.compare(arr[j], v) > 0) j--;
+            if (i > j) break;
+            swap(arr, i, j);
+            i++;
+            j--;
+        }
+        swap(arr, l, j);
+        return j;
+    }
+
     public static void main(String[] args) {
         Integer[] arr = generateRandomIntArr(10);
         log(arr);
@@ -83,5 +179,9 @@ public class QuickSort2Ways {
         timeIt(arr2, QuickSort::sort);       // 对于包含大量重复元素的数据，QuickSort 比 MergeSort 慢了十几倍
         timeIt(arr3, QuickSort2::sort);      // QuickSort2 也是一样慢
         timeIt(arr4, QuickSort2Ways::sort);  // QuickSort2Ways 的性能就非常好了
+
+        int[] arr5 = generateRandomPrimitiveIntArr(1000000);
+        timeIt(() -> sort(arr5));            // 基本类型版本
+        log(isSorted(arr5));
     }
 }
@@ -1,6 +1,8 @@
 package SortingAdvanced;
 
-import java.util.Random;
+import Utils.SortMetrics;
+
+import java.util.concurrent.ThreadLocalRandom;
 
 import static Utils.Helpers.*;
 
@@ -33,6 +35,13 @@ import static Utils.Helpers.*;
 * - 如果面试中碰到"谈谈快速排序"这种题目就可以针对以下2个维度分别讨论每种实现的优劣：
 *   1. 完全随机 or 近乎有序
 *   2. 是否包含大量重复元素
+*
+* - 基本类型版本（int[]、long[]、double[]）：
+*   - 不装箱的原因见 MergeSort 中的基本类型版本说明。
+*   - 随机 pivot 使用 ThreadLocalRandom，避免每次 partition 都 new 一个 Random 对象。
+*
+* - 泛型版本同样使用 ThreadLocalRandom：QuickSort3WaysParallel 和 SampleSort 会在多个 ForkJoin 线程中同时 partition，
+*   每次 new Random() 不仅要分配对象，所有线程还会竞争 Random 内部用于生成种子的同一个静态 AtomicLong。
 * */
 
 public class QuickSort3Ways {
@@ -40,15 +49,17 @@ public class QuickSort3Ways {
         sort(arr, 0, arr.length - 1);
     }
 
-    private static <T extends Comparable<T>> void sort(T[] arr, int l, int r) {
+    static <T extends Comparable<T>> void sort(T[] arr, int l, int r) {  // 包级可见，供 SampleSort 对样本和各个桶排序
         if (l >= r) return;
+        SortMetrics.enter();
         int[] ps = partition(arr, l, r);  // 与两路快排不同，三路快排中的 partition 返回两个索引（lt 和 gt）
         sort(arr, l, ps[0]);              // 对 arr[l...lt]（即 < v 的所有元素）进行递归排序
         sort(arr, ps[1], r);              // 对 arr[gt...r]（即 > v 的所有元素）进行递归排序
+        SortMetrics.exit();
     }
 
-    private static <T extends Comparable<T>> int[] partition(T[] arr, int l, int r) {
-        int vIndex = new Random().nextInt(r - l + 1) + l;
+    static <T extends Comparable<T>> int[] partition(T[] arr, int l, int r) {
+        int vIndex = ThreadLocalRandom.current().nextInt(r - l + 1) + l;
         swap(arr, l, vIndex);
         T v = arr[l];
 
@@ -69,6 +80,99 @@ public class QuickSort3Ways {
         return new int[] {lt, gt};
     }
 
+    public static void sort(int[] arr) {
+        sort(arr, 0, arr.length - 1);
+    }
+
+    private static void sort(int[] arr, int l, int r) {
+        if (l >= r) return;
+        int[] ps = partition(arr, l, r);
+        sort(arr, l, ps[0]);
+        sort(arr, ps[1], r);
+    }
+
+    private static int[] partition(int[] arr, int l, int r) {
+        int vIndex = ThreadLocalRandom.current().nextInt(r - l + 1) + l;  // ThreadLocalRandom 不需要每次 partition 都 new 一个 Random
+        swap(arr, l, vIndex);
+        int v = arr[l];
+
+        int lt = l, gt = r + 1, i = l + 1;
+        while (i < gt) {
+            int c = Integer.compare(arr[i], v);  // 比较结果只算一次，不像泛型版本那样在 else if 中再调用一次 compareTo
+            if (c < 0)
+                swap(arr, i++, ++lt);
+            else if (c > 0)
+                swap(arr, i, --gt);
+            else
+                i++;
+        }
+        swap(arr, l, lt);
+        lt--;
+        return new int[] {lt, gt};
+    }
+
+    public static void sort(long[] arr) {
+        sort(arr, 0, arr.length - 1);
+    }
+
+    private static void sort(long[] arr, int l, int r) {
+        if (l >= r) return;
+        int[] ps = partition(arr, l, r);
+        sort(arr, l, ps[0]);
+        sort(arr, ps[1], r);
+    }
+
+    private static int[] partition(long[] arr, int l, int r) {
+        int vIndex = ThreadLocalRandom.current().nextInt(r - l + 1) + l;
+        swap(arr, l, vIndex);
+        long v = arr[l];
+
+        int lt = l, gt = r + 1, i = l + 1;
+        while (i < gt) {
+            int c = Long.compare(arr[i], v);
+            if (c < 0)
+                swap(arr, i++, ++lt);
+            else if (c > 0)
+                swap(arr, i, --gt);
+            else
+                i++;
+        }
+        swap(arr, l, lt);
+        lt--;
+        return new int[] {lt, gt};
+    }
+
+    public static void sort(double[] arr) {
+        sort(arr, 0, arr.length - 1);
+    }
+
+    private static void sort(double[] arr, int l, int r) {
+        if (l >= r) return;
+        int[] ps = partition(arr, l, r);
+        sort(arr, l, ps[0]);
+        sort(arr, ps[1], r);
+    }
+
+    private static int[] partition(double[] arr, int l, int r) {
+        int vIndex = ThreadLocalRandom.current().nextInt(r - l + 1) + l;
+        swap(arr, l, vIndex);
+        double v = arr[l];
+
+        int lt = l, gt = r + 1, i = l + 1;
+        while (i < gt) {
+            int c = Double.compare(arr[i], v);
+            if (c < 0)
+                swap(arr, i++, ++lt);
+            else if (c > 0)
+                swap(arr, i, --gt);
+            else
+                i++;
+        }
+        swap(arr, l, lt);
+        lt--;
+        return new int[] {lt, gt};
+    }
+
     public static void main(String[] args) {
         Integer[] arr = generateRandomIntArr(10);
         log(arr);
@@ -83,5 +187,11 @@ public class QuickSort3Ways {
         timeIt(arr2, QuickSort2::sort);
         timeIt(arr3, QuickSort2Ways::sort);
         timeIt(arr4, QuickSort3Ways::sort);  // 三路快排对于包含大量重复的数据集的排序效率是最高的
+
+        long[] arr5 = new long[1000000];     // 基本类型版本（long[]，包含大量重复元素）
+        for (int i = 0; i < arr5.length; i++)
+            arr5[i] = arr1[i % arr1.length];
+        timeIt(() -> sort(arr5));
+        log(isSorted(arr5));
     }
 }
@@ -0,0 +1,96 @@
+package SortingAdvanced;
+
+import SortingBasic.InsertionSort;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import static Utils.Helpers.*;
+
+/*
+ * 并行三路快速排序（Parallel 3-way Quick Sort）：
+ *
+ * - QuickSort3Ways 中，partition 之后对 arr[l...lt] 和 arr[gt...r] 的两次递归处理的是互不重叠的区间，因此和
+ *   MergeSortParallel 一样可以交给 ForkJoinPool 并行执行：每次 partition 之后把两个子区间作为 RecursiveAction
+ *   fork 出去，空闲线程会通过 work stealing 取走任务。
+ * - 与并行归并排序不同，快排的"合并"步骤是空的（partition 完成后 == v 的元素就已经在正确位置上了），因此不需要并行
+ *   merge；但最上层的 partition 是 O(n) 的顺序操作，仍然是加速比的上限所在。
+ *
+ * - 三个阈值：
+ *   1. 区间元素个数 <= INSERTION_SORT_CUTOFF 时使用 InsertionSort.sortRange（小区间上插入排序更快）；
+ *   2. 区间元素个数 <= threshold 时不再 fork，在当前线程中顺序进行三路快排（任务太小时调度开销大于收益）；
+ *   3. 否则 partition 后 fork 两个子任务。threshold 可以通过 sort(arr, pool, threshold) 配置，默认为 8192。
+ *
+ * - pivot 的选择和 partition 过程直接复用 QuickSort3Ways.partition（随机 pivot）。
+ *
+ * - 对于包含大量重复元素的数据，三路 partition 会把所有 == v 的元素一次性放到最终位置上，递归树比 Arrays.parallelSort
+ *   （归并排序）浅得多，这也是它在这类数据上更快的原因，见 QuickSort3WaysParallelBenchmark。
+ * */
+
+public class QuickSort3WaysParallel {
+    private static final int DEFAULT_THRESHOLD = 8192;
+    private static final int INSERTION_SORT_CUTOFF = 15;
+
+    public static <T extends Comparable<T>> void sort(T[] arr) {
+        sort(arr, ForkJoinPool.commonPool(), DEFAULT_THRESHOLD);
+    }
+
+    public static <T extends Comparable<T>> void sort(T[] arr, ForkJoinPool pool, int threshold) {
+        if (threshold <= INSERTION_SORT_CUTOFF)
+            throw new IllegalArgumentException("sort failed. Threshold must be greater than " + INSERTION_SORT_CUTOFF);
+        pool.invoke(new SortTask<>(arr, 0, arr.length - 1, threshold));
+    }
+
+    private static class SortTask<T extends Comparable<T>> extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final T[] arr;
+        private final int l, r, threshold;
+
+        SortTask(T[] arr, int l, int r, int threshold) {
+            this.arr = arr;
+            this.l = l;
+            this.r = r;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected void compute() {
+            if (r - l + 1 <= threshold) {
+                sequentialSort(arr, l, r);
+                return;
+            }
+
+            int[] ps = QuickSort3Ways.partition(arr, l, r);
+            invokeAll(new SortTask<>(arr, l, ps[0], threshold),
+                      new SortTask<>(arr, ps[1], r, threshold));
+        }
+    }
+
+    private static <T extends Comparable<T>> void sequentialSort(T[] arr, int l, int r) {
+        if (r - l <= INSERTION_SORT_CUTOFF) {
+            InsertionSort.sortRange(arr, l, r);
+            return;
+        }
+        int[] ps = QuickSort3Ways.partition(arr, l, r);
+        sequentialSort(arr, l, ps[0]);
+        sequentialSort(arr, ps[1], r);
+    }
+
+    public static void main(String[] args) {
+        Integer[] arr = generateRandomIntArr(20);
+        log(arr);
+        sort(arr);
+        log(arr);
+
+        // 性能测试（包含大量重复元素的数据集）
+        Integer[] arr1 = generateRandomArrayFromRange(3000000, 0, 10);
+        Integer[] arr2 = arr1.clone();
+        Integer[] arr3 = arr1.clone();
+        timeIt(() -> QuickSort3Ways.sort(arr1));
+        timeIt(() -> Arrays.parallelSort(arr2));
+        timeIt(() -> QuickSort3WaysParallel.sort(arr3));  // 更准确的数据见 QuickSort3WaysParallelBenchmark
+        log(isSorted(arr3));
+    }
+}
@@ -0,0 +1,201 @@
+package SortingAdvanced;
+
+import java.util.Arrays;
+
+import static Utils.Helpers.*;
+
+/*
+ * 块划分快速排序（BlockQuicksort，Edelkamp & Weiß 2016）：
+ *
+ * - QuickSort2Ways 中 partition 的问题：
+ *   while (arr[i] < v) i++ 这样的循环每比较一次就有一个条件跳转。对于随机数据，每次比较的结果都是"抛硬币"，CPU 的分支
+ *   预测大约一半会猜错，每次猜错都要清空流水线（十几到二十几个时钟周期），这比比较本身要昂贵得多。
+ *
+ * - 思路：把"比较"和"交换"拆开，比较时不做分支判断：
+ *   1. 在左端取一块 B 个元素（B = 128），依次将每个元素与 v 比较，把 >= v 的元素（即需要换到右边的元素）在块内的偏移量
+ *      记录到 offsetsL 中。关键在于写法：
+ *          offsetsL[numL] = k;  numL += arr[i + k] >= v ? 1 : 0;
+ *      无论比较结果如何都写入 offsetsL，只是根据结果决定 numL 是否加1，JIT 会把它编译成 setcc/cmov 之类的无分支指令，
+ *      因此不存在分支预测失败。
+ *   2. 在右端同样处理一块，把 <= v 的元素的偏移量记录到 offsetsR 中。
+ *   3. 取 num = min(numL, numR)，将两边记录的前 num 个元素两两交换。这个循环的次数只取决于 num，分支是可预测的。
+ *   4. 哪一边的偏移量用完了，就把那一边的块向中间推进 B 个元素；没用完的偏移量留到下一轮继续使用。
+ *   5. 剩下不足 2B 个元素时，用 QuickSort2Ways 中的普通双路 partition 完成（块划分过程中保持了与它相同的不变式：
+ *      arr[l+1...i) <= v，arr(j...r] >= v，因此可以直接从当前的 i、j 接着扫描）。
+ *
+ * - 其他优化：
+ *   1. pivot 取首、中、尾三个元素的中位数（median of 3），比随机 pivot 更接近真正的中位数，且不需要生成随机数。
+ *   2. 区间元素个数 <= 16 时使用排序网络（SortingNetworks），比插入排序少了与数据相关的分支。
+ *   3. 只对较短的一边递归，较长的一边通过循环处理，栈深度为 O(logn)。
+ *   4. 与双路快排一样，== v 的元素会在两边之间交换，因此大量重复元素时仍然是平衡的。
+ *
+ * - 注意：median of 3 是确定性的，存在能使其退化的特殊构造输入（"median-of-3 killer"），对外部可控的数据应使用
+ *   IntroSort 这样带兜底的算法。
+ *
+ * - 关于 SIMD：jdk.incubator.vector 需要 JDK 16+，而本项目以 Java 8 为编译目标，因此这里只实现标量的块划分。块划分本身
+ *   已经消除了主要的分支预测失败，并且第1步的比较循环是一个简单的计数循环，JIT 在支持的平台上也可能对其自动向量化。
+ * */
+
+public class QuickSortBlock {
+    private static final int BLOCK_SIZE = 128;
+
+    public static void sort(int[] arr) {
+        sort(arr, 0, arr.length - 1, new int[BLOCK_SIZE], new int[BLOCK_SIZE]);  // 偏移量缓冲在整个排序过程中复用
+    }
+
+    private static void sort(int[] arr, int l, int r, int[] offsetsL, int[] offsetsR) {
+        while (r - l + 1 > SortingNetworks.MAX_SIZE) {
+            int p = partition(arr, l, r, offsetsL, offsetsR);
+            if (p - l < r - p) {
+                sort(arr, l, p - 1, offsetsL, offsetsR);
+                l = p + 1;
+            } else {
+                sort(arr, p + 1, r, offsetsL, offsetsR);
+                r = p - 1;
+            }
+        }
+        SortingNetworks.sort(arr, l, r);
+    }
+
+    private static int partition(int[] arr, int l, int r, int[] offsetsL, int[] offsetsR) {
+        int mid = (r - l) / 2 + l;
+        if (arr[mid] < arr[l]) swap(arr, mid, l);  // 三数取中，结束后 arr[l] <= arr[mid] <= arr[r]
+        if (arr[r] < arr[l]) swap(arr, r, l);
+        if (arr[r] < arr[mid]) swap(arr, r, mid);
+        swap(arr, l, mid);                         // 中位数放到 l 上作为 pivot
+        int v = arr[l];
+
+        int i = l + 1, j = r;
+        int numL = 0, numR = 0, startL = 0, startR = 0;
+        while (j - i + 1 > 2 * BLOCK_SIZE) {
+            if (numL == 0) {                       // 左边的偏移量用完了，扫描新的一块 arr[i...i+B)
+                startL = 0;
+                for (int k = 0; k < BLOCK_SIZE; k++) {
+                    offsetsL[numL] = k;
+                    numL += arr[i + k] >= v ? 1 : 0;
+                }
+            }
+            if (numR == 0) {                       // 右边的偏移量用完了，扫描新的一块 arr(j-B...j]
+                startR = 0;
+                for (int k = 0; k < BLOCK_SIZE; k++) {
+                    offsetsR[numR] = k;
+                    numR += arr[j - k] <= v ? 1 : 0;
+                }
+            }
+
+            int num = Math.min(numL, numR);
+            for (int k = 0; k < num; k++) {        // 两两交换，不再有与数据相关的分支
+                int a = i + offsetsL[startL + k], b = j - offsetsR[startR + k];
+                int t = arr[a];
+                arr[a] = arr[b];
+                arr[b] = t;
+            }
+            numL -= num;
+            numR -= num;
+            startL += num;
+            startR += num;
+            if (numL == 0) i += BLOCK_SIZE;        // 这一块中所有 >= v 的元素都已换走
+            if (numR == 0) j -= BLOCK_SIZE;
+        }
+
+        while (true) {                             // 剩余部分与 QuickSort2Ways 的 partition 相同
+            while (i <= r && arr[i] < v) i++;
+            while (j >= l + 1 && arr[j] > v) j--;
+            if (i > j) break;
+            swap(arr, i, j);
+            i++;
+            j--;
+        }
+        swap(arr, l, j);
+        return j;
+    }
+
+    public static void sort(long[] arr) {
+        sort(arr, 0, arr.length - 1, new int[BLOCK_SIZE], new int[BLOCK_SIZE]);
+    }
+
+    private static void sort(long[] arr, int l, int r, int[] offsetsL, int[] offsetsR) {
+        while (r - l + 1 > SortingNetworks.MAX_SIZE) {
+            int p = partition(arr, l, r, offsetsL, offsetsR);
+            if (p - l < r - p) {
+                sort(arr, l, p - 1, offsetsL, offsetsR);
+                l = p + 1;
+            } else {
+                sort(arr, p + 1, r, offsetsL, offsetsR);
+                r = p - 1;
+            }
+        }
+        SortingNetworks.sort(arr, l, r);
+    }
+
+    private static int partition(long[] arr, int l, int r, int[] offsetsL, int[] offsetsR) {
+        int mid = (r - l) / 2 + l;
+        if (arr[mid] < arr[l]) swap(arr, mid, l);
+        if (arr[r] < arr[l]) swap(arr, r, l);
+        if (arr[r] < arr[mid]) swap(arr, r, mid);
+        swap(arr, l, mid);
+        long v = arr[l];
+
+        int i = l + 1, j = r;
+        int numL = 0, numR = 0, startL = 0, startR = 0;
+        while (j - i + 1 > 2 * BLOCK_SIZE) {
+            if (numL == 0) {
+                startL = 0;
+                for (int k = 0; k < BLOCK_SIZE; k++) {
+                    offsetsL[numL] = k;
+                    numL += arr[i + k] >= v ? 1 : 0;
+                }
+            }
+            if (numR == 0) {
+                startR = 0;
+                for (int k = 0; k < BLOCK_SIZE; k++) {
+                    offsetsR[numR] = k;
+                    numR += arr[j - k] <= v ? 1 : 0;
+                }
+            }
+
+            int num = Math.min(numL, numR);
+            for (int k = 0; k < num; k++) {
+                int a = i + offsetsL[startL + k], b = j - offsetsR[startR + k];
+                long t = arr[a];
+                arr[a] = arr[b];
+                arr[b] = t;
+            }
+            numL -= num;
+            numR -= num;
+            startL += num;
+            startR += num;
+            if (numL == 0) i += BLOCK_SIZE;
+            if (numR == 0) j -= BLOCK_SIZE;
+        }
+
+        while (true) {
+            while (i <= r && arr[i] < v) i++;
+            while (j >= l + 1 && arr[j] > v) j--;
+            if (i > j) break;
+            swap(arr, i, j);
+            i++;
+            j--;
+        }
+        swap(arr, l, j);
+        return j;
+    }
+
+    public static void main(String[] args) {
+        int[] arr = generateRandomPrimitiveIntArr(20);
+        log(arr);
+        sort(arr);
+        log(arr);
+
+        // 性能测试：随机数据上分支预测失败最多，块划分的优势最明显
+        for (int round = 0; round < 3; round++) {  // 多跑几轮，让 JIT 充分编译
+            int[] arr1 = generateRandomPrimitiveIntArr(10000000);
+            int[] arr2 = arr1.clone();
+            int[] arr3 = arr1.clone();
+            timeIt(() -> QuickSort2Ways.sort(arr1));
+            timeIt(() -> sort(arr2));
+            timeIt(() -> Arrays.sort(arr3));
+            log(isSorted(arr2));
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package SortingAdvanced;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.IntConsumer;
+
+import static Utils.Helpers.*;
+
+/*
+ * 并行样本排序（Parallel Sample Sort）：
+ *
+ * - QuickSort3WaysParallel 的问题：最上层的 partition 是 O(n) 的顺序操作，且递归树上层的任务很少，大部分核在前几层
+ *   都是空闲的。样本排序把数组一次性分成 p 个桶，之后各个桶之间完全独立，因此每个阶段都能用上所有的核（Spark 的
+ *   sortByKey 也是这样做的：先采样得到 RangePartitioner 的边界，再按边界 shuffle，最后每个分区各自排序）。
+ *
+ * - 过程：
+ *   1. 采样：随机取 p * OVERSAMPLING 个元素排序，每隔 OVERSAMPLING 个取一个，得到 p-1 个 splitter。多采样
+ *      （oversampling）是为了让 splitter 更接近真实的分位数，从而使各个桶的大小接近 n/p。
+ *   2. 分类（并行）：把数组分成若干块，每块各自对其中的元素二分查找所属的桶，记下桶编号（oracle），并统计每个桶的
+ *      元素个数（histogram）。
+ *   3. 前缀和：按"桶优先、块其次"的顺序累加 histogram，得到每一块的每个桶在辅助数组中的起始位置。
+ *   4. 分发（并行）：每块按 oracle 把元素写入辅助数组中各自的位置（scatter），各块写入的区间互不重叠，不需要同步。
+ *   5. 桶内排序（并行）：每个桶用 QuickSort3Ways 独立排序，再拷贝回原数组。这一步在所有 ForkJoin 线程上同时进行，
+ *      QuickSort3Ways 用 ThreadLocalRandom 选 pivot，线程之间没有共享的状态。
+ *   除了采样，每个阶段都是对数组的顺序扫描，访问模式很规整。
+ *
+ * - 重复元素：若大量元素等于某个 splitter，该元素所在的桶会变得很大，使得负载不均衡。因此对每个 splitter 额外设一个
+ *   "相等桶"，共 2p-1 个桶：桶 2i 中是 (splitter[i-1], splitter[i]) 之间的元素，桶 2i+1 中是 == splitter[i] 的元素。
+ *   相等桶不需要排序。对于 MANY_DUPLICATES 这样的数据，几乎所有元素都会落入相等桶。
+ *
+ * - 桶的个数取线程数的4倍（便于 work-stealing 均衡负载），最多 MAX_BUCKETS 个，这样桶编号（< 256）可以存在 byte 中，
+ *   oracle 只占 n 字节。元素个数 < SEQUENTIAL_THRESHOLD 时直接顺序使用 QuickSort3Ways。
+ *
+ * - 空间：O(n) 的辅助数组 + n 字节的 oracle。
+ * */
+
+public class SampleSort {
+    private static final int SEQUENTIAL_THRESHOLD = 1 << 16;
+    private static final int OVERSAMPLING = 32;
+    private static final int MAX_BUCKETS = 128;   // 加上相等桶共 2 * 128 - 1 = 255 个桶
+    private static final int MIN_BLOCK_SIZE = 1 << 14;
+
+    public static <T extends Comparable<T>> void sort(T[] arr) {
+        sort(arr, ForkJoinPool.commonPool());
+    }
+
+    public static <T extends Comparable<T>> void sort(T[] arr, ForkJoinPool pool) {
+        int n = arr.length;
+        if (n < SEQUENTIAL_THRESHOLD) {
+            QuickSort3Ways.sort(arr);
+            return;
+        }
+
+        // 1. 采样
+        int p = Math.min(MAX_BUCKETS, Math.max(2, 4 * pool.getParallelism()));
+        T[] sample = Arrays.copyOf(arr, p * OVERSAMPLING);  // 用 copyOf 创建与 arr 同类型的 T[]，内容随后被覆盖
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < sample.length; i++)
+            sample[i] = arr[random.nextInt(n)];
+        QuickSort3Ways.sort(sample, 0, sample.length - 1);
+        T[] splitters = Arrays.copyOf(sample, p - 1);
+        for (int i = 0; i < splitters.length; i++)
+            splitters[i] = sample[(i + 1) * OVERSAMPLING];
+
+        // 2. 分类
+        int buckets = 2 * p - 1;
+        int blocks = Math.max(1, Math.min(4 * pool.getParallelism(), n / MIN_BLOCK_SIZE));
+        int blockSize = (n + blocks - 1) / blocks;
+        byte[] oracle = new byte[n];
+        int[][] offsets = new int[blocks][buckets];  // 先存 histogram，前缀和之后存起始位置
+        parallelFor(pool, blocks, b -> {
+            int[] count = offsets[b];
+            for (int i = b * blockSize, end = Math.min(n, i + blockSize); i < end; i++) {
+                int bucket = classify(arr[i], splitters);
+                oracle[i] = (byte) bucket;
+                count[bucket]++;
+            }
+        });
+
+        // 3. 前缀和
+        int[] bucketStart = new int[buckets + 1];
+        int pos = 0;
+        for (int c = 0; c < buckets; c++) {
+            bucketStart[c] = pos;
+            for (int b = 0; b < blocks; b++) {
+                int count = offsets[b][c];
+                offsets[b][c] = pos;
+                pos += count;
+            }
+        }
+        bucketStart[buckets] = n;
+
+        // 4. 分发
+        T[] aux = Arrays.copyOf(arr, n);
+        parallelFor(pool, blocks, b -> {
+            int[] next = offsets[b];
+            for (int i = b * blockSize, end = Math.min(n, i + blockSize); i < end; i++)
+                aux[next[oracle[i] & 0xFF]++] = arr[i];
+        });
+
+        // 5. 桶内排序
+        parallelFor(pool, buckets, c -> {
+            int l = bucketStart[c], r = bucketStart[c + 1] - 1;
+            if (c % 2 == 0)  // 奇数编号的是相等桶，不需要排序
+                QuickSort3Ways.sort(aux, l, r);
+            System.arraycopy(aux, l, arr, l, r - l + 1);
+        });
+    }
+
+    // 返回 x 所属的桶：二分查找第一个 >= x 的 splitter[i]，若 == x 则属于相等桶 2i+1，否则属于桶 2i
+    private static <T extends Comparable<T>> int classify(T x, T[] splitters) {
+        int l = 0, r = splitters.length;  // 在 splitters[l...r) 中查找
+        while (l < r) {
+            int mid = (r - l) / 2 + l;
+            if (splitters[mid].compareTo(x) < 0) l = mid + 1;
+            else r = mid;
+        }
+        return l < splitters.length && splitters[l].compareTo(x) == 0 ? 2 * l + 1 : 2 * l;
+    }
+
+    private static void parallelFor(ForkJoinPool pool, int n, IntConsumer body) {  // 对 0...n-1 并行执行 body
+        pool.invoke(new ForTask(0, n, body));
+    }
+
+    private static class ForTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int from, to;
+        private final IntConsumer body;
+
+        ForTask(int from, int to, IntConsumer body) {
+            this.from = from;
+            this.to = to;
+            this.body = body;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                body.accept(from);
+                return;
+            }
+            int mid = (to - from) / 2 + from;
+            invokeAll(new ForTask(from, mid, body), new ForTask(mid, to, body));
+        }
+    }
+
+    public static void main(String[] args) {
+        Integer[] arr = generateRandomIntArr(20);
+        log(arr);
+        sort(arr);
+        log(arr);
+
+        // 性能测试
+        Integer[] arr1 = generateRandomIntArr(5000000);
+        Integer[] arr2 = arr1.clone();
+        Integer[] arr3 = arr1.clone();
+        timeIt(() -> QuickSort3Ways.sort(arr1));
+        timeIt(() -> QuickSort3WaysParallel.sort(arr2));
+        timeIt(() -> sort(arr3));
+        log(isSorted(arr3));
+
+        Integer[] arr4 = generateRandomArrayFromRange(5000000, 0, 10);  // 包含大量重复元素，几乎都落入相等桶
+        Integer[] arr5 = arr4.clone();
+        timeIt(() -> QuickSort3WaysParallel.sort(arr4));
+        timeIt(() -> sort(arr5));
+        log(isSorted(arr5));
+    }
+}
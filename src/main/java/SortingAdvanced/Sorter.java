@@ -0,0 +1,222 @@
+package SortingAdvanced;
+
+import Heap.HeapSort;
+import SortingBasic.InsertionSort;
+import SortingBasic.SelectionSort;
+import SortingBasic.ShellSort;
+import SortingSpecialised.RadixSortLSD;
+import Utils.SortMetrics;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+import static Utils.Helpers.*;
+
+/*
+ * 统一的排序入口（Sorter）：
+ *
+ * - 问题：
+ *   1. 所有排序算法都要求 T extends Comparable<T>，只能按对象的"自然顺序"排序，而实际中常常需要按某个字段排序
+ *      （如按时间戳排序订单），只能让对象实现按该字段比较的 compareTo。
+ *   2. 每次比较都要调用 compareTo -> getter 取出 key（若 key 是计算出来的则还要重新计算一遍），而比较次数为
+ *      O(nlogn)，对于 1000 万条记录来说约 2.3 亿次，排序的大部分时间花在了访问器的调用和对象的指针解引用上。
+ *
+ * - 三种排序方式：
+ *   1. sort(arr, algorithm)：按自然顺序排序，可以选择具体的算法（见 Algorithm，每个算法都标明了是否稳定）。
+ *   2. sort(arr, comparator)：按 Comparator 排序，使用 MergeSortAdaptive，是稳定的。
+ *   3. sortByIntKey / sortByLongKey：按基本类型的 key 排序（Schwartzian transform，即"装饰-排序-去装饰"）：
+ *      1. 装饰：对每个元素只调用一次 key 提取函数，把 key 存到一个基本类型数组中，与元素的下标一一对应；
+ *      2. 排序：只对 (key, 下标) 排序，比较的是连续内存中的基本类型，不再访问对象本身。这里用 RadixSortLSD，
+ *         复杂度为 O(n)；
+ *      3. 去装饰：按排好序的下标把元素重新排列到 arr 中。
+ *      由于 RadixSortLSD 是稳定的（int key 的版本把下标放在 long 的低32位，key 相同时按下标排序，同样是稳定的），
+ *      key 相同的元素保持原来的相对顺序。代价是额外 O(n) 的空间（key 数组、下标数组及一个 arr 的拷贝）。
+ *
+ * - 稳定性：
+ *   - 稳定：InsertionSort、MergeSortAdaptive、MergeSortParallel 以及上面的 sort(arr, comparator)、sortByXxxKey。
+ *   - 不稳定：SelectionSort、ShellSort、HeapSort、所有快速排序的变种（QuickSort2Ways、QuickSort3Ways、
+ *     DualPivotQuickSort、IntroSort），以及 MergeSort 和 MergeSortBottomUp —— 它们的 merge 在左右两边的元素相等时
+ *     取的是右边的元素（compareTo(...) < 0 才取左边），因此会颠倒相等元素的相对顺序。
+ * */
+
+public class Sorter {
+    private static final int PARALLEL_THRESHOLD = 1 << 16;  // 元素个数超过该值时并行统计 RadixSortLSD 的 histogram
+
+    public enum Algorithm {
+        INSERTION_SORT(true) {
+            @Override
+            public <T extends Comparable<T>> void sort(T[] arr) { InsertionSort.sort2(arr); }
+        },
+        SELECTION_SORT(false) {
+            @Override
+            public <T extends Comparable<T>> void sort(T[] arr) { SelectionSort.sort(arr); }
+        },
+        SHELL_SORT(false) {
+            @Override
+            public <T extends Comparable<T>> void sort(T[] arr) { ShellSort.sort(arr); }
+        },
+        HEAP_SORT(false) {
+            @Override
+            public <T extends Comparable<T>> void sort(T[] arr) { HeapSort.sort3(arr); }
+        },
+        MERGE_SORT(false) {
+            @Override
+            public <T extends Comparable<T>> void sort(T[] arr) { MergeSort.sort(arr); }
+        },
+        MERGE_SORT_BOTTOM_UP(false) {
+            @Override
+            public <T extends Comparable<T>> void sort(T[] arr) { MergeSortBottomUp.sort(arr); }
+        },
+        MERGE_SORT_ADAPTIVE(true) {
+            @Override
+            public <T extends Comparable<T>> void sort(T[] arr) { MergeSortAdaptive.sort(arr); }
+        },
+        MERGE_SORT_PARALLEL(true) {
+            @Override
+            public <T extends Comparable<T>> void sort(T[] arr) { MergeSortParallel.sort(arr); }
+        },
+        QUICK_SORT_2WAYS(false) {
+            @Override
+            public <T extends Comparable<T>> void sort(T[] arr) { QuickSort2Ways.sort(arr); }
+        },
+        QUICK_SORT_3WAYS(false) {
+            @Override
+            public <T extends Comparable<T>> void sort(T[] arr) { QuickSort3Ways.sort(arr); }
+        },
+        QUICK_SORT_3WAYS_PARALLEL(false) {
+            @Override
+            public <T extends Comparable<T>> void sort(T[] arr) { QuickSort3WaysParallel.sort(arr); }
+        },
+        SAMPLE_SORT_PARALLEL(false) {
+            @Override
+            public <T extends Comparable<T>> void sort(T[] arr) { SampleSort.sort(arr); }
+        },
+        DUAL_PIVOT_QUICK_SORT(false) {
+            @Override
+            public <T extends Comparable<T>> void sort(T[] arr) { DualPivotQuickSort.sort(arr); }
+        },
+        INTRO_SORT(false) {
+            @Override
+            public <T extends Comparable<T>> void sort(T[] arr) { IntroSort.sort(arr); }
+        };
+
+        private final boolean stable;
+
+        Algorithm(boolean stable) { this.stable = stable; }
+
+        public boolean isStable() { return stable; }
+
+        public abstract <T extends Comparable<T>> void sort(T[] arr);
+    }
+
+    public static <T extends Comparable<T>> void sort(T[] arr) {
+        Algorithm.MERGE_SORT_ADAPTIVE.sort(arr);
+    }
+
+    public static <T extends Comparable<T>> void sort(T[] arr, Algorithm algorithm) {
+        algorithm.sort(arr);
+    }
+
+    public static <T> void sort(T[] arr, Comparator<? super T> c) {
+        MergeSortAdaptive.sort(arr, c);
+    }
+
+    public static <T> void sortByIntKey(T[] arr, ToIntFunction<? super T> keyExtractor) {
+        int n = arr.length;
+        long[] packed = new long[n];  // 高32位为 key，低32位为下标，按 long 排序即先按 key 再按下标排序
+        for (int i = 0; i < n; i++)
+            packed[i] = ((long) keyExtractor.applyAsInt(arr[i]) << 32) | i;
+
+        if (n >= PARALLEL_THRESHOLD) RadixSortLSD.sortParallel(packed);
+        else RadixSortLSD.sort(packed);
+
+        T[] copy = arr.clone();
+        for (int i = 0; i < n; i++)
+            arr[i] = copy[(int) packed[i]];  // 取低32位，即原来的下标
+    }
+
+    public static <T> void sortByLongKey(T[] arr, ToLongFunction<? super T> keyExtractor) {
+        int n = arr.length;
+        long[] keys = new long[n];  // long 的 key 已占满64位，因此下标单独存放，随 key 一起移动
+        int[] indexes = new int[n];
+        for (int i = 0; i < n; i++) {
+            keys[i] = keyExtractor.applyAsLong(arr[i]);
+            indexes[i] = i;
+        }
+
+        if (n >= PARALLEL_THRESHOLD) RadixSortLSD.sortParallel(keys, indexes);
+        else RadixSortLSD.sort(keys, indexes);
+
+        T[] copy = arr.clone();
+        for (int i = 0; i < n; i++)
+            arr[i] = copy[indexes[i]];
+    }
+
+    private static class Order {
+        private final int id;
+        private final long timestamp;
+        private final int amount;
+
+        Order(int id, long timestamp, int amount) {
+            this.id = id;
+            this.timestamp = timestamp;
+            this.amount = amount;
+        }
+
+        long getTimestamp() { return timestamp; }
+
+        int getAmount() { return amount; }
+
+        @Override
+        public String toString() { return "Order{id=" + id + ", timestamp=" + timestamp + ", amount=" + amount + "}"; }
+    }
+
+    public static void main(String[] args) {
+        for (Algorithm algorithm : Algorithm.values()) {
+            Integer[] arr = generateRandomIntArr(1000);
+            sort(arr, algorithm);
+            log(String.format("%-26s stable: %-5s sorted: %s", algorithm, algorithm.isStable(), isSorted(arr)));
+        }
+
+        // 插桩统计（-Dsort.metrics=true 时）：对同一份数据统计所有单线程的排序算法，输出 JSON（并行算法在其他线程中完成，
+        // 统计不到）
+        if (SortMetrics.ENABLED) {
+            Integer[] arr = generateRandomIntArr(100000);
+            List<SortMetrics.Report> reports = new ArrayList<>();
+            for (Algorithm algorithm : Algorithm.values()) {
+                if (algorithm.name().endsWith("PARALLEL") || algorithm == Algorithm.INSERTION_SORT
+                        || algorithm == Algorithm.SELECTION_SORT)  // 跳过并行算法和 O(n^2) 的算法
+                    continue;
+                Integer[] a = arr.clone();
+                reports.add(SortMetrics.measure(algorithm.name(), a, algorithm::sort));
+                if (!isSorted(a))
+                    throw new IllegalStateException("main failed. " + algorithm + " did not sort the array.");
+            }
+            log(SortMetrics.toJson(reports));
+        }
+
+        // 按 key 排序的稳定性：amount 相同的订单保持按 id 的顺序
+        Order[] orders = new Order[10];
+        for (int i = 0; i < orders.length; i++)
+            orders[i] = new Order(i, 1553056460000L + ThreadLocalRandom.current().nextInt(100000), ThreadLocalRandom.current().nextInt(3));
+        sortByIntKey(orders, Order::getAmount);
+        log(orders);
+
+        // 性能测试：按时间戳对 1000 万条订单排序
+        int n = 10000000;
+        Order[] orders1 = new Order[n];
+        for (int i = 0; i < n; i++)
+            orders1[i] = new Order(i, 1553056460000L + ThreadLocalRandom.current().nextInt(86400000), ThreadLocalRandom.current().nextInt(1000));
+        Order[] orders2 = orders1.clone();
+
+        timeIt(() -> sort(orders1, Comparator.comparingLong(Order::getTimestamp)));  // 每次比较都调用两次 getTimestamp
+        timeIt(() -> sortByLongKey(orders2, Order::getTimestamp));                    // 每个元素只调用一次 getTimestamp
+        for (int i = 0; i < n; i++)
+            if (orders1[i] != orders2[i])
+                throw new IllegalStateException("main failed. Results of the two sorts differ at " + i);
+    }
+}
@@ -0,0 +1,1412 @@
+package SortingAdvanced;
+
+import java.util.Arrays;
+
+import static Utils.Helpers.*;
+
+/*
+ * 排序网络（Sorting Network）：递归叶子节点上的小数组排序
+ *
+ * - 问题：MergeSort2、QuickSortBlock 等混合排序算法在区间足够小时改用插入排序。插入排序在小区间上虽然比递归快，但它的
+ *   内层循环"何时停下"完全取决于数据，对于随机数据，几乎每个元素的插入都会有一次分支预测失败；而叶子节点的个数是
+ *   O(n/16)，这部分的开销在总时间中并不小。
+ *
+ * - 排序网络：对于固定大小 n 的数组，预先确定好一组"比较-交换"（compare-exchange）操作的序列：
+ *       compareExchange(i, j)：若 a[i] > a[j] 则交换，即 a[i] = min(a[i], a[j])，a[j] = max(a[i], a[j])
+ *   无论输入是什么，执行的比较序列都完全相同（与数据无关，data-oblivious），执行完后数组一定有序。例如 n = 4 时：
+ *       [0,2] [1,3]  ->  [0,1] [2,3]  ->  [1,2]      共5次比较-交换，分3层，同一层的比较互不相关
+ *   - 实现时先把 n 个元素读入局部变量（寄存器），全部比较-交换完成后再写回数组；每次比较-交换用 Math.min 和 Math.max
+ *     完成，JIT 会将它们编译成无分支的 cmov 指令（HotSpot 中它们是 intrinsic），因此整个过程没有任何与数据相关的分支。
+ *   - 同一层中的比较-交换彼此独立，CPU 可以乱序并行执行。
+ *   - 这里为 2~16 的每个大小都展开了一个方法（sort2 ... sort16）：
+ *     1. 2~9 使用已知的最优网络（比较-交换次数最少：1, 3, 5, 9, 12, 16, 19, 25）；
+ *     2. 10~16 使用 Batcher 奇偶归并网络（按 16 构造，去掉涉及下标 >= n 的比较器，相当于把缺少的元素当作 +∞），
+ *        比已知的最优网络多1~4次比较-交换，但层数只有10层。
+ *     每个网络都已通过 0-1 原理验证：一个网络能排序所有由0和1组成的输入，则它能排序任意输入。
+ *
+ * - sort(arr, l, r) 是供各混合排序算法在叶子节点调用的入口，按区间长度分派到对应的网络，区间长度不能超过 MAX_SIZE。
+ * */
+
+public class SortingNetworks {
+    public static final int MAX_SIZE = 16;
+
+    public static void sort(int[] arr, int l, int r) {  // 对 arr[l...r] 排序，r - l + 1 <= MAX_SIZE
+        switch (r - l + 1) {
+            case 0:
+            case 1:  return;
+            case 2:  sort2(arr, l); return;
+            case 3:  sort3(arr, l); return;
+            case 4:  sort4(arr, l); return;
+            case 5:  sort5(arr, l); return;
+            case 6:  sort6(arr, l); return;
+            case 7:  sort7(arr, l); return;
+            case 8:  sort8(arr, l); return;
+            case 9:  sort9(arr, l); return;
+            case 10: sort10(arr, l); return;
+            case 11: sort11(arr, l); return;
+            case 12: sort12(arr, l); return;
+            case 13: sort13(arr, l); return;
+            case 14: sort14(arr, l); return;
+            case 15: sort15(arr, l); return;
+            case 16: sort16(arr, l); return;
+            default:
+                throw new IllegalArgumentException("sort failed. Range size should be at most " + MAX_SIZE + ".");
+        }
+    }
+
+    public static void sort(long[] arr, int l, int r) {
+        switch (r - l + 1) {
+            case 0:
+            case 1:  return;
+            case 2:  sort2(arr, l); return;
+            case 3:  sort3(arr, l); return;
+            case 4:  sort4(arr, l); return;
+            case 5:  sort5(arr, l); return;
+            case 6:  sort6(arr, l); return;
+            case 7:  sort7(arr, l); return;
+            case 8:  sort8(arr, l); return;
+            case 9:  sort9(arr, l); return;
+            case 10: sort10(arr, l); return;
+            case 11: sort11(arr, l); return;
+            case 12: sort12(arr, l); return;
+            case 13: sort13(arr, l); return;
+            case 14: sort14(arr, l); return;
+            case 15: sort15(arr, l); return;
+            case 16: sort16(arr, l); return;
+            default:
+                throw new IllegalArgumentException("sort failed. Range size should be at most " + MAX_SIZE + ".");
+        }
+    }
+
+    private static void sort2(int[] a, int l) {
+        int x0 = a[l], x1 = a[l + 1];
+        int t;
+        t = Math.min(x0, x1); x1 = Math.max(x0, x1); x0 = t;
+        a[l] = x0; a[l + 1] = x1;
+    }
+
+    private static void sort3(int[] a, int l) {
+        int x0 = a[l], x1 = a[l + 1], x2 = a[l + 2];
+        int t;
+        t = Math.min(x0, x2); x2 = Math.max(x0, x2); x0 = t;
+
+        t = Math.min(x0, x1); x1 = Math.max(x0, x1); x0 = t;
+
+        t = Math.min(x1, x2); x2 = Math.max(x1, x2); x1 = t;
+        a[l] = x0; a[l + 1] = x1; a[l + 2] = x2;
+    }
+
+    private static void sort4(int[] a, int l) {
+        int x0 = a[l], x1 = a[l + 1], x2 = a[l + 2], x3 = a[l + 3];
+        int t;
+        t = Math.min(x0, x2); x2 = Math.max(x0, x2); x0 = t;
+        t = Math.min(x1, x3); x3 = Math.max(x1, x3); x1 = t;
+
+        t = Math.min(x0, x1); x1 = Math.max(x0, x1); x0 = t;
+        t = Math.min(x2, x3); x3 = Math.max(x2, x3); x2 = t;
+
+        t = Math.min(x1, x2); x2 = Math.max(x1, x2); x1 = t;
+        a[l] = x0; a[l + 1] = x1; a[l + 2] = x2; a[l + 3] = x3;
+    }
+
+    private static void sort5(int[] a, int l) {
+        int x0 = a[l], x1 = a[l + 1], x2 = a[l + 2], x3 = a[l + 3];
+        int x4 = a[l + 4];
+        int t;
+        t = Math.min(x0, x3); x3 = Math.max(x0, x3); x0 = t;
+        t = Math.min(x1, x4); x4 = Math.max(x1, x4); x1 = t;
+
+        t = Math.min(x0, x2); x2 = Math.max(x0, x2); x0 = t;
+        t = Math.min(x1, x3); x3 = Math.max(x1, x3); x1 = t;
+
+        t = Math.min(x0, x1); x1 = Math.max(x0, x1); x0 = t;
+        t = Math.min(x2, x4); x4 = Math.max(x2, x4); x2 = t;
+
+        t = Math.min(x1, x2); x2 = Math.max(x1, x2); x1 = t;
+        t = Math.min(x3, x4); x4 = Math.max(x3, x4); x3 = t;
+
+        t = Math.min(x2, x3); x3 = Math.max(x2, x3); x2 = t;
+        a[l] = x0; a[l + 1] = x1; a[l + 2] = x2; a[l + 3] = x3;
+        a[l + 4] = x4;
+    }
+
+    private static void sort6(int[] a, int l) {
+        int x0 = a[l], x1 = a[l + 1], x2 = a[l + 2], x3 = a[l + 3];
+        int x4 = a[l + 4], x5 = a[l + 5];
+        int t;
+        t = Math.min(x0, x5); x5 = Math.max(x0, x5); x0 = t;
+        t = Math.min(x1, x3); x3 = Math.max(x1, x3); x1 = t;
+        t = Math.min(x2, x4); x4 = Math.max(x2, x4); x2 = t;
+
+        t = Math.min(x1, x2); x2 = Math.max(x1, x2); x1 = t;
+        t = Math.min(x3, x4); x4 = Math.max(x3, x4); x3 = t;
+
+        t = Math.min(x0, x3); x3 = Math.max(x0, x3); x0 = t;
+        t = Math.min(x2, x5); x5 = Math.max(x2, x5); x2 = t;
+
+        t = Math.min(x0, x1); x1 = Math.max(x0, x1); x0 = t;
+        t = Math.min(x2, x3); x3 = Math.max(x2, x3); x2 = t;
+        t = Math.min(x4, x5); x5 = Math.max(x4, x5); x4 = t;
+
+        t = Math.min(x1, x2); x2 = Math.max(x1, x2); x1 = t;
+        t = Math.min(x3, x4); x4 = Math.max(x3, x4); x3 = t;
+        a[l] = x0; a[l + 1] = x1; a[l + 2] = x2; a[l + 3] = x3;
+        a[l + 4] = x4; a[l + 5] = x5;
+    }
+
+    private static void sort7(int[] a, int l) {
+        int x0 = a[l], x1 = a[l + 1], x2 = a[l + 2], x3 = a[l + 3];
+        int x4 = a[l + 4], x5 = a[l + 5], x6 = a[l + 6];
+        int t;
+        t = Math.min(x0, x6); x6 = Math.max(x0, x6); x0 = t;
+        t = Math.min(x2, x3); x3 = Math.max(x2, x3); x2 = t;
+        t = Math.min(x4, x5); x5 = Math.max(x4, x5); x4 = t;
+
+        t = Math.min(x0, x2); x2 = Math.max(x0, x2); x0 = t;
+        t = Math.min(x1, x4); x4 = Math.max(x1, x4); x1 = t;
+        t = Math.min(x3, x6); x6 = Math.max(x3, x6); x3 = t;
+
+        t = Math.min(x0, x1); x1 = Math.max(x0, x1); x0 = t;
+        t = Math.min(x2, x5); x5 = Math.max(x2, x5); x2 = t;
+        t = Math.min(x3, x4); x4 = Math.max(x3, x4); x3 = t;
+
+        t = Math.min(x1, x2); x2 = Math.max(x1, x2); x1 = t;
+        t = Math.min(x4, x6); x6 = Math.max(x4, x6); x4 = t;
+
+        t = Math.min(x2, x3); x3 = Math.max(x2, x3); x2 = t;
+        t = Math.min(x4, x5); x5 = Math.max(x4, x5); x4 = t;
+
+        t = Math.min(x1, x2); x2 = Math.max(x1, x2); x1 = t;
+        t = Math.min(x3, x4); x4 = Math.max(x3, x4); x3 = t;
+        t = Math.min(x5, x6); x6 = Math.max(x5, x6); x5 = t;
+        a[l] = x0; a[l + 1] = x1; a[l + 2] = x2; a[l + 3] = x3;
+        a[l + 4] = x4; a[l + 5] = x5; a[l + 6] = x6;
+    }
+
+    private static void sort8(int[] a, int l) {
+        int x0 = a[l], x1 = a[l + 1], x2 = a[l + 2], x3 = a[l + 3];
+        int x4 = a[l + 4], x5 = a[l + 5], x6 = a[l + 6], x7 = a[l + 7];
+        int t;
+        t = Math.min(x0, x2); x2 = Math.max(x0, x2); x0 = t;
+        t = Math.min(x1, x3); x3 = Math.max(x1, x3); x1 = t;
+        t = Math.min(x4, x6); x6 = Math.max(x4, x6); x4 = t;
+        t = Math.min(x5, x7); x7 = Math.max(x5, x7); x5 = t;
+
+        t = Math.min(x0, x4); x4 = Math.max(x0, x4); x0 = t;
+        t = Math.min(x1, x5); x5 = Math.max(x1, x5); x1 = t;
+        t = Math.min(x2, x6); x6 = Math.max(x2, x6); x2 = t;
+        t = Math.min(x3, x7); x7 = Math.max(x3, x7); x3 = t;
+
+        t = Math.min(x0, x1); x1 = Math.max(x0, x1); x0 = t;
+        t = Math.min(x2, x3); x3 = Math.max(x2, x3); x2 = t;
+        t = Math.min(x4, x5); x5 = Math.max(x4, x5); x4 = t;
+        t = Math.min(x6, x7); x7 = Math.max(x6, x7); x6 = t;
+
+        t = Math.min(x2, x4); x4 = Math.max(x2, x4); x2 = t;
+        t = Math.min(x3, x5); x5 = Math.max(x3, x5); x3 = t;
+
+        t = Math.min(x1, x4); x4 = Math.max(x1, x4); x1 = t;
+        t = Math.min(x3, x6); x6 = Math.max(x3, x6); x3 = t;
+
+        t = Math.min(x1, x2); x2 = Math.max(x1, x2); x1 = t;
+        t = Math.min(x3, x4); x4 = Math.max(x3, x4); x3 = t;
+        t = Math.min(x5, x6); x6 = Math.max(x5, x6); x5 = t;
+        a[l] = x0; a[l + 1] = x1; a[l + 2] = x2; a[l + 3] = x3;
+        a[l + 4] = x4; a[l + 5] = x5; a[l + 6] = x6; a[l + 7] = x7;
+    }
+
+    private static void sort9(int[] a, int l) {
+        int x0 = a[l], x1 = a[l + 1], x2 = a[l + 2], x3 = a[l + 3];
+        int x4 = a[l + 4], x5 = a[l + 5], x6 = a[l + 6], x7 = a[l + 7];
+        int x8 = a[l + 8];
+        int t;
+        t = Math.min(x0, x3); x3 = Math.max(x0, x3); x0 = t;
+        t = Math.min(x1, x7); x7 = Math.max(x1, x7); x1 = t;
+        t = Math.min(x2, x5); x5 = Math.max(x2, x5); x2 = t;
+        t = Math.min(x4, x8); x8 = Math.max(x4, x8); x4 = t;
+
+        t = Math.min(x0, x7); x7 = Math.max(x0, x7); x0 = t;
+        t = Math.min(x2, x4); x4 = Math.max(x2, x4); x2 = t;
+        t = Math.min(x3, x8); x8 = Math.max(x3, x8); x3 = t;
+        t = Math.min(x5, x6); x6 = Math.max(x5, x6); x5 = t;
+
+        t = Math.min(x0, x2); x2 = Math.max(x0, x2); x0 = t;
+        t = Math.min(x1, x3); x3 = Math.max(x1, x3); x1 = t;
+        t = Math.min(x4, x5); x5 = Math.max(x4, x5); x4 = t;
+        t = Math.min(x7, x8); x8 = Math.max(x7, x8); x7 = t;
+
+        t = Math.min(x1, x4); x4 = Math.max(x1, x4); x1 = t;
+        t = Math.min(x3, x6); x6 = Math.max(x3, x6); x3 = t;
+        t = Math.min(x5, x7); x7 = Math.max(x5, x7); x5 = t;
+
+        t = Math.min(x0, x1); x1 = Math.max(x0, x1); x0 = t;
+        t = Math.min(x2, x4); x4 = Math.max(x2, x4); x2 = t;
+        t = Math.min(x3, x5); x5 = Math.max(x3, x5); x3 = t;
+        t = Math.min(x6, x8); x8 = Math.max(x6, x8); x6 = t;
+
+        t = Math.min(x2, x3); x3 = Math.max(x2, x3); x2 = t;
+        t = Math.min(x4, x5); x5 = Math.max(x4, x5); x4 = t;
+        t = Math.min(x6, x7); x7 = Math.max(x6, x7); x6 = t;
+
+        t = Math.min(x1, x2); x2 = Math.max(x1, x2); x1 = t;
+        t = Math.min(x3, x4); x4 = Math.max(x3, x4); x3 = t;
+        t = Math.min(x5, x6); x6 = Math.max(x5, x6); x5 = t;
+        a[l] = x0; a[l + 1] = x1; a[l + 2] = x2; a[l + 3] = x3;
+        a[l + 4] = x4; a[l + 5] = x5; a[l + 6] = x6; a[l + 7] = x7;
+        a[l + 8] = x8;
+    }
+
+    private static void sort10(int[] a, int l) {
+        int x0 = a[l], x1 = a[l + 1], x2 = a[l + 2], x3 = a[l + 3];
+        int x4 = a[l + 4], x5 = a[l + 5], x6 = a[l + 6], x7 = a[l + 7];
+        int x8 = a[l + 8], x9 = a[l + 9];
+        int t;
+        t = Math.min(x0, x1); x1 = Math.max(x0, x1); x0 = t;
+        t = Math.min(x2, x3); x3 = Math.max(x2, x3); x2 = t;
+        t = Math.min(x4, x5); x5 = Math.max(x4, x5); x4 = t;
+        t = Math.min(x6, x7); x7 = Math.max(x6, x7); x6 = t;
+        t = Math.min(x8, x9); x9 = Math.max(x8, x9); x8 = t;
+
+        t = Math.min(x0, x2); x2 = Math.max(x0, x2); x0 = t;
+        t = Math.min(x1, x3); x3 = Math.max(x1, x3); x1 = t;
+        t = Math.min(x4, x6); x6 = Math.max(x4, x6); x4 = t;
+        t = Math.min(x5, x7); x7 = Math.max(x5, x7); x5 = t;
+
+        t = Math.min(x1, x2); x2 = Math.max(x1, x2); x1 = t;
+        t = Math.min(x5, x6); x6 = Math.max(x5, x6); x5 = t;
+
+        t = Math.min(x0, x4); x4 = Math.max(x0, x4); x0 = t;
+        t = Math.min(x1, x5); x5 = Math.max(x1, x5); x1 = t;
+        t = Math.min(x2, x6); x6 = Math.max(x2, x6); x2 = t;
+        t = Math.min(x3, x7); x7 = Math.max(x3, x7); x3 = t;
+
+        t = Math.min(x2, x4); x4 = Math.max(x2, x4); x2 = t;
+        t = Math.min(x3, x5); x5 = Math.max(x3, x5); x3 = t;
+
+        t = Math.min(x1, x2); x2 = Math.max(x1, x2); x1 = t;
+        t = Math.min(x3, x4); x4 = Math.max(x3, x4); x3 = t;
+        t = Math.min(x5, x6); x6 = Math.max(x5, x6); x5 = t;
+
+        t = Math.min(x0, x8); x8 = Math.max(x0, x8); x0 = t;
+        t = Math.min(x1, x9); x9 = Math.max(x1, x9); x1 = t;
+
+        t = Math.min(x4, x8); x8 = Math.max(x4, x8); x4 = t;
+        t = Math.min(x5, x9); x9 = Math.max(x5, x9); x5 = t;
+
+        t = Math.min(x2, x4); x4 = Math.max(x2, x4); x2 = t;
+        t = Math.min(x3, x5); x5 = Math.max(x3, x5); x3 = t;
+        t = Math.min(x6, x8); x8 = Math.max(x6, x8); x6 = t;
+        t = Math.min(x7, x9); x9 = Math.max(x7, x9); x7 = t;
+
+        t = Math.min(x1, x2); x2 = Math.max(x1, x2); x1 = t;
+        t = Math.min(x3, x4); x4 = Math.max(x3, x4); x3 = t;
+        t = Math.min(x5, x6); x6 = Math.max(x5, x6); x5 = t;
+        t = Math.min(x7, x8); x8 = Math.max(x7, x8); x7 = t;
+        a[l] = x0; a[l + 1] = x1; a[l + 2] = x2; a[l + 3] = x3;
+        a[l + 4] = x4; a[l + 5] = x5; a[l + 6] = x6; a[l + 7] = x7;
+        a[l + 8] = x8; a[l + 9] = x9;
+    }
+
+    private static void sort11(int[] a, int l) {
+        int x0 = a[l], x1 = a[l + 1], x2 = a[l + 2], x3 = a[l + 3];
+        int x4 = a[l + 4], x5 = a[l + 5], x6 = a[l + 6], x7 = a[l + 7];
+        int x8 = a[l + 8], x9 = a[l + 9], x10 = a[l + 10];
+        int t;
+        t = Math.min(x0, x1); x1 = Math.max(x0, x1); x0 = t;
+        t = Math.min(x2, x3); x3 = Math.max(x2, x3); x2 = t;
+        t = Math.min(x4, x5); x5 = Math.max(x4, x5); x4 = t;
+        t = Math.min(x6, x7); x7 = Math.max(x6, x7); x6 = t;
+        t = Math.min(x8, x9); x9 = Math.max(x8, x9); x8 = t;
+
+        t = Math.min(x0, x2); x2 = Math.max(x0, x2); x0 = t;
+        t = Math.min(x1, x3); x3 = Math.max(x1, x3); x1 = t;
+        t = Math.min(x4, x6); x6 = Math.max(x4, x6); x4 = t;
+        t = Math.min(x5, x7); x7 = Math.max(x5, x7); x5 = t;
+        t = Math.min(x8, x10); x10 = Math.max(x8, x10); x8 = t;
+
+        t = Math.min(x1, x2); x2 = Math.max(x1, x2); x1 = t;
+        t = Math.min(x5, x6); x6 = Math.max(x5, x6); x5 = t;
+        t = Math.min(x9, x10); x10 = Math.max(x9, x10); x9 = t;
+
+        t = Math.min(x0, x4); x4 = Math.max(x0, x4); x0 = t;
+        t = Math.min(x1, x5); x5 = Math.max(x1, x5); x1 = t;
+        t = Math.min(x2, x6); x6 = Math.max(x2, x6); x2 = t;
+        t = Math.min(x3, x7); x7 = Math.max(x3, x7); x3 = t;
+
+        t = Math.min(x2, x4); x4 = Math.max(x2, x4); x2 = t;
+        t = Math.min(x3, x5); x5 = Math.max(x3, x5); x3 = t;
+
+        t = Math.min(x1, x2); x2 = Math.max(x1, x2); x1 = t;
+        t = Math.min(x3, x4); x4 = Math.max(x3, x4); x3 = t;
+        t = Math.min(x5, x6); x6 = Math.max(x5, x6); x5 = t;
+        t = Math.min(x9, x10); x10 = Math.max(x9, x10); x9 = t;
+
+        t = Math.min(x0, x8); x8 = Math.max(x0, x8); x0 = t;
+        t = Math.min(x1, x9); x9 = Math.max(x1, x9); x1 = t;
+        t = Math.min(x2, x10); x10 = Math.max(x2, x10); x2 = t;
+
+        t = Math.min(x4, x8); x8 = Math.max(x4, x8); x4 = t;
+        t = Math.min(x5, x9); x9 = Math.max(x5, x9); x5 = t;
+        t = Math.min(x6, x10); x10 = Math.max(x6, x10); x6 = t;
+
+        t = Math.min(x2, x4); x4 = Math.max(x2, x4); x2 = t;
+        t = Math.min(x3, x5); x5 = Math.max(x3, x5); x3 = t;
+        t = Math.min(x6, x8); x8 = Math.max(x6, x8); x6 = t;
+        t = Math.min(x7, x9); x9 = Math.max(x7, x9); x7 = t;
+
+        t = Math.min(x1, x2); x2 = Math.max(x1, x2); x1 = t;
+        t = Math.min(x3, x4); x4 = Math.max(x3, x4); x3 = t;
+        t = Math.min(x5, x6); x6 = Math.max(x5, x6); x5 = t;
+        t = Math.min(x7, x8); x8 = Math.max(x7, x8); x7 = t;
+        t = Math.min(x9, x10); x10 = Math.max(x9, x10); x9 = t;
+        a[l] = x0; a[l + 1] = x1; a[l + 2] = x2; a[l + 3] = x3;
+        a[l + 4] = x4; a[l + 5] = x5; a[l + 6] = x6; a[l + 7] = x7;
+        a[l + 8] = x8; a[l + 9] = x9; a[l + 10] = x10;
+    }
+
+    private static void sort12(int[] a, int l) {
+        int x0 = a[l], x1 = a[l + 1], x2 = a[l + 2], x3 = a[l + 3];
+        int x4 = a[l + 4], x5 = a[l + 5], x6 = a[l + 6], x7 = a[l + 7];
+        int x8 = a[l + 8], x9 = a[l + 9], x10 = a[l + 10], x11 = a[l + 11];
+        int t;
+        t = Math.min(x0, x1); x1 = Math.max(x0, x1); x0 = t;
+        t = Math.min(x2, x3); x3 = Math.max(x2, x3); x2 = t;
+        t = Math.min(x4, x5); x5 = Math.max(x4, x5); x4 = t;
+        t = Math.min(x6, x7); x7 = Math.max(x6, x7); x6 = t;
+        t = Math.min(x8, x9); x9 = Math.max(x8, x9); x8 = t;
+        t = Math.min(x10, x11); x11 = Math.max(x10, x11); x10 = t;
+
+        t = Math.min(x0, x2); x2 = Math.max(x0, x2); x0 = t;
+        t = Math.min(x1, x3); x3 = Math.max(x1, x3); x1 = t;
+        t = Math.min(x4, x6); x6 = Math.max(x4, x6); x4 = t;
+        t = Math.min(x5, x7); x7 = Math.max(x5, x7); x5 = t;
+        t = Math.min(x8, x10); x10 = Math.max(x8, x10); x8 = t;
+        t = Math.min(x9, x11); x11 = Math.max(x9, x11); x9 = t;
+
+        t = Math.min(x1, x2); x2 = Math.max(x1, x2); x1 = t;
+        t = Math.min(x5, x6); x6 = Math.max(x5, x6); x5 = t;
+        t = Math.min(x9, x10); x10 = Math.max(x9, x10); x9 = t;
+
+        t = Math.min(x0, x4); x4 = Math.max(x0, x4); x0 = t;
+        t = Math.min(x1, x5); x5 = Math.max(x1, x5); x1 = t;
+        t = Math.min(x2, x6); x6 = Math.max(x2, x6); x2 = t;
+        t = Math.min(x3, x7); x7 = Math.max(x3, x7); x3 = t;
+
+        t = Math.min(x2, x4); x4 = Math.max(x2, x4); x2 = t;
+        t = Math.min(x3, x5); x5 = Math.max(x3, x5); x3 = t;
+
+        t = Math.min(x1, x2); x2 = Math.max(x1, x2); x1 = t;
+        t = Math.min(x3, x4); x4 = Math.max(x3, x4); x3 = t;
+        t = Math.min(x5, x6); x6 = Math.max(x5, x6); x5 = t;
+        t = Math.min(x9, x10); x10 = Math.max(x9, x10); x9 = t;
+
+        t = Math.min(x0, x8); x8 = Math.max(x0, x8); x0 = t;
+        t = Math.min(x1, x9); x9 = Math.max(x1, x9); x1 = t;
+        t = Math.min(x2, x10); x10 = Math.max(x2, x10); x2 = t;
+        t = Math.min(x3, x11); x11 = Math.max(x3, x11); x3 = t;
+
+        t = Math.min(x4, x8); x8 = Math.max(x4, x8); x4 = t;
+        t = Math.min(x5, x9); x9 = Math.max(x5, x9); x5 = t;
+        t = Math.min(x6, x10); x10 = Math.max(x6, x10); x6 = t;
+        t = Math.min(x7, x11); x11 = Math.max(x7, x11); x7 = t;
+
+        t = Math.min(x2, x4); x4 = Math.max(x2, x4); x2 = t;
+        t = Math.min(x3, x5); x5 = Math.max(x3, x5); x3 = t;
+        t = Math.min(x6, x8); x8 = Math.max(x6, x8); x6 = t;
+        t = Math.min(x7, x9); x9 = Math.max(x7, x9); x7 = t;
+
+        t = Math.min(x1, x2); x2 = Math.max(x1, x2); x1 = t;
+        t = Math.min(x3, x4); x4 = Math.max(x3, x4); x3 = t;
+        t = Math.min(x5, x6); x6 = Math.max(x5, x6); x5 = t;
+        t = Math.min(x7, x8); x8 = Math.max(x7, x8); x7 = t;
+        t = Math.min(x9, x10); x10 = Math.max(x9, x10); x9 = t;
+        a[l] = x0; a[l + 1] = x1; a[l + 2] = x2; a[l + 3] = x3;
+        a[l + 4] = x4; a[l + 5] = x5; a[l + 6] = x6; a[l + 7] = x7;
+        a[l + 8] = x8; a[l + 9] = x9; a[l + 10] = x10; a[l + 11] = x11;
+    }
+
+    private static void sort13(int[] a, int l) {
+        int x0 = a[l], x1 = a[l + 1], x2 = a[l + 2], x3 = a[l + 3];
+        int x4 = a[l + 4], x5 = a[l + 5], x6 = a[l + 6], x7 = a[l + 7];
+        int x8 = a[l + 8], x9 = a[l + 9], x10 = a[l + 10], x11 = a[l + 11];
+        int x12 = a[l + 12];
+        int t;
+        t = Math.min(x0, x1); x1 = Math.max(x0, x1); x0 = t;
+        t = Math.min(x2, x3); x3 = Math.max(x2, x3); x2 = t;
+        t = Math.min(x4, x5); x5 = Math.max(x4, x5); x4 = t;
+        t = Math.min(x6, x7); x7 = Math.max(x6, x7); x6 = t;
+        t = Math.min(x8, x9); x9 = Math.max(x8, x9); x8 = t;
+        t = Math.min(x10, x11); x11 = Math.max(x10, x11); x10 = t;
+
+        t = Math.min(x0, x2); x2 = Math.max(x0, x2); x0 = t;
+        t = Math.min(x1, x3); x3 = Math.max(x1, x3); x1 = t;
+        t = Math.min(x4, x6); x6 = Math.max(x4, x6); x4 = t;
+        t = Math.min(x5, x7); x7 = Math.max(x5, x7); x5 = t;
+        t = Math.min(x8, x10); x10 = Math.max(x8, x10); x8 = t;
+        t = Math.min(x9, x11); x11 = Math.max(x9, x11); x9 = t;
+
+        t = Math.min(x1, x2); x2 = Math.max(x1, x2); x1 = t;
+        t = Math.min(x5, x6); x6 = Math.max(x5, x6); x5 = t;
+        t = Math.min(x9, x10); x10 = Math.max(x9, x10); x9 = t;
+
+        t = Math.min(x0, x4); x4 = Math.max(x0, x4); x0 = t;
+        t = Math.min(x1, x5); x5 = Math.max(x1, x5); x1 = t;
+        t = Math.min(x2, x6); x6 = Math.max(x2, x6); x2 = t;
+        t = Math.min(x3, x7); x7 = Math.max(x3, x7); x3 = t;
+        t = Math.min(x8, x12); x12 = Math.max(x8, x12); x8 = t;
+
+        t = Math.min(x2, x4); x4 = Math.max(x2, x4); x2 = t;
+        t = Math.min(x3, x5); x5 = Math.max(x3, x5); x3 = t;
+        t = Math.min(x10, x12); x12 = Math.max(x10, x12); x10 = t;
+
+        t = Math.min(x1, x2); x2 = Math.max(x1, x2); x1 = t;
+        t = Math.min(x3, x4); x4 = Math.max(x3, x4); x3 = t;
+        t = Math.min(x5, x6); x6 = Math.max(x5, x6); x5 = t;
+        t = Math.min(x9, x10); x10 = Math.max(x9, x10); x9 = t;
+        t = Math.min(x11, x12); x12 = Math.max(x11, x12); x11 = t;
+
+        t = Math.min(x0, x8); x8 = Math.max(x0, x8); x0 = t;
+        t = Math.min(x1, x9); x9 = Math.max(x1, x9); x1 = t;
+        t = Math.min(x2, x10); x10 = Math.max(x2, x10); x2 = t;
+        t = Math.min(x3, x11); x11 = Math.max(x3, x11); x3 = t;
+        t = Math.min(x4, x12); x12 = Math.max(x4, x12); x4 = t;
+
+        t = Math.min(x4, x8); x8 = Math.max(x4, x8); x4 = t;
+        t = Math.min(x5, x9); x9 = Math.max(x5, x9); x5 = t;
+        t = Math.min(x6, x10); x10 = Math.max(x6, x10); x6 = t;
+        t = Math.min(x7, x11); x11 = Math.max(x7, x11); x7 = t;
+
+        t = Math.min(x2, x4); x4 = Math.max(x2, x4); x2 = t;
+        t = Math.min(x3, x5); x5 = Math.max(x3, x5); x3 = t;
+        t = Math.min(x6, x8); x8 = Math.max(x6, x8); x6 = t;
+        t = Math.min(x7, x9); x9 = Math.max(x7, x9); x7 = t;
+        t = Math.min(x10, x12); x12 = Math.max(x10, x12); x10 = t;
+
+        t = Math.min(x1, x2); x2 = Math.max(x1, x2); x1 = t;
+        t = Math.min(x3, x4); x4 = Math.max(x3, x4); x3 = t;
+        t = Math.min(x5, x6); x6 = Math.max(x5, x6); x5 = t;
+        t = Math.min(x7, x8); x8 = Math.max(x7, x8); x7 = t;
+        t = Math.min(x9, x10); x10 = Math.max(x9, x10); x9 = t;
+        t = Math.min(x11, x12); x12 = Math.max(x11, x12); x11 = t;
+        a[l] = x0; a[l + 1] = x1; a[l + 2] = x2; a[l + 3] = x3;
+        a[l + 4] = x4; a[l + 5] = x5; a[l + 6] = x6; a[l + 7] = x7;
+        a[l + 8] = x8; a[l + 9] = x9; a[l + 10] = x10; a[l + 11] = x11;
+        a[l + 12] = x12;
+    }
+
+    private static void sort14(int[] a, int l) {
+        int x0 = a[l], x1 = a[l + 1], x2 = a[l + 2], x3 = a[l + 3];
+        int x4 = a[l + 4], x5 = a[l + 5], x6 = a[l + 6], x7 = a[l + 7];
+        int x8 = a[l + 8], x9 = a[l + 9], x10 = a[l + 10], x11 = a[l + 11];
+        int x12 = a[l + 12], x13 = a[l + 13];
+        int t;
+        t = Math.min(x0, x1); x1 = Math.max(x0, x1); x0 = t;
+        t = Math.min(x2, x3); x3 = Math.max(x2, x3); x2 = t;
+        t = Math.min(x4, x5); x5 = Math.max(x4, x5); x4 = t;
+        t = Math.min(x6, x7); x7 = Math.max(x6, x7); x6 = t;
+        t = Math.min(x8, x9); x9 = Math.max(x8, x9); x8 = t;
+        t = Math.min(x10, x11); x11 = Math.max(x10, x11); x10 = t;
+        t = Math.min(x12, x13); x13 = Math.max(x12, x13); x12 = t;
+
+        t = Math.min(x0, x2); x2 = Math.max(x0, x2); x0 = t;
+        t = Math.min(x1, x3); x3 = Math.max(x1, x3); x1 = t;
+        t = Math.min(x4, x6); x6 = Math.max(x4, x6); x4 = t;
+        t = Math.min(x5, x7); x7 = Math.max(x5, x7); x5 = t;
+        t = Math.min(x8, x10); x10 = Math.max(x8, x10); x8 = t;
+        t = Math.min(x9, x11); x11 = Math.max(x9, x11); x9 = t;
+
+        t = Math.min(x1, x2); x2 = Math.max(x1, x2); x1 = t;
+        t = Math.min(x5, x6); x6 = Math.max(x5, x6); x5 = t;
+        t = Math.min(x9, x10); x10 = Math.max(x9, x10); x9 = t;
+
+        t = Math.min(x0, x4); x4 = Math.max(x0, x4); x0 = t;
+        t = Math.min(x1, x5); x5 = Math.max(x1, x5); x1 = t;
+        t = Math.min(x2, x6); x6 = Math.max(x2, x6); x2 = t;
+        t = Math.min(x3, x7); x7 = Math.max(x3, x7); x3 = t;
+        t = Math.min(x8, x12); x12 = Math.max(x8, x12); x8 = t;
+        t = Math.min(x9, x13); x13 = Math.max(x9, x13); x9 = t;
+
+        t = Math.min(x2, x4); x4 = Math.max(x2, x4); x2 = t;
+        t = Math.min(x3, x5); x5 = Math.max(x3, x5); x3 = t;
+        t = Math.min(x10, x12); x12 = Math.max(x10, x12); x10 = t;
+        t = Math.min(x11, x13); x13 = Math.max(x11, x13); x11 = t;
+
+        t = Math.min(x1, x2); x2 = Math.max(x1, x2); x1 = t;
+        t = Math.min(x3, x4); x4 = Math.max(x3, x4); x3 = t;
+        t = Math.min(x5, x6); x6 = Math.max(x5, x6); x5 = t;
+        t = Math.min(x9, x10); x10 = Math.max(x9, x10); x9 = t;
+        t = Math.min(x11, x12); x12 = Math.max(x11, x12); x11 = t;
+
+        t = Math.min(x0, x8); x8 = Math.max(x0, x8); x0 = t;
+        t = Math.min(x1, x9); x9 = Math.max(x1, x9); x1 = t;
+        t = Math.min(x2, x10); x10 = Math.max(x2, x10); x2 = t;
+        t = Math.min(x3, x11); x11 = Math.max(x3, x11); x3 = t;
+        t = Math.min(x4, x12); x12 = Math.max(x4, x12); x4 = t;
+        t = Math.min(x5, x13); x13 = Math.max(x5, x13); x5 = t;
+
+        t = Math.min(x4, x8); x8 = Math.max(x4, x8); x4 = t;
+        t = Math.min(x5, x9); x9 = Math.max(x5, x9); x5 = t;
+        t = Math.min(x6, x10); x10 = Math.max(x6, x10); x6 = t;
+        t = Math.min(x7, x11); x11 = Math.max(x7, x11); x7 = t;
+
+        t = Math.min(x2, x4); x4 = Math.max(x2, x4); x2 = t;
+        t = Math.min(x3, x5); x5 = Math.max(x3, x5); x3 = t;
+        t = Math.min(x6, x8); x8 = Math.max(x6, x8); x6 = t;
+        t = Math.min(x7, x9); x9 = Math.max(x7, x9); x7 = t;
+        t = Math.min(x10, x12); x12 = Math.max(x10, x12); x10 = t;
+        t = Math.min(x11, x13); x13 = Math.max(x11, x13); x11 = t;
+
+        t = Math.min(x1, x2); x2 = Math.max(x1, x2); x1 = t;
+        t = Math.min(x3, x4); x4 = Math.max(x3, x4); x3 = t;
+        t = Math.min(x5, x6); x6 = Math.max(x5, x6); x5 = t;
+        t = Math.min(x7, x8); x8 = Math.max(x7, x8); x7 = t;
+        t = Math.min(x9, x10); x10 = Math.max(x9, x10); x9 = t;
+        t = Math.min(x11, x12); x12 = Math.max(x11, x12); x11 = t;
+        a[l] = x0; a[l + 1] = x1; a[l + 2] = x2; a[l + 3] = x3;
+        a[l + 4] = x4; a[l + 5] = x5; a[l + 6] = x6; a[l + 7] = x7;
+        a[l + 8] = x8; a[l + 9] = x9; a[l + 10] = x10; a[l + 11] = x11;
+        a[l + 12] = x12; a[l + 13] = x13;
+    }
+
+    private static void sort15(int[] a, int l) {
+        int x0 = a[l], x1 = a[l + 1], x2 = a[l + 2], x3 = a[l + 3];
+        int x4 = a[l + 4], x5 = a[l + 5], x6 = a[l + 6], x7 = a[l + 7];
+        int x8 = a[l + 8], x9 = a[l + 9], x10 = a[l + 10], x11 = a[l + 11];
+        int x12 = a[l + 12], x13 = a[l + 13], x14 = a[l + 14];
+        int t;
+        t = Math.min(x0, x1); x1 = Math.max(x0, x1); x0 = t;
+        t = Math.min(x2, x3); x3 = Math.max(x2, x3); x2 = t;
+        t = Math.min(x4, x5); x5 = Math.max(x4, x5); x4 = t;
+        t = Math.min(x6, x7); x7 = Math.max(x6, x7); x6 = t;
+        t = Math.min(x8, x9); x9 = Math.max(x8, x9); x8 = t;
+        t = Math.min(x10, x11); x11 = Math.max(x10, x11); x10 = t;
+        t = Math.min(x12, x13); x13 = Math.max(x12, x13); x12 = t;
+
+        t = Math.min(x0, x2); x2 = Math.max(x0, x2); x0 = t;
+        t = Math.min(x1, x3); x3 = Math.max(x1, x3); x1 = t;
+        t = Math.min(x4, x6); x6 = Math.max(x4, x6); x4 = t;
+        t = Math.min(x5, x7); x7 = Math.max(x5, x7); x5 = t;
+        t = Math.min(x8, x10); x10 = Math.max(x8, x10); x8 = t;
+        t = Math.min(x9, x11); x11 = Math.max(x9, x11); x9 = t;
+        t = Math.min(x12, x14); x14 = Math.max(x12, x14); x12 = t;
+
+        t = Math.min(x1, x2); x2 = Math.max(x1, x2); x1 = t;
+        t = Math.min(x5, x6); x6 = Math.max(x5, x6); x5 = t;
+        t = Math.min(x9, x10); x10 = Math.max(x9, x10); x9 = t;
+        t = Math.min(x13, x14); x14 = Math.max(x13, x14); x13 = t;
+
+        t = Math.min(x0, x4); x4 = Math.max(x0, x4); x0 = t;
+        t = Math.min(x1, x5); x5 = Math.max(x1, x5); x1 = t;
+        t = Math.min(x2, x6); x6 = Math.max(x2, x6); x2 = t;
+        t = Math.min(x3, x7); x7 = Math.max(x3, x7); x3 = t;
+        t = Math.min(x8, x12); x12 = Math.max(x8, x12); x8 = t;
+        t = Math.min(x9, x13); x13 = Math.max(x9, x13); x9 = t;
+        t = Math.min(x10, x14); x14 = Math.max(x10, x14); x10 = t;
+
+        t = Math.min(x2, x4); x4 = Math.max(x2, x4); x2 = t;
+        t = Math.min(x3, x5); x5 = Math.max(x3, x5); x3 = t;
+        t = Math.min(x10, x12); x12 = Math.max(x10, x12); x10 = t;
+        t = Math.min(x11, x13); x13 = Math.max(x11, x13); x11 = t;
+
+        t = Math.min(x1, x2); x2 = Math.max(x1, x2); x1 = t;
+        t = Math.min(x3, x4); x4 = Math.max(x3, x4); x3 = t;
+        t = Math.min(x5, x6); x6 = Math.max(x5, x6); x5 = t;
+        t = Math.min(x9, x10); x10 = Math.max(x9, x10); x9 = t;
+        t = Math.min(x11, x12); x12 = Math.max(x11, x12); x11 = t;
+        t = Math.min(x13, x14); x14 = Math.max(x13, x14); x13 = t;
+
+        t = Math.min(x0, x8); x8 = Math.max(x0, x8); x0 = t;
+        t = Math.min(x1, x9); x9 = Math.max(x1, x9); x1 = t;
+        t = Math.min(x2, x10); x10 = Math.max(x2, x10); x2 = t;
+        t = Math.min(x3, x11); x11 = Math.max(x3, x11); x3 = t;
+        t = Math.min(x4, x12); x12 = Math.max(x4, x12); x4 = t;
+        t = Math.min(x5, x13); x13 = Math.max(x5, x13); x5 = t;
+        t = Math.min(x6, x14); x14 = Math.max(x6, x14); x6 = t;
+
+        t = Math.min(x4, x8); x8 = Math.max(x4, x8); x4 = t;
+        t = Math.min(x5, x9); x9 = Math.max(x5, x9); x5 = t;
+        t = Math.min(x6, x10); x10 = Math.max(x6, x10); x6 = t;
+        t = Math.min(x7, x11); x11 = Math.max(x7, x11); x7 = t;
+
+        t = Math.min(x2, x4); x4 = Math.max(x2, x4); x2 = t;
+        t = Math.min(x3, x5); x5 = Math.max(x3, x5); x3 = t;
+        t = Math.min(x6, x8); x8 = Math.max(x6, x8); x6 = t;
+        t = Math.min(x7, x9); x9 = Math.max(x7, x9); x7 = t;
+        t = Math.min(x10, x12); x12 = Math.max(x10, x12); x10 = t;
+        t = Math.min(x11, x13); x13 = Math.max(x11, x13); x11 = t;
+
+        t = Math.min(x1, x2); x2 = Math.max(x1, x2); x1 = t;
+        t = Math.min(x3, x4); x4 = Math.max(x3, x4); x3 = t;
+        t = Math.min(x5, x6); x6 = Math.max(x5, x6); x5 = t;
+        t = Math.min(x7, x8); x8 = Math.max(x7, x8); x7 = t;
+        t = Math.min(x9, x10); x10 = Math.max(x9, x10); x9 = t;
+        t = Math.min(x11, x12); x12 = Math.max(x11, x12); x11 = t;
+        t = Math.min(x13, x14); x14 = Math.max(x13, x14); x13 = t;
+        a[l] = x0; a[l + 1] = x1; a[l + 2] = x2; a[l + 3] = x3;
+        a[l + 4] = x4; a[l + 5] = x5; a[l + 6] = x6; a[l + 7] = x7;
+        a[l + 8] = x8; a[l + 9] = x9; a[l + 10] = x10; a[l + 11] = x11;
+        a[l + 12] = x12; a[l + 13] = x13; a[l + 14] = x14;
+    }
+
+    private static void sort16(int[] a, int l) {
+        int x0 = a[l], x1 = a[l + 1], x2 = a[l + 2], x3 = a[l + 3];
+        int x4 = a[l + 4], x5 = a[l + 5], x6 = a[l + 6], x7 = a[l + 7];
+        int x8 = a[l + 8], x9 = a[l + 9], x10 = a[l + 10], x11 = a[l + 11];
+        int x12 = a[l + 12], x13 = a[l + 13], x14 = a[l + 14], x15 = a[l + 15];
+        int t;
+        t = Math.min(x0, x1); x1 = Math.max(x0, x1); x0 = t;
+        t = Math.min(x2, x3); x3 = Math.max(x2, x3); x2 = t;
+        t = Math.min(x4, x5); x5 = Math.max(x4, x5); x4 = t;
+        t = Math.min(x6, x7); x7 = Math.max(x6, x7); x6 = t;
+        t = Math.min(x8, x9); x9 = Math.max(x8, x9); x8 = t;
+        t = Math.min(x10, x11); x11 = Math.max(x10, x11); x10 = t;
+        t = Math.min(x12, x13); x13 = Math.max(x12, x13); x12 = t;
+        t = Math.min(x14, x15); x15 = Math.max(x14, x15); x14 = t;
+
+        t = Math.min(x0, x2); x2 = Math.max(x0, x2); x0 = t;
+        t = Math.min(x1, x3); x3 = Math.max(x1, x3); x1 = t;
+        t = Math.min(x4, x6); x6 = Math.max(x4, x6); x4 = t;
+        t = Math.min(x5, x7); x7 = Math.max(x5, x7); x5 = t;
+        t = Math.min(x8, x10); x10 = Math.max(x8, x10); x8 = t;
+        t = Math.min(x9, x11); x11 = Math.max(x9, x11); x9 = t;
+        t = Math.min(x12, x14); x14 = Math.max(x12, x14); x12 = t;
+        t = Math.min(x13, x15); x15 = Math.max(x13, x15); x13 = t;
+
+        t = Math.min(x1, x2); x2 = Math.max(x1, x2); x1 = t;
+        t = Math.min(x5, x6); x6 = Math.max(x5, x6); x5 = t;
+        t = Math.min(x9, x10); x10 = Math.max(x9, x10); x9 = t;
+        t = Math.min(x13, x14); x14 = Math.max(x13, x14); x13 = t;
+
+        t = Math.min(x0, x4); x4 = Math.max(x0, x4); x0 = t;
+        t = Math.min(x1, x5); x5 = Math.max(x1, x5); x1 = t;
+        t = Math.min(x2, x6); x6 = Math.max(x2, x6); x2 = t;
+        t = Math.min(x3, x7); x7 = Math.max(x3, x7); x3 = t;
+        t = Math.min(x8, x12); x12 = Math.max(x8, x12); x8 = t;
+        t = Math.min(x9, x13); x13 = Math.max(x9, x13); x9 = t;
+        t = Math.min(x10, x14); x14 = Math.max(x10, x14); x10 = t;
+        t = Math.min(x11, x15); x15 = Math.max(x11, x15); x11 = t;
+
+        t = Math.min(x2, x4); x4 = Math.max(x2, x4); x2 = t;
+        t = Math.min(x3, x5); x5 = Math.max(x3, x5); x3 = t;
+        t = Math.min(x10, x12); x12 = Math.max(x10, x12); x10 = t;
+        t = Math.min(x11, x13); x13 = Math.max(x11, x13); x11 = t;
+
+        t = Math.min(x1, x2); x2 = Math.max(x1, x2); x1 = t;
+        t = Math.min(x3, x4); x4 = Math.max(x3, x4); x3 = t;
+        t = Math.min(x5, x6); x6 = Math.max(x5, x6); x5 = t;
+        t = Math.min(x9, x10); x10 = Math.max(x9, x10); x9 = t;
+        t = Math.min(x11, x12); x12 = Math.max(x11, x12); x11 = t;
+        t = Math.min(x13, x14); x14 = Math.max(x13, x14); x13 = t;
+
+        t = Math.min(x0, x8); x8 = Math.max(x0, x8); x0 = t;
+        t = Math.min(x1, x9); x9 = Math.max(x1, x9); x1 = t;
+        t = Math.min(x2, x10); x10 = Math.max(x2, x10); x2 = t;
+        t = Math.min(x3, x11); x11 = Math.max(x3, x11); x3 = t;
+        t = Math.min(x4, x12); x12 = Math.max(x4, x12); x4 = t;
+        t = Math.min(x5, x13); x13 = Math.max(x5, x13); x5 = t;
+        t = Math.min(x6, x14); x14 = Math.max(x6, x14); x6 = t;
+        t = Math.min(x7, x15); x15 = Math.max(x7, x15); x7 = t;
+
+        t = Math.min(x4, x8); x8 = Math.max(x4, x8); x4 = t;
+        t = Math.min(x5, x9); x9 = Math.max(x5, x9); x5 = t;
+        t = Math.min(x6, x10); x10 = Math.max(x6, x10); x6 = t;
+        t = Math.min(x7, x11); x11 = Math.max(x7, x11); x7 = t;
+
+        t = Math.min(x2, x4); x4 = Math.max(x2, x4); x2 = t;
+        t = Math.min(x3, x5); x5 = Math.max(x3, x5); x3 = t;
+        t = Math.min(x6, x8); x8 = Math.max(x6, x8); x6 = t;
+        t = Math.min(x7, x9); x9 = Math.max(x7, x9); x7 = t;
+        t = Math.min(x10, x12); x12 = Math.max(x10, x12); x10 = t;
+        t = Math.min(x11, x13); x13 = Math.max(x11, x13); x11 = t;
+
+        t = Math.min(x1, x2); x2 = Math.max(x1, x2); x1 = t;
+        t = Math.min(x3, x4); x4 = Math.max(x3, x4); x3 = t;
+        t = Math.min(x5, x6); x6 = Math.max(x5, x6); x5 = t;
+        t = Math.min(x7, x8); x8 = Math.max(x7, x8); x7 = t;
+        t = Math.min(x9, x10); x10 = Math.max(x9, x10); x9 = t;
+        t = Math.min(x11, x12); x12 = Math.max(x11, x12); x11 = t;
+        t = Math.min(x13, x14); x14 = Math.max(x13, x14); x13 = t;
+        a[l] = x0; a[l + 1] = x1; a[l + 2] = x2; a[l + 3] = x3;
+        a[l + 4] = x4; a[l + 5] = x5; a[l + 6] = x6; a[l + 7] = x7;
+        a[l + 8] = x8; a[l + 9] = x9; a[l + 10] = x10; a[l + 11] = x11;
+        a[l + 12] = x12; a[l + 13] = x13; a[l + 14] = x14; a[l + 15] = x15;
+    }
+
+    private static void sort2(long[] a, int l) {
+        long x0 = a[l], x1 = a[l + 1];
+        long t;
+        t = Math.min(x0, x1); x1 = Math.max(x0, x1); x0 = t;
+        a[l] = x0; a[l + 1] = x1;
+    }
+
+    private static void sort3(long[] a, int l) {
+        long x0 = a[l], x1 = a[l + 1], x2 = a[l + 2];
+        long t;
+        t = Math.min(x0, x2); x2 = Math.max(x0, x2); x0 = t;
+
+        t = Math.min(x0, x1); x1 = Math.max(x0, x1); x0 = t;
+
+        t = Math.min(x1, x2); x2 = Math.max(x1, x2); x1 = t;
+        a[l] = x0; a[l + 1] = x1; a[l + 2] = x2;
+    }
+
+    private static void sort4(long[] a, int l) {
+        long x0 = a[l], x1 = a[l + 1], x2 = a[l + 2], x3 = a[l + 3];
+        long t;
+        t = Math.min(x0, x2); x2 = Math.max(x0, x2); x0 = t;
+        t = Math.min(x1, x3); x3 = Math.max(x1, x3); x1 = t;
+
+        t = Math.min(x0, x1); x1 = Math.max(x0, x1); x0 = t;
+        t = Math.min(x2, x3); x3 = Math.max(x2, x3); x2 = t;
+
+        t = Math.min(x1, x2); x2 = Math.max(x1, x2); x1 = t;
+        a[l] = x0; a[l + 1] = x1; a[l + 2] = x2; a[l + 3] = x3;
+    }
+
+    private static void sort5(long[] a, int l) {
+        long x0 = a[l], x1 = a[l + 1], x2 = a[l + 2], x3 = a[l + 3];
+        long x4 = a[l + 4];
+        long t;
+        t = Math.min(x0, x3); x3 = Math.max(x0, x3); x0 = t;
+        t = Math.min(x1, x4); x4 = Math.max(x1, x4); x1 = t;
+
+        t = Math.min(x0, x2); x2 = Math.max(x0, x2); x0 = t;
+        t = Math.min(x1, x3); x3 = Math.max(x1, x3); x1 = t;
+
+        t = Math.min(x0, x1); x1 = Math.max(x0, x1); x0 = t;
+        t = Math.min(x2, x4); x4 = Math.max(x2, x4); x2 = t;
+
+        t = Math.min(x1, x2); x2 = Math.max(x1, x2); x1 = t;
+        t = Math.min(x3, x4); x4 = Math.max(x3, x4); x3 = t;
+
+        t = Math.min(x2, x3); x3 = Math.max(x2, x3); x2 = t;
+        a[l] = x0; a[l + 1] = x1; a[l + 2] = x2; a[l + 3] = x3;
+        a[l + 4] = x4;
+    }
+
+    private static void sort6(long[] a, int l) {
+        long x0 = a[l], x1 = a[l + 1], x2 = a[l + 2], x3 = a[l + 3];
+        long x4 = a[l + 4], x5 = a[l + 5];
+        long t;
+        t = Math.min(x0, x5); x5 = Math.max(x0, x5); x0 = t;
+        t = Math.min(x1, x3); x3 = Math.max(x1, x3); x1 = t;
+        t = Math.min(x2, x4); x4 = Math.max(x2, x4); x2 = t;
+
+        t = Math.min(x1, x2); x2 = Math.max(x1, x2); x1 = t;
+        t = Math.min(x3, x4); x4 = Math.max(x3, x4); x3 = t;
+
+        t = Math.min(x0, x3); x3 = Math.max(x0, x3); x0 = t;
+        t = Math.min(x2, x5); x5 = Math.max(x2, x5); x2 = t;
+
+        t = Math.min(x0, x1); x1 = Math.max(x0, x1); x0 = t;
+        t = Math.min(x2, x3); x3 = Math.max(x2, x3); x2 = t;
+        t = Math.min(x4, x5); x5 = Math.max(x4, x5); x4 = t;
+
+        t = Math.min(x1, x2); x2 = Math.max(x1, x2); x1 = t;
+        t = Math.min(x3, x4); x4 = Math.max(x3, x4); x3 = t;
+        a[l] = x0; a[l + 1] = x1; a[l + 2] = x2; a[l + 3] = x3;
+        a[l + 4] = x4; a[l + 5] = x5;
+    }
+
+    private static void sort7(long[] a, int l) {
+        long x0 = a[l], x1 = a[l + 1], x2 = a[l + 2], x3 = a[l + 3];
+        long x4 = a[l + 4], x5 = a[l + 5], x6 = a[l + 6];
+        long t;
+        t = Math.min(x0, x6); x6 = Math.max(x0, x6); x0 = t;
+        t = Math.min(x2, x3); x3 = Math.max(x2, x3); x2 = t;
+        t = Math.min(x4, x5); x5 = Math.max(x4, x5); x4 = t;
+
+        t = Math.min(x0, x2); x2 = Math.max(x0, x2); x0 = t;
+        t = Math.min(x1, x4); x4 = Math.max(x1, x4); x1 = t;
+        t = Math.min(x3, x6); x6 = Math.max(x3, x6); x3 = t;
+
+        t = Math.min(x0, x1); x1 = Math.max(x0, x1); x0 = t;
+        t = Math.min(x2, x5); x5 = Math.max(x2, x5); x2 = t;
+        t = Math.min(x3, x4); x4 = Math.max(x3, x4); x3 = t;
+
+        t = Math.min(x1, x2); x2 = Math.max(x1, x2); x1 = t;
+        t = Math.min(x4, x6); x6 = Math.max(x4, x6); x4 = t;
+
+        t = Math.min(x2, x3); x3 = Math.max(x2, x3); x2 = t;
+        t = Math.min(x4, x5); x5 = Math.max(x4, x5); x4 = t;
+
+        t = Math.min(x1, x2); x2 = Math.max(x1, x2); x1 = t;
+        t = Math.min(x3, x4); x4 = Math.max(x3, x4); x3 = t;
+        t = Math.min(x5, x6); x6 = Math.max(x5, x6); x5 = t;
+        a[l] = x0; a[l + 1] = x1; a[l + 2] = x2; a[l + 3] = x3;
+        a[l + 4] = x4; a[l + 5] = x5; a[l + 6] = x6;
+    }
+
+    private static void sort8(long[] a, int l) {
+        long x0 = a[l], x1 = a[l + 1], x2 = a[l + 2], x3 = a[l + 3];
+        long x4 = a[l + 4], x5 = a[l + 5], x6 = a[l + 6], x7 = a[l + 7];
+        long t;
+        t = Math.min(x0, x2); x2 = Math.max(x0, x2); x0 = t;
+        t = Math.min(x1, x3); x3 = Math.max(x1, x3); x1 = t;
+        t = Math.min(x4, x6); x6 = Math.max(x4, x6); x4 = t;
+        t = Math.min(x5, x7); x7 = Math.max(x5, x7); x5 = t;
+
+        t = Math.min(x0, x4); x4 = Math.max(x0, x4); x0 = t;
+        t = Math.min(x1, x5); x5 = Math.max(x1, x5); x1 = t;
+        t = Math.min(x2, x6); x6 = Math.max(x2, x6); x2 = t;
+        t = Math.min(x3, x7); x7 = Math.max(x3, x7); x3 = t;
+
+        t = Math.min(x0, x1); x1 = Math.max(x0, x1); x0 = t;
+        t = Math.min(x2, x3); x3 = Math.max(x2, x3); x2 = t;
+        t = Math.min(x4, x5); x5 = Math.max(x4, x5); x4 = t;
+        t = Math.min(x6, x7); x7 = Math.max(x6, x7); x6 = t;
+
+        t = Math.min(x2, x4); x4 = Math.max(x2, x4); x2 = t;
+        t = Math.min(x3, x5); x5 = Math.max(x3, x5); x3 = t;
+
+        t = Math.min(x1, x4); x4 = Math.max(x1, x4); x1 = t;
+        t = Math.min(x3, x6); x6 = Math.max(x3, x6); x3 = t;
+
+        t = Math.min(x1, x2); x2 = Math.max(x1, x2); x1 = t;
+        t = Math.min(x3, x4); x4 = Math.max(x3, x4); x3 = t;
+        t = Math.min(x5, x6); x6 = Math.max(x5, x6); x5 = t;
+        a[l] = x0; a[l + 1] = x1; a[l + 2] = x2; a[l + 3] = x3;
+        a[l + 4] = x4; a[l + 5] = x5; a[l + 6] = x6; a[l + 7] = x7;
+    }
+
+    private static void sort9(long[] a, int l) {
+        long x0 = a[l], x1 = a[l + 1], x2 = a[l + 2], x3 = a[l + 3];
+        long x4 = a[l + 4], x5 = a[l + 5], x6 = a[l + 6], x7 = a[l + 7];
+        long x8 = a[l + 8];
+        long t;
+        t = Math.min(x0, x3); x3 = Math.max(x0, x3); x0 = t;
+        t = Math.min(x1, x7); x7 = Math.max(x1, x7); x1 = t;
+        t = Math.min(x2, x5); x5 = Math.max(x2, x5); x2 = t;
+        t = Math.min(x4, x8); x8 = Math.max(x4, x8); x4 = t;
+
+        t = Math.min(x0, x7); x7 = Math.max(x0, x7); x0 = t;
+        t = Math.min(x2, x4); x4 = Math.max(x2, x4); x2 = t;
+        t = Math.min(x3, x8); x8 = Math.max(x3, x8); x3 = t;
+        t = Math.min(x5, x6); x6 = Math.max(x5, x6); x5 = t;
+
+        t = Math.min(x0, x2); x2 = Math.max(x0, x2); x0 = t;
+        t = Math.min(x1, x3); x3 = Math.max(x1, x3); x1 = t;
+        t = Math.min(x4, x5); x5 = Math.max(x4, x5); x4 = t;
+        t = Math.min(x7, x8); x8 = Math.max(x7, x8); x7 = t;
+
+        t = Math.min(x1, x4); x4 = Math.max(x1, x4); x1 = t;
+        t = Math.min(x3, x6); x6 = Math.max(x3, x6); x3 = t;
+        t = Math.min(x5, x7); x7 = Math.max(x5, x7); x5 = t;
+
+        t = Math.min(x0, x1); x1 = Math.max(x0, x1); x0 = t;
+        t = Math.min(x2, x4); x4 = Math.max(x2, x4); x2 = t;
+        t = Math.min(x3, x5); x5 = Math.max(x3, x5); x3 = t;
+        t = Math.min(x6, x8); x8 = Math.max(x6, x8); x6 = t;
+
+        t = Math.min(x2, x3); x3 = Math.max(x2, x3); x2 = t;
+        t = Math.min(x4, x5); x5 = Math.max(x4, x5); x4 = t;
+        t = Math.min(x6, x7); x7 = Math.max(x6, x7); x6 = t;
+
+        t = Math.min(x1, x2); x2 = Math.max(x1, x2); x1 = t;
+        t = Math.min(x3, x4); x4 = Math.max(x3, x4); x3 = t;
+        t = Math.min(x5, x6); x6 = Math.max(x5, x6); x5 = t;
+        a[l] = x0; a[l + 1] = x1; a[l + 2] = x2; a[l + 3] = x3;
+        a[l + 4] = x4; a[l + 5] = x5; a[l + 6] = x6; a[l + 7] = x7;
+        a[l + 8] = x8;
+    }
+
+    private static void sort10(long[] a, int l) {
+        long x0 = a[l], x1 = a[l + 1], x2 = a[l + 2], x3 = a[l + 3];
+        long x4 = a[l + 4], x5 = a[l + 5], x6 = a[l + 6], x7 = a[l + 7];
+        long x8 = a[l + 8], x9 = a[l + 9];
+        long t;
+        t = Math.min(x0, x1); x1 = Math.max(x0, x1); x0 = t;
+        t = Math.min(x2, x3); x3 = Math.max(x2, x3); x2 = t;
+        t = Math.min(x4, x5); x5 = Math.max(x4, x5); x4 = t;
+        t = Math.min(x6, x7); x7 = Math.max(x6, x7); x6 = t;
+        t = Math.min(x8, x9); x9 = Math.max(x8, x9); x8 = t;
+
+        t = Math.min(x0, x2); x2 = Math.max(x0, x2); x0 = t;
+        t = Math.min(x1, x3); x3 = Math.max(x1, x3); x1 = t;
+        t = Math.min(x4, x6); x6 = Math.max(x4, x6); x4 = t;
+        t = Math.min(x5, x7); x7 = Math.max(x5, x7); x5 = t;
+
+        t = Math.min(x1, x2); x2 = Math.max(x1, x2); x1 = t;
+        t = Math.min(x5, x6); x6 = Math.max(x5, x6); x5 = t;
+
+        t = Math.min(x0, x4); x4 = Math.max(x0, x4); x0 = t;
+        t = Math.min(x1, x5); x5 = Math.max(x1, x5); x1 = t;
+        t = Math.min(x2, x6); x6 = Math.max(x2, x6); x2 = t;
+        t = Math.min(x3, x7); x7 = Math.max(x3, x7); x3 = t;
+
+        t = Math.min(x2, x4); x4 = Math.max(x2, x4); x2 = t;
+        t = Math.min(x3, x5); x5 = Math.max(x3, x5); x3 = t;
+
+        t = Math.min(x1, x2); x2 = Math.max(x1, x2); x1 = t;
+        t = Math.min(x3, x4); x4 = Math.max(x3, x4); x3 = t;
+        t = Math.min(x5, x6); x6 = Math.max(x5, x6); x5 = t;
+
+        t = Math.min(x0, x8); x8 = Math.max(x0, x8); x0 = t;
+        t = Math.min(x1, x9); x9 = Math.max(x1, x9); x1 = t;
+
+        t = Math.min(x4, x8); x8 = Math.max(x4, x8); x4 = t;
+        t = Math.min(x5, x9); x9 = Math.max(x5, x9); x5 = t;
+
+        t = Math.min(x2, x4); x4 = Math.max(x2, x4); x2 = t;
+        t = Math.min(x3, x5); x5 = Math.max(x3, x5); x3 = t;
+        t = Math.min(x6, x8); x8 = Math.max(x6, x8); x6 = t;
+        t = Math.min(x7, x9); x9 = Math.max(x7, x9); x7 = t;
+
+        t = Math.min(x1, x2); x2 = Math.max(x1, x2); x1 = t;
+        t = Math.min(x3, x4); x4 = Math.max(x3, x4); x3 = t;
+        t = Math.min(x5, x6); x6 = Math.max(x5, x6); x5 = t;
+        t = Math.min(x7, x8); x8 = Math.max(x7, x8); x7 = t;
+        a[l] = x0; a[l + 1] = x1; a[l + 2] = x2; a[l + 3] = x3;
+        a[l + 4] = x4; a[l + 5] = x5; a[l + 6] = x6; a[l + 7] = x7;
+        a[l + 8] = x8; a[l + 9] = x9;
+    }
+
+    private static void sort11(long[] a, int l) {
+        long x0 = a[l], x1 = a[l + 1], x2 = a[l + 2], x3 = a[l + 3];
+        long x4 = a[l + 4], x5 = a[l + 5], x6 = a[l + 6], x7 = a[l + 7];
+        long x8 = a[l + 8], x9 = a[l + 9], x10 = a[l + 10];
+        long t;
+        t = Math.min(x0, x1); x1 = Math.max(x0, x1); x0 = t;
+        t = Math.min(x2, x3); x3 = Math.max(x2, x3); x2 = t;
+        t = Math.min(x4, x5); x5 = Math.max(x4, x5); x4 = t;
+        t = Math.min(x6, x7); x7 = Math.max(x6, x7); x6 = t;
+        t = Math.min(x8, x9); x9 = Math.max(x8, x9); x8 = t;
+
+        t = Math.min(x0, x2); x2 = Math.max(x0, x2); x0 = t;
+        t = Math.min(x1, x3); x3 = Math.max(x1, x3); x1 = t;
+        t = Math.min(x4, x6); x6 = Math.max(x4, x6); x4 = t;
+        t = Math.min(x5, x7); x7 = Math.max(x5, x7); x5 = t;
+        t = Math.min(x8, x10); x10 = Math.max(x8, x10); x8 = t;
+
+        t = Math.min(x1, x2); x2 = Math.max(x1, x2); x1 = t;
+        t = Math.min(x5, x6); x6 = Math.max(x5, x6); x5 = t;
+        t = Math.min(x9, x10); x10 = Math.max(x9, x10); x9 = t;
+
+        t = Math.min(x0, x4); x4 = Math.max(x0, x4); x0 = t;
+        t = Math.min(x1, x5); x5 = Math.max(x1, x5); x1 = t;
+        t = Math.min(x2, x6); x6 = Math.max(x2, x6); x2 = t;
+        t = Math.min(x3, x7); x7 = Math.max(x3, x7); x3 = t;
+
+        t = Math.min(x2, x4); x4 = Math.max(x2, x4); x2 = t;
+        t = Math.min(x3, x5); x5 = Math.max(x3, x5); x3 = t;
+
+        t = Math.min(x1, x2); x2 = Math.max(x1, x2); x1 = t;
+        t = Math.min(x3, x4); x4 = Math.max(x3, x4); x3 = t;
+        t = Math.min(x5, x6); x6 = Math.max(x5, x6); x5 = t;
+        t = Math.min(x9, x10); x10 = Math.max(x9, x10); x9 = t;
+
+        t = Math.min(x0, x8); x8 = Math.max(x0, x8); x0 = t;
+        t = Math.min(x1, x9); x9 = Math.max(x1, x9); x1 = t;
+        t = Math.min(x2, x10); x10 = Math.max(x2, x10); x2 = t;
+
+        t = Math.min(x4, x8); x8 = Math.max(x4, x8); x4 = t;
+        t = Math.min(x5, x9); x9 = Math.max(x5, x9); x5 = t;
+        t = Math.min(x6, x10); x10 = Math.max(x6, x10); x6 = t;
+
+        t = Math.min(x2, x4); x4 = Math.max(x2, x4); x2 = t;
+        t = Math.min(x3, x5); x5 = Math.max(x3, x5); x3 = t;
+        t = Math.min(x6, x8); x8 = Math.max(x6, x8); x6 = t;
+        t = Math.min(x7, x9); x9 = Math.max(x7, x9); x7 = t;
+
+        t = Math.min(x1, x2); x2 = Math.max(x1, x2); x1 = t;
+        t = Math.min(x3, x4); x4 = Math.max(x3, x4); x3 = t;
+        t = Math.min(x5, x6); x6 = Math.max(x5, x6); x5 = t;
+        t = Math.min(x7, x8); x8 = Math.max(x7, x8); x7 = t;
+        t = Math.min(x9, x10); x10 = Math.max(x9, x10); x9 = t;
+        a[l] = x0; a[l + 1] = x1; a[l + 2] = x2; a[l + 3] = x3;
+        a[l + 4] = x4; a[l + 5] = x5; a[l + 6] = x6; a[l + 7] = x7;
+        a[l + 8] = x8; a[l + 9] = x9; a[l + 10] = x10;
+    }
+
+    private static void sort12(long[] a, int l) {
+        long x0 = a[l], x1 = a[l + 1], x2 = a[l + 2], x3 = a[l + 3];
+        long x4 = a[l + 4], x5 = a[l + 5], x6 = a[l + 6], x7 = a[l + 7];
+        long x8 = a[l + 8], x9 = a[l + 9], x10 = a[l + 10], x11 = a[l + 11];
+        long t;
+        t = Math.min(x0, x1); x1 = Math.max(x0, x1); x0 = t;
+        t = Math.min(x2, x3); x3 = Math.max(x2, x3); x2 = t;
+        t = Math.min(x4, x5); x5 = Math.max(x4, x5); x4 = t;
+        t = Math.min(x6, x7); x7 = Math.max(x6, x7); x6 = t;
+        t = Math.min(x8, x9); x9 = Math.max(x8, x9); x8 = t;
+        t = Math.min(x10, x11); x11 = Math.max(x10, x11); x10 = t;
+
+        t = Math.min(x0, x2); x2 = Math.max(x0, x2); x0 = t;
+        t = Math.min(x1, x3); x3 = Math.max(x1, x3); x1 = t;
+        t = Math.min(x4, x6); x6 = Math.max(x4, x6); x4 = t;
+        t = Math.min(x5, x7); x7 = Math.max(x5, x7); x5 = t;
+        t = Math.min(x8, x10); x10 = Math.max(x8, x10); x8 = t;
+        t = Math.min(x9, x11); x11 = Math.max(x9, x11); x9 = t;
+
+        t = Math.min(x1, x2); x2 = Math.max(x1, x2); x1 = t;
+        t = Math.min(x5, x6); x6 = Math.max(x5, x6); x5 = t;
+        t = Math.min(x9, x10); x10 = Math.max(x9, x10); x9 = t;
+
+        t = Math.min(x0, x4); x4 = Math.max(x0, x4); x0 = t;
+        t = Math.min(x1, x5); x5 = Math.max(x1, x5); x1 = t;
+        t = Math.min(x2, x6); x6 = Math.max(x2, x6); x2 = t;
+        t = Math.min(x3, x7); x7 = Math.max(x3, x7); x3 = t;
+
+        t = Math.min(x2, x4); x4 = Math.max(x2, x4); x2 = t;
+        t = Math.min(x3, x5); x5 = Math.max(x3, x5); x3 = t;
+
+        t = Math.min(x1, x2); x2 = Math.max(x1, x2); x1 = t;
+        t = Math.min(x3, x4); x4 = Math.max(x3, x4); x3 = t;
+        t = Math.min(x5, x6); x6 = Math.max(x5, x6); x5 = t;
+        t = Math.min(x9, x10); x10 = Math.max(x9, x10); x9 = t;
+
+        t = Math.min(x0, x8); x8 = Math.max(x0, x8); x0 = t;
+        t = Math.min(x1, x9); x9 = Math.max(x1, x9); x1 = t;
+        t = Math.min(x2, x10); x10 = Math.max(x2, x10); x2 = t;
+        t = Math.min(x3, x11); x11 = Math.max(x3, x11); x3 = t;
+
+        t = Math.min(x4, x8); x8 = Math.max(x4, x8); x4 = t;
+        t = Math.min(x5, x9); x9 = Math.max(x5, x9); x5 = t;
+        t = Math.min(x6, x10); x10 = Math.max(x6, x10); x6 = t;
+        t = Math.min(x7, x11); x11 = Math.max(x7, x11); x7 = t;
+
+        t = Math.min(x2, x4); x4 = Math.max(x2, x4); x2 = t;
+        t = Math.min(x3, x5); x5 = Math.max(x3, x5); x3 = t;
+        t = Math.min(x6, x8); x8 = Math.max(x6, x8); x6 = t;
+        t = Math.min(x7, x9); x9 = Math.max(x7, x9); x7 = t;
+
+        t = Math.min(x1, x2); x2 = Math.max(x1, x2); x1 = t;
+        t = Math.min(x3, x4); x4 = Math.max(x3, x4); x3 = t;
+        t = Math.min(x5, x6); x6 = Math.max(x5, x6); x5 = t;
+        t = Math.min(x7, x8); x8 = Math.max(x7, x8); x7 = t;
+        t = Math.min(x9, x10); x10 = Math.max(x9, x10); x9 = t;
+        a[l] = x0; a[l + 1] = x1; a[l + 2] = x2; a[l + 3] = x3;
+        a[l + 4] = x4; a[l + 5] = x5; a[l + 6] = x6; a[l + 7] = x7;
+        a[l + 8] = x8; a[l + 9] = x9; a[l + 10] = x10; a[l + 11] = x11;
+    }
+
+    private static void sort13(long[] a, int l) {
+        long x0 = a[l], x1 = a[l + 1], x2 = a[l + 2], x3 = a[l + 3];
+        long x4 = a[l + 4], x5 = a[l + 5], x6 = a[l + 6], x7 = a[l + 7];
+        long x8 = a[l + 8], x9 = a[l + 9], x10 = a[l + 10], x11 = a[l + 11];
+        long x12 = a[l + 12];
+        long t;
+        t = Math.min(x0, x1); x1 = Math.max(x0, x1); x0 = t;
+        t = Math.min(x2, x3); x3 = Math.max(x2, x3); x2 = t;
+        t = Math.min(x4, x5); x5 = Math.max(x4, x5); x4 = t;
+        t = Math.min(x6, x7); x7 = Math.max(x6, x7); x6 = t;
+        t = Math.min(x8, x9); x9 = Math.max(x8, x9); x8 = t;
+        t = Math.min(x10, x11); x11 = Math.max(x10, x11); x10 = t;
+
+        t = Math.min(x0, x2); x2 = Math.max(x0, x2); x0 = t;
+        t = Math.min(x1, x3); x3 = Math.max(x1, x3); x1 = t;
+        t = Math.min(x4, x6); x6 = Math.max(x4, x6); x4 = t;
+        t = Math.min(x5, x7); x7 = Math.max(x5, x7); x5 = t;
+        t = Math.min(x8, x10); x10 = Math.max(x8, x10); x8 = t;
+        t = Math.min(x9, x11); x11 = Math.max(x9, x11); x9 = t;
+
+        t = Math.min(x1, x2); x2 = Math.max(x1, x2); x1 = t;
+        t = Math.min(x5, x6); x6 = Math.max(x5, x6); x5 = t;
+        t = Math.min(x9, x10); x10 = Math.max(x9, x10); x9 = t;
+
+        t = Math.min(x0, x4); x4 = Math.max(x0, x4); x0 = t;
+        t = Math.min(x1, x5); x5 = Math.max(x1, x5); x1 = t;
+        t = Math.min(x2, x6); x6 = Math.max(x2, x6); x2 = t;
+        t = Math.min(x3, x7); x7 = Math.max(x3, x7); x3 = t;
+        t = Math.min(x8, x12); x12 = Math.max(x8, x12); x8 = t;
+
+        t = Math.min(x2, x4); x4 = Math.max(x2, x4); x2 = t;
+        t = Math.min(x3, x5); x5 = Math.max(x3, x5); x3 = t;
+        t = Math.min(x10, x12); x12 = Math.max(x10, x12); x10 = t;
+
+        t = Math.min(x1, x2); x2 = Math.max(x1, x2); x1 = t;
+        t = Math.min(x3, x4); x4 = Math.max(x3, x4); x3 = t;
+        t = Math.min(x5, x6); x6 = Math.max(x5, x6); x5 = t;
+        t = Math.min(x9, x10); x10 = Math.max(x9, x10); x9 = t;
+        t = Math.min(x11, x12); x12 = Math.max(x11, x12); x11 = t;
+
+        t = Math.min(x0, x8); x8 = Math.max(x0, x8); x0 = t;
+        t = Math.min(x1, x9); x9 = Math.max(x1, x9); x1 = t;
+        t = Math.min(x2, x10); x10 = Math.max(x2, x10); x2 = t;
+        t = Math.min(x3, x11); x11 = Math.max(x3, x11); x3 = t;
+        t = Math.min(x4, x12); x12 = Math.max(x4, x12); x4 = t;
+
+        t = Math.min(x4, x8); x8 = Math.max(x4, x8); x4 = t;
+        t = Math.min(x5, x9); x9 = Math.max(x5, x9); x5 = t;
+        t = Math.min(x6, x10); x10 = Math.max(x6, x10); x6 = t;
+        t = Math.min(x7, x11); x11 = Math.max(x7, x11); x7 = t;
+
+        t = Math.min(x2, x4); x4 = Math.max(x2, x4); x2 = t;
+        t = Math.min(x3, x5); x5 = Math.max(x3, x5); x3 = t;
+        t = Math.min(x6, x8); x8 = Math.max(x6, x8); x6 = t;
+        t = Math.min(x7, x9); x9 = Math.max(x7, x9); x7 = t;
+        t = Math.min(x10, x12); x12 = Math.max(x10, x12); x10 = t;
+
+        t = Math.min(x1, x2); x2 = Math.max(x1, x2); x1 = t;
+        t = Math.min(x3, x4); x4 = Math.max(x3, x4); x3 = t;
+        t = Math.min(x5, x6); x6 = Math.max(x5, x6); x5 = t;
+        t = Math.min(x7, x8); x8 = Math.max(x7, x8); x7 = t;
+        t = Math.min(x9, x10); x10 = Math.max(x9, x10); x9 = t;
+        t = Math.min(x11, x12); x12 = Math.max(x11, x12); x11 = t;
+        a[l] = x0; a[l + 1] = x1; a[l + 2] = x2; a[l + 3] = x3;
+        a[l + 4] = x4; a[l + 5] = x5; a[l + 6] = x6; a[l + 7] = x7;
+        a[l + 8] = x8; a[l + 9] = x9; a[l + 10] = x10; a[l + 11] = x11;
+        a[l + 12] = x12;
+    }
+
+    private static void sort14(long[] a, int l) {
+        long x0 = a[l], x1 = a[l + 1], x2 = a[l + 2], x3 = a[l + 3];
+        long x4 = a[l + 4], x5 = a[l + 5], x6 = a[l + 6], x7 = a[l + 7];
+        long x8 = a[l + 8], x9 = a[l + 9], x10 = a[l + 10], x11 = a[l + 11];
+        long x12 = a[l + 12], x13 = a[l + 13];
+        long t;
+        t = Math.min(x0, x1); x1 = Math.max(x0, x1); x0 = t;
+        t = Math.min(x2, x3); x3 = Math.max(x2, x3); x2 = t;
+        t = Math.min(x4, x5); x5 = Math.max(x4, x5); x4 = t;
+        t = Math.min(x6, x7); x7 = Math.max(x6, x7); x6 = t;
+        t = Math.min(x8, x9); x9 = Math.max(x8, x9); x8 = t;
+        t = Math.min(x10, x11); x11 = Math.max(x10, x11); x10 = t;
+        t = Math.min(x12, x13); x13 = Math.max(x12, x13); x12 = t;
+
+        t = Math.min(x0, x2); x2 = Math.max(x0, x2); x0 = t;
+        t = Math.min(x1, x3); x3 = Math.max(x1, x3); x1 = t;
+        t = Math.min(x4, x6); x6 = Math.max(x4, x6); x4 = t;
+        t = Math.min(x5, x7); x7 = Math.max(x5, x7); x5 = t;
+        t = Math.min(x8, x10); x10 = Math.max(x8, x10); x8 = t;
+        t = Math.min(x9, x11); x11 = Math.max(x9, x11); x9 = t;
+
+        t = Math.min(x1, x2); x2 = Math.max(x1, x2); x1 = t;
+        t = Math.min(x5, x6); x6 = Math.max(x5, x6); x5 = t;
+        t = Math.min(x9, x10); x10 = Math.max(x9, x10); x9 = t;
+
+        t = Math.min(x0, x4); x4 = Math.max(x0, x4); x0 = t;
+        t = Math.min(x1, x5); x5 = Math.max(x1, x5); x1 = t;
+        t = Math.min(x2, x6); x6 = Math.max(x2, x6); x2 = t;
+        t = Math.min(x3, x7); x7 = Math.max(x3, x7); x3 = t;
+        t = Math.min(x8, x12); x12 = Math.max(x8, x12); x8 = t;
+        t = Math.min(x9, x13); x13 = Math.max(x9, x13); x9 = t;
+
+        t = Math.min(x2, x4); x4 = Math.max(x2, x4); x2 = t;
+        t = Math.min(x3, x5); x5 = Math.max(x3, x5); x3 = t;
+        t = Math.min(x10, x12); x12 = Math.max(x10, x12); x10 = t;
+        t = Math.min(x11, x13); x13 = Math.max(x11, x13); x11 = t;
+
+        t = Math.min(x1, x2); x2 = Math.max(x1, x2); x1 = t;
+        t = Math.min(x3, x4); x4 = Math.max(x3, x4); x3 = t;
+        t = Math.min(x5, x6); x6 = Math.max(x5, x6); x5 = t;
+        t = Math.min(x9, x10); x10 = Math.max(x9, x10); x9 = t;
+        t = Math.min(x11, x12); x12 = Math.max(x11, x12); x11 = t;
+
+        t = Math.min(x0, x8); x8 = Math.max(x0, x8); x0 = t;
+        t = Math.min(x1, x9); x9 = Math.max(x1, x9); x1 = t;
+        t = Math.min(x2, x10); x10 = Math.max(x2, x10); x2 = t;
+        t = Math.min(x3, x11); x11 = Math.max(x3, x11); x3 = t;
+        t = Math.min(x4, x12); x12 = Math.max(x4, x12); x4 = t;
+        t = Math.min(x5, x13); x13 = Math.max(x5, x13); x5 = t;
+
+        t = Math.min(x4, x8); x8 = Math.max(x4, x8); x4 = t;
+        t = Math.min(x5, x9); x9 = Math.max(x5, x9); x5 = t;
+        t = Math.min(x6, x10); x10 = Math.max(x6, x10); x6 = t;
+        t = Math.min(x7, x11); x11 = Math.max(x7, x11); x7 = t;
+
+        t = Math.min(x2, x4); x4 = Math.max(x2, x4); x2 = t;
+        t = Math.min(x3, x5); x5 = Math.max(x3, x5); x3 = t;
+        t = Math.min(x6, x8); x8 = Math.max(x6, x8); x6 = t;
+        t = Math.min(x7, x9); x9 = Math.max(x7, x9); x7 = t;
+        t = Math.min(x10, x12); x12 = Math.max(x10, x12); x10 = t;
+        t = Math.min(x11, x13); x13 = Math.max(x11, x13); x11 = t;
+
+        t = Math.min(x1, x2); x2 = Math.max(x1, x2); x1 = t;
+        t = Math.min(x3, x4); x4 = Math.max(x3, x4); x3 = t;
+        t = Math.min(x5, x6); x6 = Math.max(x5, x6); x5 = t;
+        t = Math.min(x7, x8); x8 = Math.max(x7, x8); x7 = t;
+        t = Math.min(x9, x10); x10 = Math.max(x9, x10); x9 = t;
+        t = Math.min(x11, x12); x12 = Math.max(x11, x12); x11 = t;
+        a[l] = x0; a[l + 1] = x1; a[l + 2] = x2; a[l + 3] = x3;
+        a[l + 4] = x4; a[l + 5] = x5; a[l + 6] = x6; a[l + 7] = x7;
+        a[l + 8] = x8; a[l + 9] = x9; a[l + 10] = x10; a[l + 11] = x11;
+        a[l + 12] = x12; a[l + 13] = x13;
+    }
+
+    private static void sort15(long[] a, int l) {
+        long x0 = a[l], x1 = a[l + 1], x2 = a[l + 2], x3 = a[l + 3];
+        long x4 = a[l + 4], x5 = a[l + 5], x6 = a[l + 6], x7 = a[l + 7];
+        long x8 = a[l + 8], x9 = a[l + 9], x10 = a[l + 10], x11 = a[l + 11];
+        long x12 = a[l + 12], x13 = a[l + 13], x14 = a[l + 14];
+        long t;
+        t = Math.min(x0, x1); x1 = Math.max(x0, x1); x0 = t;
+        t = Math.min(x2, x3); x3 = Math.max(x2, x3); x2 = t;
+        t = Math.min(x4, x5); x5 = Math.max(x4, x5); x4 = t;
+        t = Math.min(x6, x7); x7 = Math.max(x6, x7); x6 = t;
+        t = Math.min(x8, x9); x9 = Math.max(x8, x9); x8 = t;
+        t = Math.min(x10, x11); x11 = Math.max(x10, x11); x10 = t;
+        t = Math.min(x12, x13); x13 = Math.max(x12, x13); x12 = t;
+
+        t = Math.min(x0, x2); x2 = Math.max(x0, x2); x0 = t;
+        t = Math.min(x1, x3); x3 = Math.max(x1, x3); x1 = t;
+        t = Math.min(x4, x6); x6 = Math.max(x4, x6); x4 = t;
+        t = Math.min(x5, x7); x7 = Math.max(x5, x7); x5 = t;
+        t = Math.min(x8, x10); x10 = Math.max(x8, x10); x8 = t;
+        t = Math.min(x9, x11); x11 = Math.max(x9, x11); x9 = t;
+        t = Math.min(x12, x14); x14 = Math.max(x12, x14); x12 = t;
+
+        t = Math.min(x1, x2); x2 = Math.max(x1, x2); x1 = t;
+        t = Math.min(x5, x6); x6 = Math.max(x5, x6); x5 = t;
+        t = Math.min(x9, x10); x10 = Math.max(x9, x10); x9 = t;
+        t = Math.min(x13, x14); x14 = Math.max(x13, x14); x13 = t;
+
+        t = Math.min(x0, x4); x4 = Math.max(x0, x4); x0 = t;
+        t = Math.min(x1, x5); x5 = Math.max(x1, x5); x1 = t;
+        t = Math.min(x2, x6); x6 = Math.max(x2, x6); x2 = t;
+        t = Math.min(x3, x7); x7 = Math.max(x3, x7); x3 = t;
+        t = Math.min(x8, x12); x12 = Math.max(x8, x12); x8 = t;
+        t = Math.min(x9, x13); x13 = Math.max(x9, x13); x9 = t;
+        t = Math.min(x10, x14); x14 = Math.max(x10, x14); x10 = t;
+
+        t = Math.min(x2, x4); x4 = Math.max(x2, x4); x2 = t;
+        t = Math.min(x3, x5); x5 = Math.max(x3, x5); x3 = t;
+        t = Math.min(x10, x12); x12 = Math.max(x10, x12); x10 = t;
+        t = Math.min(x11, x13); x13 = Math.max(x11, x13); x11 = t;
+
+        t = Math.min(x1, x2); x2 = Math.max(x1, x2); x1 = t;
+        t = Math.min(x3, x4); x4 = Math.max(x3, x4); x3 = t;
+        t = Math.min(x5, x6); x6 = Math.max(x5, x6); x5 = t;
+        t = Math.min(x9, x10); x10 = Math.max(x9, x10); x9 = t;
+        t = Math.min(x11, x12); x12 = Math.max(x11, x12); x11 = t;
+        t = Math.min(x13, x14); x14 = Math.max(x13, x14); x13 = t;
+
+        t = Math.min(x0, x8); x8 = Math.max(x0, x8); x0 = t;
+        t = Math.min(x1, x9); x9 = Math.max(x1, x9); x1 = t;
+        t = Math.min(x2, x10); x10 = Math.max(x2, x10); x2 = t;
+        t = Math.min(x3, x11); x11 = Math.max(x3, x11); x3 = t;
+        t = Math.min(x4, x12); x12 = Math.max(x4, x12); x4 = t;
+        t = Math.min(x5, x13); x13 = Math.max(x5, x13); x5 = t;
+        t = Math.min(x6, x14); x14 = Math.max(x6, x14); x6 = t;
+
+        t = Math.min(x4, x8); x8 = Math.max(x4, x8); x4 = t;
+        t = Math.min(x5, x9); x9 = Math.max(x5, x9); x5 = t;
+        t = Math.min(x6, x10); x10 = Math.max(x6, x10); x6 = t;
+        t = Math.min(x7, x11); x11 = Math.max(x7, x11); x7 = t;
+
+        t = Math.min(x2, x4); x4 = Math.max(x2, x4); x2 = t;
+        t = Math.min(x3, x5); x5 = Math.max(x3, x5); x3 = t;
+        t = Math.min(x6, x8); x8 = Math.max(x6, x8); x6 = t;
+        t = Math.min(x7, x9); x9 = Math.max(x7, x9); x7 = t;
+        t = Math.min(x10, x12); x12 = Math.max(x10, x12); x10 = t;
+        t = Math.min(x11, x13); x13 = Math.max(x11, x13); x11 = t;
+
+        t = Math.min(x1, x2); x2 = Math.max(x1, x2); x1 = t;
+        t = Math.min(x3, x4); x4 = Math.max(x3, x4); x3 = t;
+        t = Math.min(x5, x6); x6 = Math.max(x5, x6); x5 = t;
+        t = Math.min(x7, x8); x8 = Math.max(x7, x8); x7 = t;
+        t = Math.min(x9, x10); x10 = Math.max(x9, x10); x9 = t;
+        t = Math.min(x11, x12); x12 = Math.max(x11, x12); x11 = t;
+        t = Math.min(x13, x14); x14 = Math.max(x13, x14); x13 = t;
+        a[l] = x0; a[l + 1] = x1; a[l + 2] = x2; a[l + 3] = x3;
+        a[l + 4] = x4; a[l + 5] = x5; a[l + 6] = x6; a[l + 7] = x7;
+        a[l + 8] = x8; a[l + 9] = x9; a[l + 10] = x10; a[l + 11] = x11;
+        a[l + 12] = x12; a[l + 13] = x13; a[l + 14] = x14;
+    }
+
+    private static void sort16(long[] a, int l) {
+        long x0 = a[l], x1 = a[l + 1], x2 = a[l + 2], x3 = a[l + 3];
+        long x4 = a[l + 4], x5 = a[l + 5], x6 = a[l + 6], x7 = a[l + 7];
+        long x8 = a[l + 8], x9 = a[l + 9], x10 = a[l + 10], x11 = a[l + 11];
+        long x12 = a[l + 12], x13 = a[l + 13], x14 = a[l + 14], x15 = a[l + 15];
+        long t;
+        t = Math.min(x0, x1); x1 = Math.max(x0, x1); x0 = t;
+        t = Math.min(x2, x3); x3 = Math.max(x2, x3); x2 = t;
+        t = Math.min(x4, x5); x5 = Math.max(x4, x5); x4 = t;
+        t = Math.min(x6, x7); x7 = Math.max(x6, x7); x6 = t;
+        t = Math.min(x8, x9); x9 = Math.max(x8, x9); x8 = t;
+        t = Math.min(x10, x11); x11 = Math.max(x10, x11); x10 = t;
+        t = Math.min(x12, x13); x13 = Math.max(x12, x13); x12 = t;
+        t = Math.min(x14, x15); x15 = Math.max(x14, x15); x14 = t;
+
+        t = Math.min(x0, x2); x2 = Math.max(x0, x2); x0 = t;
+        t = Math.min(x1, x3); x3 = Math.max(x1, x3); x1 = t;
+        t = Math.min(x4, x6); x6 = Math.max(x4, x6); x4 = t;
+        t = Math.min(x5, x7); x7 = Math.max(x5, x7); x5 = t;
+        t = Math.min(x8, x10); x10 = Math.max(x8, x10); x8 = t;
+        t = Math.min(x9, x11); x11 = Math.max(x9, x11); x9 = t;
+        t = Math.min(x12, x14); x14 = Math.max(x12, x14); x12 = t;
+        t = Math.min(x13, x15); x15 = Math.max(x13, x15); x13 = t;
+
+        t = Math.min(x1, x2); x2 = Math.max(x1, x2); x1 = t;
+        t = Math.min(x5, x6); x6 = Math.max(x5, x6); x5 = t;
+        t = Math.min(x9, x10); x10 = Math.max(x9, x10); x9 = t;
+        t = Math.min(x13, x14); x14 = Math.max(x13, x14); x13 = t;
+
+        t = Math.min(x0, x4); x4 = Math.max(x0, x4); x0 = t;
+        t = Math.min(x1, x5); x5 = Math.max(x1, x5); x1 = t;
+        t = Math.min(x2, x6); x6 = Math.max(x2, x6); x2 = t;
+        t = Math.min(x3, x7); x7 = Math.max(x3, x7); x3 = t;
+        t = Math.min(x8, x12); x12 = Math.max(x8, x12); x8 = t;
+        t = Math.min(x9, x13); x13 = Math.max(x9, x13); x9 = t;
+        t = Math.min(x10, x14); x14 = Math.max(x10, x14); x10 = t;
+        t = Math.min(x11, x15); x15 = Math.max(x11, x15); x11 = t;
+
+        t = Math.min(x2, x4); x4 = Math.max(x2, x4); x2 = t;
+        t = Math.min(x3, x5); x5 = Math.max(x3, x5); x3 = t;
+        t = Math.min(x10, x12); x12 = Math.max(x10, x12); x10 = t;
+        t = Math.min(x11, x13); x13 = Math.max(x11, x13); x11 = t;
+
+        t = Math.min(x1, x2); x2 = Math.max(x1, x2); x1 = t;
+        t = Math.min(x3, x4); x4 = Math.max(x3, x4); x3 = t;
+        t = Math.min(x5, x6); x6 = Math.max(x5, x6); x5 = t;
+        t = Math.min(x9, x10); x10 = Math.max(x9, x10); x9 = t;
+        t = Math.min(x11, x12); x12 = Math.max(x11, x12); x11 = t;
+        t = Math.min(x13, x14); x14 = Math.max(x13, x14); x13 = t;
+
+        t = Math.min(x0, x8); x8 = Math.max(x0, x8); x0 = t;
+        t = Math.min(x1, x9); x9 = Math.max(x1, x9); x1 = t;
+        t = Math.min(x2, x10); x10 = Math.max(x2, x10); x2 = t;
+        t = Math.min(x3, x11); x11 = Math.max(x3, x11); x3 = t;
+        t = Math.min(x4, x12); x12 = Math.max(x4, x12); x4 = t;
+        t = Math.min(x5, x13); x13 = Math.max(x5, x13); x5 = t;
+        t = Math.min(x6, x14); x14 = Math.max(x6, x14); x6 = t;
+        t = Math.min(x7, x15); x15 = Math.max(x7, x15); x7 = t;
+
+        t = Math.min(x4, x8); x8 = Math.max(x4, x8); x4 = t;
+        t = Math.min(x5, x9); x9 = Math.max(x5, x9); x5 = t;
+        t = Math.min(x6, x10); x10 = Math.max(x6, x10); x6 = t;
+        t = Math.min(x7, x11); x11 = Math.max(x7, x11); x7 = t;
+
+        t = Math.min(x2, x4); x4 = Math.max(x2, x4); x2 = t;
+        t = Math.min(x3, x5); x5 = Math.max(x3, x5); x3 = t;
+        t = Math.min(x6, x8); x8 = Math.max(x6, x8); x6 = t;
+        t = Math.min(x7, x9); x9 = Math.max(x7, x9); x7 = t;
+        t = Math.min(x10, x12); x12 = Math.max(x10, x12); x10 = t;
+        t = Math.min(x11, x13); x13 = Math.max(x11, x13); x11 = t;
+
+        t = Math.min(x1, x2); x2 = Math.max(x1, x2); x1 = t;
+        t = Math.min(x3, x4); x4 = Math.max(x3, x4); x3 = t;
+        t = Math.min(x5, x6); x6 = Math.max(x5, x6); x5 = t;
+        t = Math.min(x7, x8); x8 = Math.max(x7, x8); x7 = t;
+        t = Math.min(x9, x10); x10 = Math.max(x9, x10); x9 = t;
+        t = Math.min(x11, x12); x12 = Math.max(x11, x12); x11 = t;
+        t = Math.min(x13, x14); x14 = Math.max(x13, x14); x13 = t;
+        a[l] = x0; a[l + 1] = x1; a[l + 2] = x2; a[l + 3] = x3;
+        a[l + 4] = x4; a[l + 5] = x5; a[l + 6] = x6; a[l + 7] = x7;
+        a[l + 8] = x8; a[l + 9] = x9; a[l + 10] = x10; a[l + 11] = x11;
+        a[l + 12] = x12; a[l + 13] = x13; a[l + 14] = x14; a[l + 15] = x15;
+    }
+
+    public static void main(String[] args) {
+        for (int n = 0; n <= MAX_SIZE; n++) {
+            int[] arr = generateRandomPrimitiveIntArr(n);
+            sort(arr, 0, n - 1);
+            log(arr);
+        }
+
+        // 性能测试：对 100 万个长度为 16 的小数组分别排序
+        int[] arr1 = generateRandomPrimitiveIntArr(16000000);
+        int[] arr2 = arr1.clone();
+        for (int round = 0; round < 3; round++) {
+            int[] a1 = arr1.clone(), a2 = arr2.clone();
+            timeIt(() -> {
+                for (int l = 0; l < a1.length; l += MAX_SIZE)
+                    sort(a1, l, l + MAX_SIZE - 1);
+            });
+            timeIt(() -> {
+                for (int l = 0; l < a2.length; l += MAX_SIZE)
+                    Arrays.sort(a2, l, l + MAX_SIZE);  // 小区间上 Arrays.sort 使用的是插入排序
+            });
+            log(Arrays.equals(a1, a2));
+        }
+    }
+}
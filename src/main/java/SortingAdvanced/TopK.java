@@ -0,0 +1,163 @@
+package SortingAdvanced;
+
+import java.util.*;
+import java.util.stream.Collector;
+import java.util.stream.IntStream;
+
+import static Utils.Helpers.*;
+
+/*
+ * 流式 Top-k（TopK）与部分排序（partialSort）：
+ *
+ * - Exercise_KthSmallestElement_HeapSelect 和 Exercise_KthSmallestElement 的局限：
+ *   1. 输入必须是一个完整的数组，而实际中候选元素往往是一个流（Iterator / Stream），长度未知，也不可能全部放进内存；
+ *   2. 只返回第 k 个元素，而不是前 k 个元素。
+ *
+ * - 思路：与 maxHeapSelect 相同，维护一个大小不超过 k 的堆，堆顶是当前 k 个元素中"最差"的一个：
+ *   - 新元素比堆顶更好时，才将其放入堆中并踢出堆顶；否则只需1次比较就能丢弃。当 n >> k 时，绝大多数元素都在这一步
+ *     被丢弃，因此平均复杂度接近 O(n)，最坏为 O(nlogk)，空间为 O(k)，与输入长度无关。
+ *   - "好坏"由 Comparator 决定：按 comparator 排在前面的元素更好，即保留最小的 k 个元素。若要保留最大的 k 个元素
+ *     （如得分最高的 k 个候选），传入 Comparator.reversed() 即可。
+ *   - result() 返回按 comparator 排好序的 k 个元素，不修改 TopK 本身，因此可以在流的中途查看当前结果。
+ *
+ * - 多线程：TopK 本身不是线程安全的，每个线程使用自己的 TopK，最后用 merge 合并（把另一个 TopK 中的 k 个元素逐个
+ *   offer 进来，O(klogk)）。collector(k, comparator) 将其包装成 Collector，可以直接用于 parallel stream。
+ *
+ * - partialSort(arr, k)：只对数组的前 k 个位置排序（C++ 中的 std::partial_sort），即 arr[0...k-1] 为整个数组中
+ *   最小的 k 个元素且有序，arr[k...n-1] 中的元素顺序不确定：
+ *   1. 将 arr[0...k-1] heapify 成最大堆；
+ *   2. 遍历 arr[k...n-1]，若某元素比堆顶小，则将其与堆顶交换并 siftDown；
+ *   3. 对 arr[0...k-1] 进行原地堆排序（与 HeapSort.sort3 相同）。
+ *   复杂度为 O(nlogk)，原地进行，不需要额外空间。当 k 远小于 n 时，比完整排序 O(nlogn) 快得多。
+ * */
+
+public class TopK<T> {
+    private final int k;
+    private final Comparator<? super T> c;
+    private final PriorityQueue<T> pq;  // 按 comparator 反序的最大堆，堆顶是当前 k 个元素中最差的一个
+
+    public TopK(int k, Comparator<? super T> c) {
+        if (k <= 0)
+            throw new IllegalArgumentException("TopK failed. k should be positive.");
+        this.k = k;
+        this.c = c;
+        this.pq = new PriorityQueue<>(k, c.reversed());
+    }
+
+    public static <T extends Comparable<? super T>> TopK<T> smallest(int k) {
+        return new TopK<>(k, Comparator.naturalOrder());
+    }
+
+    public static <T extends Comparable<? super T>> TopK<T> largest(int k) {
+        return new TopK<>(k, Comparator.reverseOrder());
+    }
+
+    public boolean offer(T e) {  // 返回 e 是否进入了当前的 top-k
+        if (pq.size() < k) {
+            pq.add(e);
+            return true;
+        }
+        if (c.compare(e, pq.peek()) >= 0)  // 不比最差的一个好，直接丢弃（相等时保留先到的元素）
+            return false;
+        pq.poll();
+        pq.add(e);
+        return true;
+    }
+
+    public TopK<T> offerAll(Iterator<? extends T> it) {
+        while (it.hasNext())
+            offer(it.next());
+        return this;
+    }
+
+    public TopK<T> merge(TopK<T> other) {
+        for (T e : other.pq)
+            offer(e);
+        return this;
+    }
+
+    public List<T> result() {
+        List<T> list = new ArrayList<>(pq);
+        list.sort(c);
+        return list;
+    }
+
+    public int getSize() { return pq.size(); }
+
+    public static <T> List<T> select(Iterator<? extends T> it, int k, Comparator<? super T> c) {
+        return new TopK<T>(k, c).offerAll(it).result();
+    }
+
+    public static <T> Collector<T, ?, List<T>> collector(int k, Comparator<? super T> c) {
+        return Collector.of(() -> new TopK<T>(k, c), TopK::offer, TopK::merge, TopK::result);
+    }
+
+    /* ---------------------------------- partialSort ---------------------------------- */
+
+    public static <T extends Comparable<? super T>> void partialSort(T[] arr, int k) {
+        partialSort(arr, k, Comparator.naturalOrder());
+    }
+
+    public static <T> void partialSort(T[] arr, int k, Comparator<? super T> c) {
+        if (k < 0 || k > arr.length)
+            throw new IllegalArgumentException("partialSort failed. k should be in [0, " + arr.length + "].");
+        if (k == 0) return;
+
+        for (int i = (k - 2) / 2; i >= 0; i--)  // 1. 将 arr[0...k-1] heapify 成最大堆
+            siftDown(arr, k, i, c);
+
+        for (int i = k; i < arr.length; i++) {  // 2. 比堆顶小的元素与堆顶交换，最终堆中是最小的 k 个元素
+            if (c.compare(arr[i], arr[0]) < 0) {
+                swap(arr, 0, i);
+                siftDown(arr, k, 0, c);
+            }
+        }
+
+        for (int i = k - 1; i > 0; i--) {       // 3. 原地堆排序
+            swap(arr, 0, i);
+            siftDown(arr, i, 0, c);
+        }
+    }
+
+    private static <T> void siftDown(T[] arr, int n, int k, Comparator<? super T> c) {  // 对 arr[0...n-1] 构成的最大堆进行 siftDown
+        T e = arr[k];
+        while (2 * k + 1 < n) {
+            int i = 2 * k + 1;
+            if (i + 1 < n && c.compare(arr[i + 1], arr[i]) > 0)
+                i++;
+            if (c.compare(e, arr[i]) >= 0)
+                break;
+            arr[k] = arr[i];
+            k = i;
+        }
+        arr[k] = e;
+    }
+
+    public static void main(String[] args) {
+        Integer[] arr = generateRandomIntArr(20);
+        log(arr);
+        partialSort(arr, 5);
+        log(arr);
+
+        TopK<Integer> topK = largest(5);
+        topK.offerAll(Arrays.asList(arr).iterator());
+        log(topK.result());
+
+        // 从 5000 万个候选中选出得分最高的 100 个，候选以流的形式生成，不会全部放进内存。第 i 个候选的得分只取决于 i，
+        // 因此串行和并行处理的是同一组数据，结果应完全相同
+        int n = 50000000, k = 100;
+        Comparator<Double> byScoreDesc = Comparator.reverseOrder();
+        List<List<Double>> results = new ArrayList<>();
+        log("sequential:");
+        timeIt(() -> results.add(IntStream.range(0, n).mapToObj(TopK::score).collect(collector(k, byScoreDesc))));
+        log("parallel:");
+        timeIt(() -> results.add(IntStream.range(0, n).parallel().mapToObj(TopK::score).collect(collector(k, byScoreDesc))));
+        if (!results.get(0).equals(results.get(1)))
+            throw new IllegalStateException("main failed. Sequential and parallel results differ.");
+        log(results.get(0).subList(0, 3));
+    }
+
+    private static double score(int i) {  // [0, 1) 中的伪随机数，与 SplittableRandom 的算法相同（SplitMix64），但由下标直接算出
+        return (PivotStrategies.mix((i + 1) * 0x9E3779B97F4A7C15L) >>> 11) * 0x1.0p-53;
+    }
+}
@@ -0,0 +1,85 @@
+package SortingBasic;
+
+import java.util.Arrays;
+
+import static Utils.Helpers.*;
+
+/*
+ * 希尔排序的步长序列（Gap Sequence）：
+ *
+ * - 希尔排序的复杂度完全取决于步长序列，这里提供几种常用的序列（k 从0开始，序列都以1开始）：
+ *   1. SHELL：n/2, n/4, ..., 1（Shell 1959）。最坏 O(n^2)，因为相邻步长都是偶数时，奇数位置与偶数位置的元素直到最后
+ *      一轮才会相互比较。
+ *   2. KNUTH：(3^(k+1) - 1) / 2 = 1, 4, 13, 40, 121...（Knuth 1973）。最坏 O(n^(3/2))。
+ *   3. SEDGEWICK：1, 8, 23, 77, 281...，即 4^k + 3 * 2^(k-1) + 1（Sedgewick 1982）。最坏 O(n^(4/3))。
+ *   4. CIURA：1, 4, 10, 23, 57, 132, 301, 701, 1750（Ciura 2001，通过实验得到），之后按 h * 2.25 扩展。平均情况下是
+ *      已知最快的序列。
+ *   5. TOKUDA：ceil((9 * 2.25^k - 4) / 5) = 1, 4, 9, 20, 46, 103...（Tokuda 1992）。与 CIURA 接近，可以无限扩展。
+ *
+ * - gaps(n) 返回所有 < n 的步长，从大到小排列（>= n 的步长不会进行任何比较），最后一个一定是1，因此不管用哪种序列，
+ *   最后一轮都是普通的插入排序，保证结果正确。
+ * */
+
+public enum GapSequence {
+    SHELL {
+        @Override
+        long gap(int k, int n) {  // n >> m, n >> (m-1), ..., n >> 1，其中 m = floor(log2(n))
+            int m = 31 - Integer.numberOfLeadingZeros(Math.max(n, 1));
+            return k <= m ? n >> (m - k) : Long.MAX_VALUE;
+        }
+    },
+    KNUTH {
+        @Override
+        long gap(int k, int n) {
+            long h = 1;
+            for (int i = 0; i < k && h < n; i++)
+                h = 3 * h + 1;
+            return h;
+        }
+    },
+    SEDGEWICK {
+        @Override
+        long gap(int k, int n) {
+            if (k == 0) return 1;
+            if (k > 30) return Long.MAX_VALUE;
+            return (1L << (2 * k)) + 3 * (1L << (k - 1)) + 1;
+        }
+    },
+    CIURA {
+        private final int[] base = {1, 4, 10, 23, 57, 132, 301, 701, 1750};
+
+        @Override
+        long gap(int k, int n) {
+            if (k < base.length) return base[k];
+            long h = base[base.length - 1];
+            for (int i = base.length - 1; i < k && h < n; i++)
+                h = (long) (h * 2.25);
+            return h;
+        }
+    },
+    TOKUDA {
+        @Override
+        long gap(int k, int n) {
+            return (long) Math.ceil((9 * Math.pow(2.25, k) - 4) / 5);
+        }
+    };
+
+    abstract long gap(int k, int n);  // 第 k 个（从小到大）步长，n 为数组长度（只有 SHELL 用到）；k 足够大时返回值 >= n
+
+    public int[] gaps(int n) {
+        int count = 0;
+        while (gap(count, n) < n)
+            count++;
+
+        int[] gaps = new int[Math.max(count, 1)];
+        gaps[gaps.length - 1] = 1;  // n <= 1 时也返回 {1}，此时 h-sort 不做任何事情
+        for (int k = 0; k < count; k++)
+            gaps[count - 1 - k] = (int) gap(k, n);
+        return gaps;
+    }
+
+    public static void main(String[] args) {
+        for (GapSequence sequence : values())
+            log(sequence + ": " + Arrays.toString(sequence.gaps(1000000)));
+    }
+}
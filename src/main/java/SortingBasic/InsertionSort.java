@@ -1,6 +1,7 @@
 package SortingBasic;
 
 import SortingAdvanced.*;
+import Utils.SortMetrics;
 
 import static Utils.Helpers.*;
 
@@ -49,6 +50,7 @@ public class InsertionSort {
             for (; j > 0 && arr[j - 1].compareTo(e) > 0; j--)
                 arr[j] = arr[j - 1];  // 在循环结束之前，若前一个元素 > e，则将前一个元素复制到当前位置
             arr[j] = e;               // 若前一个元素 <= e，循环结束，此时找到了 e 应该插入的位置
+            SortMetrics.countAssignments(i - j + 1);  // 后移 i-j 次 + 插入1次
         }
     }
 
@@ -56,9 +58,10 @@ public class InsertionSort {
         for (int i = l; i <= r; i++) {
             T e = arr[i];
             int j = i;
-            for (; j > 0 && arr[j - 1].compareTo(e) > 0; j--)
+            for (; j > l && arr[j - 1].compareTo(e) > 0; j--)  // 注意是 j > l 而不是 j > 0，否则会越过区间左边界，把 arr[0...l-1] 中的元素也卷进来
                 arr[j] = arr[j - 1];
             arr[j] = e;
+            SortMetrics.countAssignments(i - j + 1);
         }
     }
 
@@ -3,6 +3,10 @@ package SortingBasic;
 import SortingAdvanced.MergeSort2;
 import SortingAdvanced.QuickSort2Ways;
 import SortingAdvanced.QuickSort3Ways;
+import Utils.SortMetrics;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 import static Utils.Helpers.*;
 
@@ -47,6 +51,7 @@ import static Utils.Helpers.*;
  *     1, 4, 13, 40, 121...，这样实现的算法复杂度胃 O(n^(3/2))，比 O(n^2) 的算法改进了很多。
  *   - Donald Shell 最初建议步长选择为 n/2 并且对步长取半直到步长达到1。
  *   - 已知的最好步长序列是由 Sedgewick 提出的 1, 5, 19, 41, 109...
+ *   - sort(arr, gapSequence) 可以指定步长序列，几种常用序列的说明见 GapSequence。
  *
  * - 插入排序 vs. 希尔排序：
  *   1. 插入排序是稳定的，希尔排序不是。（稳定性：数组中相同的元素是否会被交换位置）
@@ -56,9 +61,23 @@ import static Utils.Helpers.*;
  *
  * - 希尔排序的复杂度比 O(n^2) 的算法低，虽然不如 O(nlogn) 的算法快，但是性能差距并不大，而且实现比较简单，只使用循环即可，
  *   不需要递归、不占用系统占空间、也不依赖随机数，因此在很多情况下反而是首选的排序算法。
+ *
+ * - 并行版本（sortParallel）：
+ *   - 对于某个步长 h，arr 被分成 h 条互不相交的链：arr[c], arr[c+h], arr[c+2h]...（c = 0...h-1），h-sort 就是分别对
+ *     每条链进行插入排序，各条链之间完全独立，因此可以把 [0, h) 中的链分给不同的线程（HSortTask，按链的范围二分）。
+ *   - 每个线程仍然按"一行一行"的顺序访问（对第 row 行只处理 arr[row+from...row+to)），而不是一条链一条链地处理，
+ *     这样同一线程访问的是连续的一段内存，缓存更友好。
+ *   - 每个任务至少处理 MIN_CHAINS 条相邻的链，否则每一行只访问一两个元素，退化成跨度为 h 的跳跃访问（见 chunkSize）。
+ *     因此步长较大时链多而短，并行效果好；步长 < 2 * MIN_CHAINS 时只能在当前线程中完成（但此时数组已经接近有序，
+ *     这几轮很快）。
+ *   - 与并行归并排序不同，不需要任何 O(n) 的辅助数组，适合内存受限的场景。
  * */
 
 public class ShellSort {
+    private static final int PARALLEL_THRESHOLD = 8192;  // 元素个数小于该值时不并行
+    private static final int TASK_SIZE = 8192;           // 每个任务至少处理的元素个数
+    private static final int MIN_CHAINS = 16;            // 每个任务至少处理的链数（16个 int 或压缩指针正好是一个缓存行）
+
     public static <T extends Comparable<T>> void sort(T[] arr) {
         int h = arr.length / 2;  // h 即为上面说的 gap
         while (h >= 1) {         // h-sort the array
@@ -69,11 +88,135 @@ public class ShellSort {
                 for (; j >= h && e.compareTo(arr[j - h]) < 0 ; j -= h)  // 在比较的过程中每次步进为 h，即只对 arr[i], arr[i-h], arr[i-2*h]... 进行插入排序
                     arr[j] = arr[j - h];
                 arr[j] = e;
+                SortMetrics.countAssignments((i - j) / h + 1);
             }
             h /= 2;
         }
     }
 
+    public static <T extends Comparable<T>> void sort(T[] arr, GapSequence gapSequence) {
+        for (int h : gapSequence.gaps(arr.length))
+            hSort(arr, h, 0, h);
+    }
+
+    public static <T extends Comparable<T>> void sortParallel(T[] arr, GapSequence gapSequence) {
+        sortParallel(arr, gapSequence, ForkJoinPool.commonPool());
+    }
+
+    public static <T extends Comparable<T>> void sortParallel(T[] arr, GapSequence gapSequence, ForkJoinPool pool) {
+        for (int h : gapSequence.gaps(arr.length)) {
+            int chunk = chunkSize(arr.length, h, pool.getParallelism());
+            if (chunk >= h)
+                hSort(arr, h, 0, h);
+            else
+                pool.invoke(new HSortTask<>(arr, h, 0, h, chunk));  // 每轮都要等所有链排完才能进入下一个步长
+        }
+    }
+
+    // 每个任务处理的链数：每个线程分到约4个任务（便于 work-stealing 均衡负载），且每个任务至少处理 TASK_SIZE 个元素、
+    // MIN_CHAINS 条链。链数太少时每一行只访问几个元素，实际上变成了跨度为 h 的跳跃访问，缓存命中率很低
+    private static int chunkSize(int n, int h, int parallelism) {
+        if (n < PARALLEL_THRESHOLD) return h;
+        int byTasks = (h + 4 * parallelism - 1) / (4 * parallelism);
+        int byWork = (int) Math.min(h, (long) TASK_SIZE * h / n + 1);
+        return Math.max(MIN_CHAINS, Math.max(byTasks, byWork));
+    }
+
+    // 对 [from, to) 范围内的链进行 h-sort，即对 c = from...to-1 中的每个 c，对 arr[c], arr[c+h], arr[c+2h]... 进行插入排序
+    private static <T extends Comparable<T>> void hSort(T[] arr, int h, int from, int to) {
+        for (int row = h; row < arr.length; row += h) {
+            for (int i = row + from, end = Math.min(row + to, arr.length); i < end; i++) {
+                T e = arr[i];
+                int j = i;
+                for (; j >= h && e.compareTo(arr[j - h]) < 0; j -= h)
+                    arr[j] = arr[j - h];
+                arr[j] = e;
+                SortMetrics.countAssignments((i - j) / h + 1);
+            }
+        }
+    }
+
+    private static class HSortTask<T extends Comparable<T>> extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final T[] arr;
+        private final int h, from, to, chunk;
+
+        HSortTask(T[] arr, int h, int from, int to, int chunk) {
+            this.arr = arr;
+            this.h = h;
+            this.from = from;
+            this.to = to;
+            this.chunk = chunk;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= chunk) {  // 链数足够少时在当前线程中完成
+                hSort(arr, h, from, to);
+                return;
+            }
+            int mid = (to - from) / 2 + from;
+            invokeAll(new HSortTask<>(arr, h, from, mid, chunk), new HSortTask<>(arr, h, mid, to, chunk));
+        }
+    }
+
+    public static void sort(int[] arr, GapSequence gapSequence) {
+        for (int h : gapSequence.gaps(arr.length))
+            hSort(arr, h, 0, h);
+    }
+
+    public static void sortParallel(int[] arr, GapSequence gapSequence) {
+        sortParallel(arr, gapSequence, ForkJoinPool.commonPool());
+    }
+
+    public static void sortParallel(int[] arr, GapSequence gapSequence, ForkJoinPool pool) {
+        for (int h : gapSequence.gaps(arr.length)) {
+            int chunk = chunkSize(arr.length, h, pool.getParallelism());
+            if (chunk >= h)
+                hSort(arr, h, 0, h);
+            else
+                pool.invoke(new IntHSortTask(arr, h, 0, h, chunk));
+        }
+    }
+
+    private static void hSort(int[] arr, int h, int from, int to) {
+        for (int row = h; row < arr.length; row += h) {
+            for (int i = row + from, end = Math.min(row + to, arr.length); i < end; i++) {
+                int e = arr[i];
+                int j = i;
+                for (; j >= h && e < arr[j - h]; j -= h)
+                    arr[j] = arr[j - h];
+                arr[j] = e;
+            }
+        }
+    }
+
+    private static class IntHSortTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] arr;
+        private final int h, from, to, chunk;
+
+        IntHSortTask(int[] arr, int h, int from, int to, int chunk) {
+            this.arr = arr;
+            this.h = h;
+            this.from = from;
+            this.to = to;
+            this.chunk = chunk;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= chunk) {
+                hSort(arr, h, from, to);
+                return;
+            }
+            int mid = (to - from) / 2 + from;
+            invokeAll(new IntHSortTask(arr, h, from, mid, chunk), new IntHSortTask(arr, h, mid, to, chunk));
+        }
+    }
+
     public static void main(String[] args) {
         Integer[] arr = generateRandomIntArr(10);
         log(arr);
@@ -87,5 +230,20 @@ public class ShellSort {
         timeIt(arr2, InsertionSort::sort2);
         timeIt(arr3, QuickSort3Ways::sort);
         timeIt(arr4, ShellSort::sort);  // 对于随机数据集，希尔排序甚至比三路快排还快
+
+        // 不同步长序列（SHELL 序列在大数组上明显更慢）
+        Integer[] arr5 = generateRandomIntArr(1000000);
+        for (GapSequence sequence : GapSequence.values()) {
+            Integer[] a = arr5.clone();
+            log(sequence);
+            timeIt(() -> sort(a, sequence));
+        }
+
+        // 并行版本
+        int[] arr6 = generateRandomPrimitiveIntArr(10000000);
+        int[] arr7 = arr6.clone();
+        timeIt(() -> sort(arr6, GapSequence.CIURA));
+        timeIt(() -> sortParallel(arr7, GapSequence.CIURA));
+        log(isSorted(arr7));
     }
 }
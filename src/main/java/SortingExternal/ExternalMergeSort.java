@@ -0,0 +1,463 @@
+package SortingExternal;
+
+import MinimumSpanningTree.AuxiliaryDataStructure.MinHeap;
+import SortingAdvanced.MergeSortParallel;
+import SortingSpecialised.RadixSortLSD;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static Utils.Helpers.log;
+import static java.nio.file.StandardOpenOption.*;
+
+/*
+ * 外部归并排序（External Merge Sort）：
+ *
+ * - 问题：以上所有排序算法都要求数据能放进一个 Java 数组（最多约 2^31 个元素，且受堆大小限制），而实际中常常需要对远大于
+ *   内存的文件排序（如在 32GB 的机器上排序 200GB 的文件）。
+ *
+ * - 思路：与 MergeSortBottomUp 相同，只是"子数组"换成了磁盘上的文件：
+ *   1. 生成初始有序段（run）：每次从输入文件中读入内存预算能容纳的一块（chunk），在内存中（并行）排好序后通过
+ *      FileChannel 写到一个临时文件中，得到若干个有序的 run。
+ *      - 先从预算中扣除 I/O 缓冲块（预算的 1/8，见 ioBlockSize），读 chunk 和写 run 共用这一个缓冲块，剩下的才用来
+ *        存放 chunk；
+ *      - long 记录使用 RadixSortLSD.sortParallel（需要与 chunk 等大的辅助数组，因此 chunk 占剩余预算的一半）；
+ *      - 文本行使用 MergeSortParallel（辅助数组中只是引用，因此行本身按剩余预算的一半估算）。
+ *   2. 归并：MergeSortBottomUp 中每一轮把相邻的两个有序段 merge 成一个，对于磁盘上的数据，每一轮都意味着完整地读写一遍
+ *      文件，代价极高。因此改为 k 路归并：用一个最小堆（MinHeap）存放每个 run 的当前元素，每次取出堆顶写到输出中，再用
+ *      该 run 的下一个元素替换堆顶（replace，只需一次 siftDown），时间复杂度 O(Nlogk)。
+ *      - 每个 run 分配一个读缓冲块（内存预算 / (k+1)），按块顺序读取，使磁盘访问都是顺序的大块 I/O。
+ *      - 缓冲块不能小于 MIN_BLOCK_SIZE，因此 k 最多为 预算 / MIN_BLOCK_SIZE - 1（同时打开的文件数也有限，最多为
+ *        MAX_FAN_IN），这样 k 个读缓冲块加上 1 个写缓冲块不会超过预算（见 maxFanIn）。若 run 的个数超过 k，则与
+ *        MergeSortBottomUp 一样分多轮进行：每轮把每 k 个 run 归并成一个，直到剩下的 run 不超过 k 个。
+ *      - 文本行的读写缓冲块中，一半给字符集解码/编码用的字节缓冲，一半给 BufferedReader/BufferedWriter 的字符缓冲
+ *        （每个 char 2 字节），合起来不超过缓冲块的大小。
+ *
+ * - 临时文件：所有 run 都记录在 TempFiles 中，排序结束时无论成功还是中途失败（如磁盘写满）都会全部删除，不会残留在
+ *   tempDir（默认为输出文件所在目录）中；一轮归并中打开的 run 同样记录在 OpenRuns 中，失败时全部关闭。
+ *
+ * - 复杂度：设文件大小为 N，内存预算为 M，则初始 run 的个数为 N/M，归并轮数为 log_k(N/M)（通常只需 1 轮，例如 200GB
+ *   的文件、16GB 的预算只会产生 25 个 run），总 I/O 量约为 2N * (1 + 归并轮数)。
+ *
+ * - 两种记录格式：
+ *   1. sort：二进制文件，每条记录是一个 8 字节的 long（大端序，即 DataOutputStream/ByteBuffer 的默认字节序），
+ *      按有符号 long 的大小排序；
+ *   2. sortLines：UTF-8 文本文件，每行一条记录，按 String.compareTo 排序（输出中每行以 '\n' 结尾）。
+ * */
+
+public class ExternalMergeSort {
+    private static final int MAX_ARRAY_LENGTH = Integer.MAX_VALUE - 8;  // JVM 能分配的最大数组长度
+    private static final int MIN_BLOCK_SIZE = 8 * 1024;                 // 每个 run 的读缓冲块大小范围
+    private static final int MAX_BLOCK_SIZE = 8 * 1024 * 1024;
+    private static final int MAX_FAN_IN = 512;                          // 一轮归并最多同时打开的 run 的个数
+    private static final int LINE_OVERHEAD = 48;                        // 估算一个 String 对象（不含字符）占用的字节数
+
+    public static void sort(Path input, Path output, long memoryBudget) throws IOException {
+        sort(input, output, memoryBudget, output.toAbsolutePath().getParent());
+    }
+
+    public static void sort(Path input, Path output, long memoryBudget, Path tempDir) throws IOException {
+        if (Files.size(input) % Long.BYTES != 0)
+            throw new IllegalArgumentException("sort failed. File size must be a multiple of " + Long.BYTES + " bytes.");
+        checkBudget(memoryBudget);
+        try (TempFiles temp = new TempFiles(tempDir)) {  // 无论成功与否，最后都删除所有的 run
+            List<Path> runs = createLongRuns(input, memoryBudget, temp);
+            mergeRuns(runs, output, memoryBudget, temp, ExternalMergeSort::mergeLongRuns);
+        }
+    }
+
+    public static void sortLines(Path input, Path output, long memoryBudget) throws IOException {
+        sortLines(input, output, memoryBudget, output.toAbsolutePath().getParent());
+    }
+
+    public static void sortLines(Path input, Path output, long memoryBudget, Path tempDir) throws IOException {
+        checkBudget(memoryBudget);
+        try (TempFiles temp = new TempFiles(tempDir)) {
+            List<Path> runs = createLineRuns(input, memoryBudget, temp);
+            mergeRuns(runs, output, memoryBudget, temp, ExternalMergeSort::mergeLineRuns);
+        }
+    }
+
+    private static void checkBudget(long memoryBudget) {
+        if (memoryBudget < 4L * MIN_BLOCK_SIZE)
+            throw new IllegalArgumentException("sort failed. memoryBudget should be at least " + 4 * MIN_BLOCK_SIZE + " bytes.");
+    }
+
+    /* ---------------------------------- 1. 生成初始有序段 ---------------------------------- */
+
+    private static List<Path> createLongRuns(Path input, long memoryBudget, TempFiles temp) throws IOException {
+        long total = Files.size(input) / Long.BYTES;
+        ByteBuffer buffer = ByteBuffer.allocate(ioBlockSize(memoryBudget));  // 读 chunk 和写 run 共用
+        long chunkLength = Math.min((memoryBudget - buffer.capacity()) / (2 * Long.BYTES), MAX_ARRAY_LENGTH);  // chunk + RadixSortLSD 的辅助数组
+        List<Path> runs = new ArrayList<>();
+
+        try (FileChannel in = FileChannel.open(input, READ)) {
+            for (long read = 0; read < total; ) {
+                long[] chunk = new long[(int) Math.min(chunkLength, total - read)];
+                for (int i = 0; i < chunk.length; ) {
+                    buffer.clear().limit((int) Math.min(buffer.capacity(), (long) (chunk.length - i) * Long.BYTES));
+                    readFully(in, buffer);
+                    buffer.flip();
+                    while (buffer.hasRemaining())
+                        chunk[i++] = buffer.getLong();
+                }
+                read += chunk.length;
+
+                RadixSortLSD.sortParallel(chunk);
+
+                Path run = temp.create(".bin");
+                try (LongWriter out = new LongWriter(run, buffer)) {
+                    for (long e : chunk)
+                        out.write(e);
+                }
+                runs.add(run);
+            }
+        }
+        return runs;
+    }
+
+    private static List<Path> createLineRuns(Path input, long memoryBudget, TempFiles temp) throws IOException {
+        int bufferSize = ioBlockSize(memoryBudget);             // 读缓冲和写缓冲各占一半
+        long chunkBudget = (memoryBudget - bufferSize) / 2;    // 行本身 + MergeSortParallel 的辅助数组
+        List<Path> runs = new ArrayList<>();
+
+        try (BufferedReader in = newLineReader(input, bufferSize / 2)) {
+            String line = in.readLine();
+            while (line != null) {
+                List<String> chunk = new ArrayList<>();
+                long used = 0;
+                do {
+                    chunk.add(line);
+                    used += LINE_OVERHEAD + 2L * line.length();
+                    line = in.readLine();
+                } while (line != null && used < chunkBudget && chunk.size() < MAX_ARRAY_LENGTH);
+
+                String[] arr = chunk.toArray(new String[0]);
+                chunk = null;  // 让 GC 可以回收 ArrayList 内部的数组
+                MergeSortParallel.sort(arr);
+
+                Path run = temp.create(".txt");
+                try (BufferedWriter out = newLineWriter(run, bufferSize / 2)) {
+                    for (String s : arr) {
+                        out.write(s);
+                        out.write('\n');
+                    }
+                }
+                runs.add(run);
+            }
+        }
+        return runs;
+    }
+
+    /* ---------------------------------- 2. k 路归并 ---------------------------------- */
+
+    private interface Merger {
+        void merge(List<Path> runs, Path output, int blockSize) throws IOException;
+    }
+
+    // 与 MergeSortBottomUp 相同的多轮归并，只是每轮将每 maxFanIn 个 run 归并成一个，而非每2个
+    private static void mergeRuns(List<Path> runs, Path output, long memoryBudget, TempFiles temp, Merger merger) throws IOException {
+        int fanIn = maxFanIn(memoryBudget);
+        while (runs.size() > fanIn) {
+            List<Path> merged = new ArrayList<>();
+            for (int i = 0; i < runs.size(); i += fanIn) {
+                List<Path> group = runs.subList(i, Math.min(i + fanIn, runs.size()));
+                Path run = temp.create(".tmp");
+                merger.merge(group, run, blockSize(memoryBudget, group.size()));
+                deleteAll(group);
+                merged.add(run);
+            }
+            runs = merged;
+        }
+
+        if (runs.isEmpty())
+            Files.write(output, new byte[0]);
+        else if (runs.size() == 1)
+            Files.move(runs.get(0), output, StandardCopyOption.REPLACE_EXISTING);
+        else {
+            merger.merge(runs, output, blockSize(memoryBudget, runs.size()));
+            deleteAll(runs);
+        }
+    }
+
+    private static void mergeLongRuns(List<Path> runs, Path output, int blockSize) throws IOException {
+        MinHeap<LongRun> heap = new MinHeap<>(runs.size());
+        try (LongWriter out = new LongWriter(output, blockSize);
+             OpenRuns<LongRun> opened = new OpenRuns<>()) {  // 中途失败时关闭所有已经打开的 run
+            for (Path path : runs) {
+                LongRun run = new LongRun(path, blockSize);
+                opened.add(run);
+                if (run.advance()) heap.insert(run);
+                else run.close();
+            }
+
+            while (!heap.isEmpty()) {
+                LongRun run = heap.findMin();
+                out.write(run.current);
+                if (run.advance())
+                    heap.replace(run);  // 堆顶的 run 换了新的 current，只需 siftDown 一次
+                else
+                    heap.extractMin().close();
+            }
+        }
+    }
+
+    private static void mergeLineRuns(List<Path> runs, Path output, int blockSize) throws IOException {
+        MinHeap<LineRun> heap = new MinHeap<>(runs.size());
+        try (BufferedWriter out = newLineWriter(output, blockSize);
+             OpenRuns<LineRun> opened = new OpenRuns<>()) {
+            for (Path path : runs) {
+                LineRun run = new LineRun(path, blockSize);
+                opened.add(run);
+                if (run.advance()) heap.insert(run);
+                else run.close();
+            }
+
+            while (!heap.isEmpty()) {
+                LineRun run = heap.findMin();
+                out.write(run.current);
+                out.write('\n');
+                if (run.advance())
+                    heap.replace(run);
+                else
+                    heap.extractMin().close();
+            }
+        }
+    }
+
+    // 一个 run 的读取游标，按 current 比较大小，作为 MinHeap 中的元素
+    private static class LongRun implements Comparable<LongRun>, Closeable {
+        private final FileChannel channel;
+        private final ByteBuffer buffer;
+        long current;
+
+        LongRun(Path path, int blockSize) throws IOException {
+            buffer = ByteBuffer.allocate(blockSize);  // 先分配缓冲块，避免分配失败时 channel 没有被关闭
+            buffer.flip();  // 初始为空
+            channel = FileChannel.open(path, READ);
+        }
+
+        boolean advance() throws IOException {  // 读入下一个元素，没有更多元素时返回 false
+            if (!buffer.hasRemaining()) {
+                buffer.clear();
+                readFully(channel, buffer);
+                buffer.flip();
+                if (!buffer.hasRemaining()) return false;
+            }
+            current = buffer.getLong();
+            return true;
+        }
+
+        @Override
+        public int compareTo(LongRun other) { return Long.compare(current, other.current); }
+
+        @Override
+        public void close() throws IOException { channel.close(); }
+    }
+
+    private static class LineRun implements Comparable<LineRun>, Closeable {
+        private final BufferedReader reader;
+        String current;
+
+        LineRun(Path path, int blockSize) throws IOException {
+            reader = newLineReader(path, blockSize);
+        }
+
+        boolean advance() throws IOException {
+            current = reader.readLine();
+            return current != null;
+        }
+
+        @Override
+        public int compareTo(LineRun other) { return current.compareTo(other.current); }
+
+        @Override
+        public void close() throws IOException { reader.close(); }
+    }
+
+    // 带缓冲块的 long 写入器，缓冲块写满后一次性通过 FileChannel 写出
+    private static class LongWriter implements Closeable {
+        private final FileChannel channel;
+        private final ByteBuffer buffer;
+
+        LongWriter(Path path, int blockSize) throws IOException {
+            this(path, ByteBuffer.allocate(blockSize));
+        }
+
+        LongWriter(Path path, ByteBuffer buffer) throws IOException {  // 使用调用方的缓冲块（其中原有的内容会被丢弃）
+            this.buffer = buffer;
+            buffer.clear();
+            channel = FileChannel.open(path, WRITE, CREATE, TRUNCATE_EXISTING);
+        }
+
+        void write(long e) throws IOException {
+            if (!buffer.hasRemaining()) flush();
+            buffer.putLong(e);
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining())
+                channel.write(buffer);
+            buffer.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                flush();
+            } finally {
+                channel.close();
+            }
+        }
+    }
+
+    /* ---------------------------------- 辅助方法 ---------------------------------- */
+
+    // k 路归并时 k 个读缓冲 + 1 个写缓冲平分内存预算，结果为 8 的倍数，保证每个缓冲块中都是完整的 long。
+    // k 不超过 maxFanIn 时 memoryBudget / (k+1) >= MIN_BLOCK_SIZE，下限不会使总量超过预算
+    private static int blockSize(long memoryBudget, int k) {
+        long size = memoryBudget / (k + 1);
+        size = Math.max(MIN_BLOCK_SIZE, Math.min(MAX_BLOCK_SIZE, size));
+        return (int) (size / Long.BYTES * Long.BYTES);
+    }
+
+    private static int maxFanIn(long memoryBudget) {  // checkBudget 保证了结果至少为 3
+        return (int) Math.min(MAX_FAN_IN, memoryBudget / MIN_BLOCK_SIZE - 1);
+    }
+
+    private static int ioBlockSize(long memoryBudget) {  // 生成 run 时的 I/O 缓冲块：预算的 1/8，同样在 MIN/MAX_BLOCK_SIZE 之间
+        return blockSize(memoryBudget, 7);
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer) throws IOException {  // 读满 buffer 或读到文件末尾
+        while (buffer.hasRemaining() && channel.read(buffer) >= 0) ;
+    }
+
+    // bufferSize 为字节数，一半给解码用的字节缓冲，一半给 BufferedReader 的字符缓冲（bufferSize / 4 个 char）。
+    // 包装 channel 的过程中失败时（如分配缓冲区时 OOM）要关闭已打开的 channel
+    private static BufferedReader newLineReader(Path path, int bufferSize) throws IOException {
+        FileChannel channel = FileChannel.open(path, READ);
+        try {
+            return new BufferedReader(Channels.newReader(channel, StandardCharsets.UTF_8.newDecoder(), bufferSize / 2), bufferSize / 4);
+        } catch (Throwable e) {
+            closeSuppressed(channel, e);
+            throw e;
+        }
+    }
+
+    private static BufferedWriter newLineWriter(Path path, int bufferSize) throws IOException {
+        FileChannel channel = FileChannel.open(path, WRITE, CREATE, TRUNCATE_EXISTING);
+        try {
+            return new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8.newEncoder(), bufferSize / 2), bufferSize / 4);
+        } catch (Throwable e) {
+            closeSuppressed(channel, e);
+            throw e;
+        }
+    }
+
+    private static void closeSuppressed(Closeable c, Throwable primary) {
+        try {
+            c.close();
+        } catch (IOException e) {
+            primary.addSuppressed(e);
+        }
+    }
+
+    private static void deleteAll(List<Path> paths) throws IOException {
+        for (Path path : paths)
+            Files.deleteIfExists(path);
+    }
+
+    // 一次排序中创建的所有临时文件，close 时全部删除（已经被删除或被 move 为输出文件的会被跳过）
+    private static class TempFiles implements Closeable {
+        private final Path dir;
+        private final List<Path> created = new ArrayList<>();
+
+        TempFiles(Path dir) { this.dir = dir; }
+
+        Path create(String suffix) throws IOException {
+            Path path = Files.createTempFile(dir, "run-", suffix);
+            created.add(path);
+            return path;
+        }
+
+        @Override
+        public void close() throws IOException {
+            IOException failure = null;
+            for (Path path : created) {
+                try {
+                    Files.deleteIfExists(path);
+                } catch (IOException e) {
+                    if (failure == null) failure = e;
+                    else failure.addSuppressed(e);
+                }
+            }
+            if (failure != null) throw failure;
+        }
+    }
+
+    // 一轮归并中已经打开的所有 run，close 时全部关闭（关闭已关闭的 run 没有影响）
+    private static class OpenRuns<R extends Closeable> extends ArrayList<R> implements Closeable {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public void close() throws IOException {
+            IOException failure = null;
+            for (R run : this) {
+                try {
+                    run.close();
+                } catch (IOException e) {
+                    if (failure == null) failure = e;
+                    else failure.addSuppressed(e);
+                }
+            }
+            if (failure != null) throw failure;
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path dir = Files.createTempDirectory("external-sort");
+        Path input = dir.resolve("input.bin");
+        Path output = dir.resolve("output.bin");
+
+        // 生成 1e7 个随机 long（80MB），只给 8MB 内存预算，因此会产生约 20 个 run
+        int n = 10000000;
+        try (LongWriter out = new LongWriter(input, 1 << 20)) {
+            for (int i = 0; i < n; i++)
+                out.write(ThreadLocalRandom.current().nextLong());
+        }
+
+        long start = System.nanoTime();
+        sort(input, output, 8 << 20);
+        log("Time consumed: " + (System.nanoTime() - start) / 1e9);
+
+        // 检查结果是否有序
+        boolean sorted = true;
+        long count = 0;
+        try (LongRun run = new LongRun(output, 1 << 20)) {
+            long prev = Long.MIN_VALUE;
+            for (; run.advance(); count++) {
+                if (run.current < prev) sorted = false;
+                prev = run.current;
+            }
+        }
+        log("sorted: " + sorted + ", count: " + count);
+
+        Files.delete(input);
+        Files.delete(output);
+        Files.delete(dir);
+    }
+}
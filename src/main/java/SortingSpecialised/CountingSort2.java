@@ -1,5 +1,8 @@
 package SortingSpecialised;
 
+import SortingAdvanced.QuickSort2Ways;
+import SortingAdvanced.QuickSort3Ways;
+
 import static Utils.Helpers.log;
 
 /*
@@ -18,6 +21,16 @@ import static Utils.Helpers.log;
  * - 局限性：
  *   CountingSort1 和 CountingSort2 都不是稳定排序（即排序后，等值的两个元素的相对顺序可能会被颠倒），可以进行进一步优化，
  *   SEE: 微信搜索"漫画：什么是计数排序？"。
+ *
+ * - 限制内存的版本 sort(arr, memoryBudget)：
+ *   - countingSort 不管 key 有多稀疏都会分配 max - min + 1 个 bucket，例如 [1, 2, 3, 2000000000] 只有4个元素，却要
+ *     分配 8GB 的 bucket 数组 —— 一个离群值就足以导致 OOM。
+ *   - 因此根据给定的内存预算（字节数）自动在三种策略中选择，并返回所选的策略（Strategy），方便调优：
+ *     1. DENSE：bucket 数组（4 * (max - min + 1) 字节）不超过预算时，就是上面的 countingSort，O(n + k)。
+ *     2. HASHED：key 的取值范围很大但不同的 key 很少时（稀疏），用开放寻址的哈希表统计每个 key 的出现次数（key 和
+ *        count 各一个 int 数组，装载因子不超过 1/2），再只对 d 个不同的 key 排序后依次回填，O(n + dlogd)。
+ *        哈希表扩容后若超出预算，说明不同的 key 太多，放弃这种策略。
+ *     3. COMPARISON：以上两种都放不下时，退回原地的比较排序（QuickSort3Ways，对重复元素友好），只需 O(logn) 的栈空间。
  * */
 
 public class CountingSort2 {
@@ -47,9 +60,106 @@ public class CountingSort2 {
                 arr[i++] = min + n;  // 填充 arr 时把偏移量加回来
     }
 
+    public enum Strategy { DENSE, HASHED, COMPARISON }
+
+    private static final int MAX_ARRAY_LENGTH = Integer.MAX_VALUE - 8;  // JVM 能分配的最大数组长度
+    private static final int MAX_CAPACITY = 1 << 30;                    // 哈希表的最大容量（不超过 MAX_ARRAY_LENGTH 的最大的2的幂）
+
+    public static Strategy sort(int[] arr, long memoryBudget) {  // memoryBudget 为允许辅助空间占用的字节数
+        if (arr.length == 0) return Strategy.DENSE;
+
+        int[] minAndMax = findMinAndMax(arr);
+        long range = (long) minAndMax[1] - minAndMax[0] + 1;  // 用 long 计算，否则 max - min 在 key 跨越整个 int 范围时会溢出
+        if (range <= MAX_ARRAY_LENGTH && range * Integer.BYTES <= memoryBudget) {
+            countingSort(arr, minAndMax);
+            return Strategy.DENSE;
+        }
+
+        if (hashedCountingSort(arr, memoryBudget))
+            return Strategy.HASHED;
+
+        QuickSort3Ways.sort(arr);
+        return Strategy.COMPARISON;
+    }
+
+    // 若不同 key 的个数在预算内则完成排序并返回 true，否则不修改 arr 并返回 false
+    private static boolean hashedCountingSort(int[] arr, long memoryBudget) {
+        int capacity = 16;                 // 哈希表容量始终为2的幂，方便用位运算取模
+        int[] keys = new int[capacity];
+        int[] counts = new int[capacity];  // count 为 0 表示该位置为空
+        int distinct = 0;
+
+        for (int e : arr) {
+            int i = indexFor(e, capacity);
+            while (counts[i] != 0 && keys[i] != e)
+                i = (i + 1) & (capacity - 1);  // 线性探测
+            if (counts[i] == 0) {
+                keys[i] = e;
+                distinct++;
+            }
+            counts[i]++;
+
+            if (distinct > capacity / 2) {  // 装载因子超过 1/2 时扩容
+                if (capacity >= MAX_CAPACITY)  // 再翻倍会超过数组长度上限（int 也会溢出为负数）
+                    return false;
+                capacity *= 2;
+                long cost = 2L * capacity * Integer.BYTES + (long) distinct * Integer.BYTES;  // keys + counts + 回填时的 distinct 数组
+                if (cost > memoryBudget)
+                    return false;
+
+                int[] oldKeys = keys, oldCounts = counts;
+                keys = new int[capacity];
+                counts = new int[capacity];
+                for (int j = 0; j < oldKeys.length; j++) {
+                    if (oldCounts[j] == 0) continue;
+                    int k = indexFor(oldKeys[j], capacity);
+                    while (counts[k] != 0)
+                        k = (k + 1) & (capacity - 1);
+                    keys[k] = oldKeys[j];
+                    counts[k] = oldCounts[j];
+                }
+            }
+        }
+
+        int[] sortedKeys = new int[distinct];  // 只对 d 个不同的 key 进行排序
+        for (int j = 0, d = 0; j < capacity; j++)
+            if (counts[j] != 0)
+                sortedKeys[d++] = keys[j];
+        QuickSort2Ways.sort(sortedKeys);
+
+        int n = 0;
+        for (int key : sortedKeys) {
+            int i = indexFor(key, capacity);
+            while (keys[i] != key || counts[i] == 0)
+                i = (i + 1) & (capacity - 1);
+            for (int j = 0; j < counts[i]; j++)
+                arr[n++] = key;
+        }
+        return true;
+    }
+
+    private static int indexFor(int key, int capacity) {
+        int h = key * 0x9E3779B9;              // 乘法哈希，打散连续的 key
+        return (h ^ (h >>> 16)) & (capacity - 1);  // 把高位混入低位，因为取模只用到低位
+    }
+
     public static void main(String[] args) {
         int[] arr = new int[] {40, 50, 20, 80, 20, 50, 50, 20, 50, 80};
         sort(arr);
         log(arr);
+
+        // 限制内存的版本
+        int[] arr1 = new int[] {40, 50, 20, 80, 20, 50, 50, 20, 50, 80};
+        log(sort(arr1, 1 << 20));  // DENSE
+        log(arr1);
+
+        int[] arr2 = new int[] {3, 2000000000, 1, -2000000000, 3, 1, 2000000000};  // 一个离群值就需要 16GB 的 bucket
+        log(sort(arr2, 1 << 20));  // HASHED
+        log(arr2);
+
+        int[] arr3 = new int[1000000];
+        for (int i = 0; i < arr3.length; i++)
+            arr3[i] = (int) (Math.random() * Integer.MAX_VALUE);
+        log(sort(arr3, 1 << 20));  // COMPARISON（不同的 key 太多，哈希表放不下）
     }
 }
@@ -0,0 +1,261 @@
+package SortingSpecialised;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+import static Utils.Helpers.*;
+
+/*
+ * 低位优先基数排序（LSD Radix Sort）：
+ *
+ * - CountingSort2 的缺陷：
+ *   bucket 数组的大小是 max - min + 1，当元素分布在整个 32 位范围内时，需要 2^32 个 bucket（16GB），根本无法分配；
+ *   对于 64 位的 long 就更不可能了。
+ *
+ * - 基数排序的思路：
+ *   把每个元素看作若干个"数位"（digit）组成的数，从最低位到最高位，每次只按其中一位进行稳定的计数排序。这里每一位取
+ *   1 个字节（8 bit），因此每一趟只需要 256 个 bucket，int 需要 4 趟，long 需要 8 趟。
+ *   - 因为每一趟的计数排序都是稳定的，所以在按第 k 位排序之后，第 k 位相同的元素仍然保持着按第 0...k-1 位排好的顺序，
+ *     最后一趟（最高位）结束后整个数组就有序了。
+ *     例：  170 45 75 90 802 24 2 66   按个位 ->  170 90 802 2 24 45 75 66
+ *                                      按十位 ->  802 2 24 45 66 170 75 90
+ *                                      按百位 ->  2 24 45 66 75 90 170 802
+ *   - 复杂度为 O(w * (n + 256))，w 是趟数（4 或 8），与元素的取值范围无关，即线性复杂度。
+ *   - 需要一个大小为 n 的辅助数组，每趟在 arr 和 aux 之间来回分配（ping-pong），因此不需要每趟都拷贝回去。
+ *
+ * - 负数的处理：
+ *   负数的补码最高位为 1，直接按无符号字节比较会排在所有正数之后。因此在取最高字节时将其符号位翻转（异或 0x80），
+ *   这样负数的最高字节就落在 0x00~0x7F，正数落在 0x80~0xFF，顺序就正确了。
+ *
+ * - double 的处理：
+ *   IEEE 754 的 double 在符号位之外是按"符号-数值"表示的，对于正数，其 bit 模式作为 long 比较的顺序与 double 一致；
+ *   但对于负数，数值越小 bit 模式反而越大。因此对负数把除符号位以外的所有位都翻转一下，得到的 long 就可以直接用上面的
+ *   方法排序了，排序完再翻转回来。这样得到的顺序与 Arrays.sort(double[]) 一致（-0.0 < 0.0，NaN 排在最后）。
+ *
+ * - 两个优化：
+ *   1. 所有趟的 histogram 只需扫描一遍数组就能一次性统计出来（count[pass][byte]）。
+ *   2. 若某一趟中所有元素的该字节都相同（如所有时间戳的最高几个字节往往一样），则这一趟可以直接跳过。
+ *
+ * - 并行 histogram（sortParallel）：
+ *   把数组分成若干段，每段在 common pool 的一个线程中统计自己的 count，最后再把各段的 count 相加。统计 histogram 是
+ *   一次只读的全数组扫描，非常适合并行；而分配（scatter）阶段需要按顺序写入以保持稳定性，仍然是顺序执行的。
+ * */
+
+public class RadixSortLSD {
+    private static final int R = 256;              // 每趟的 bucket 个数，即每个数位取1个字节
+    private static final int PARALLEL_CHUNK = 1 << 16;
+
+    public static void sort(int[] arr) { sort(arr, false); }
+
+    public static void sortParallel(int[] arr) { sort(arr, true); }
+
+    public static void sort(long[] arr) { sort(arr, false); }
+
+    public static void sortParallel(long[] arr) { sort(arr, true); }
+
+    public static void sort(double[] arr) { sort(arr, false); }
+
+    public static void sortParallel(double[] arr) { sort(arr, true); }
+
+    public static void sort(long[] keys, int[] values) { sort(keys, values, false); }
+
+    public static void sortParallel(long[] keys, int[] values) { sort(keys, values, true); }
+
+    private static void sort(int[] arr, boolean parallel) {
+        int n = arr.length;
+        if (n < 2) return;
+
+        int[][] counts = parallel ? parallelHistogram(arr) : histogram(arr, 0, n);
+        int[] src = arr, dst = new int[n];
+
+        for (int pass = 0; pass < 4; pass++) {
+            int[] count = counts[pass];
+            int shift = pass * 8;
+            int flip = pass == 3 ? 0x80 : 0;       // 最高字节翻转符号位
+            if (count[((src[0] >>> shift) & 0xFF) ^ flip] == n)
+                continue;                          // 所有元素的该字节都相同，跳过这一趟
+
+            for (int b = 0, sum = 0; b < R; b++) {  // 将 count 转换为每个 bucket 的起始位置
+                int c = count[b];
+                count[b] = sum;
+                sum += c;
+            }
+            for (int i = 0; i < n; i++) {          // 按顺序分配，保证稳定性
+                int e = src[i];
+                dst[count[((e >>> shift) & 0xFF) ^ flip]++] = e;
+            }
+
+            int[] temp = src;                      // ping-pong：下一趟从 dst 分配回 src
+            src = dst;
+            dst = temp;
+        }
+
+        if (src != arr)  // 若最终结果在辅助数组中则拷贝回 arr
+            System.arraycopy(src, 0, arr, 0, n);
+    }
+
+    private static void sort(long[] arr, boolean parallel) {
+        int n = arr.length;
+        if (n < 2) return;
+
+        int[][] counts = parallel ? parallelHistogram(arr) : histogram(arr, 0, n);
+        long[] src = arr, dst = new long[n];
+
+        for (int pass = 0; pass < 8; pass++) {
+            int[] count = counts[pass];
+            int shift = pass * 8;
+            int flip = pass == 7 ? 0x80 : 0;
+            if (count[((int) (src[0] >>> shift) & 0xFF) ^ flip] == n)
+                continue;
+
+            for (int b = 0, sum = 0; b < R; b++) {
+                int c = count[b];
+                count[b] = sum;
+                sum += c;
+            }
+            for (int i = 0; i < n; i++) {
+                long e = src[i];
+                dst[count[((int) (e >>> shift) & 0xFF) ^ flip]++] = e;
+            }
+
+            long[] temp = src;
+            src = dst;
+            dst = temp;
+        }
+
+        if (src != arr)
+            System.arraycopy(src, 0, arr, 0, n);
+    }
+
+    // 按 keys 排序，values[i] 跟随 keys[i] 一起移动（如 Sorter 中用于排序的原数组下标），由于是稳定排序，key 相同的元素
+    // 保持原来的相对顺序
+    private static void sort(long[] keys, int[] values, boolean parallel) {
+        int n = keys.length;
+        if (n != values.length)
+            throw new IllegalArgumentException("sort failed. keys and values should have the same length.");
+        if (n < 2) return;
+
+        int[][] counts = parallel ? parallelHistogram(keys) : histogram(keys, 0, n);
+        long[] src = keys, dst = new long[n];
+        int[] srcValues = values, dstValues = new int[n];
+
+        for (int pass = 0; pass < 8; pass++) {
+            int[] count = counts[pass];
+            int shift = pass * 8;
+            int flip = pass == 7 ? 0x80 : 0;
+            if (count[((int) (src[0] >>> shift) & 0xFF) ^ flip] == n)
+                continue;
+
+            for (int b = 0, sum = 0; b < R; b++) {
+                int c = count[b];
+                count[b] = sum;
+                sum += c;
+            }
+            for (int i = 0; i < n; i++) {
+                long e = src[i];
+                int j = count[((int) (e >>> shift) & 0xFF) ^ flip]++;
+                dst[j] = e;
+                dstValues[j] = srcValues[i];
+            }
+
+            long[] temp = src;
+            src = dst;
+            dst = temp;
+            int[] tempValues = srcValues;
+            srcValues = dstValues;
+            dstValues = tempValues;
+        }
+
+        if (src != keys) {
+            System.arraycopy(src, 0, keys, 0, n);
+            System.arraycopy(srcValues, 0, values, 0, n);
+        }
+    }
+
+    private static void sort(double[] arr, boolean parallel) {
+        long[] keys = new long[arr.length];
+        for (int i = 0; i < arr.length; i++) {
+            long bits = Double.doubleToLongBits(arr[i]);
+            keys[i] = bits ^ ((bits >> 63) & Long.MAX_VALUE);  // 负数翻转除符号位以外的所有位
+        }
+
+        sort(keys, parallel);
+
+        for (int i = 0; i < arr.length; i++) {
+            long key = keys[i];
+            arr[i] = Double.longBitsToDouble(key ^ ((key >> 63) & Long.MAX_VALUE));  // 同样的操作再做一次即可还原
+        }
+    }
+
+    // 统计 arr[from, to) 中每一趟的 histogram，一次扫描得到所有趟的结果
+    private static int[][] histogram(int[] arr, int from, int to) {
+        int[][] counts = new int[4][R];
+        for (int i = from; i < to; i++) {
+            int e = arr[i];
+            counts[0][e & 0xFF]++;
+            counts[1][(e >>> 8) & 0xFF]++;
+            counts[2][(e >>> 16) & 0xFF]++;
+            counts[3][(e >>> 24) ^ 0x80]++;
+        }
+        return counts;
+    }
+
+    private static int[][] histogram(long[] arr, int from, int to) {
+        int[][] counts = new int[8][R];
+        for (int i = from; i < to; i++) {
+            long e = arr[i];
+            for (int pass = 0; pass < 7; pass++)
+                counts[pass][(int) (e >>> (pass * 8)) & 0xFF]++;
+            counts[7][(int) (e >>> 56) ^ 0x80]++;
+        }
+        return counts;
+    }
+
+    private static int[][] parallelHistogram(int[] arr) {
+        int chunks = (arr.length + PARALLEL_CHUNK - 1) / PARALLEL_CHUNK;
+        return IntStream.range(0, chunks).parallel()
+                .mapToObj(c -> histogram(arr, c * PARALLEL_CHUNK, Math.min(arr.length, (c + 1) * PARALLEL_CHUNK)))
+                .reduce(RadixSortLSD::sumCounts)
+                .get();
+    }
+
+    private static int[][] parallelHistogram(long[] arr) {
+        int chunks = (arr.length + PARALLEL_CHUNK - 1) / PARALLEL_CHUNK;
+        return IntStream.range(0, chunks).parallel()
+                .mapToObj(c -> histogram(arr, c * PARALLEL_CHUNK, Math.min(arr.length, (c + 1) * PARALLEL_CHUNK)))
+                .reduce(RadixSortLSD::sumCounts)
+                .get();
+    }
+
+    private static int[][] sumCounts(int[][] a, int[][] b) {  // 将 b 累加到 a 上
+        for (int pass = 0; pass < a.length; pass++)
+            for (int i = 0; i < R; i++)
+                a[pass][i] += b[pass][i];
+        return a;
+    }
+
+    public static void main(String[] args) {
+        int[] arr1 = new int[] {170, -45, 75, Integer.MIN_VALUE, 90, 802, -24, 2, Integer.MAX_VALUE, 66};
+        sort(arr1);
+        log(arr1);
+
+        long[] arr2 = new long[] {1553056462000L, -1L, 1553056461000L, Long.MIN_VALUE, 0L, 1553056462500L};
+        sort(arr2);
+        log(arr2);
+
+        double[] arr3 = new double[] {3.14, -0.0, 0.0, -2.5, Double.NaN, Double.NEGATIVE_INFINITY, 1e-300, -1e300};
+        sort(arr3);
+        log(arr3);
+
+        // 性能测试（取值分布在整个 64 位范围内的时间戳，CountingSort2 无法处理这种数据）
+        long[] arr4 = new long[10000000];
+        for (int i = 0; i < arr4.length; i++)
+            arr4[i] = 1553056462000L + (long) (Math.random() * 86400000L * 365);
+        long[] arr5 = arr4.clone();
+        long[] arr6 = arr4.clone();
+        timeIt(() -> Arrays.sort(arr4));
+        timeIt(() -> sort(arr5));          // 时间戳的最高2个字节都相同，这两趟会被跳过
+        timeIt(() -> sortParallel(arr6));
+        log(isSorted(arr5) && isSorted(arr6));
+    }
+}
@@ -0,0 +1,100 @@
+package SortingSpecialised;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static Utils.Helpers.*;
+
+/*
+ * 高位优先基数排序（MSD Radix Sort），用于字符串排序：
+ *
+ * - LSD 要求所有元素的位数相同（int 固定4个字节，long 固定8个字节），而字符串是变长的，因此要从最高位（第一个字符）
+ *   开始排序：先按第 d 位进行计数排序，将数组分成 R 个子数组（第 d 位相同的元素在同一个子数组中），再对每个子数组
+ *   递归地按第 d+1 位排序。
+ *
+ *     she  sells  seashells  by  the  sea  shore
+ *     按第0位 -> [by] [she sells seashells sea shore] [the]
+ *     对 s 开头的子数组按第1位 -> [seashells sea sells] [she shore]
+ *     ...
+ *
+ * - 数位的选取：
+ *   Java 的 char 是 16 位的，若每个字符作为一位则每次递归都需要 65536 个 bucket，代价太大。因此这里把每个 char 拆成高、
+ *   低两个字节，每个字节作为一位（R = 256），比较顺序与 String.compareTo 一致。
+ *   - 字符串结束后的位视为 -1，即比任何字符都小，这样 "sea" 会排在 "seashells" 之前。因此 count 数组大小为 R+2。
+ *
+ * - 小数组优化：
+ *   每次递归都要分配并扫描一个 R+2 大小的 count 数组，子数组很小时这部分开销远大于排序本身，因此当子数组元素个数
+ *   <= CUTOFF 时改用插入排序（与 MergeSort2 中的优化思路相同）。
+ *
+ * - 复杂度：最坏情况下（所有字符串都相同）需要检查所有字符，为 O(N * w)，w 是字符串的平均长度；对于随机字符串，
+ *   通常只需检查每个字符串的前 log_R(n) 位，是亚线性于输入总字符数的。
+ * */
+
+public class RadixSortMSD {
+    private static final int R = 256;
+    private static final int CUTOFF = 15;
+
+    public static void sort(String[] arr) {
+        String[] aux = new String[arr.length];  // 辅助数组只分配一次，所有递归共用
+        sort(arr, aux, 0, arr.length - 1, 0);
+    }
+
+    // 对 arr[l...r] 按第 d 个字节排序（此时这些字符串的前 d 个字节都相同）
+    private static void sort(String[] arr, String[] aux, int l, int r, int d) {
+        if (r - l <= CUTOFF) {
+            insertionSort(arr, l, r);
+            return;
+        }
+
+        int[] count = new int[R + 2];
+        for (int i = l; i <= r; i++)            // 统计频率（+2 是因为 -1 要占一个位置，并且要留出一个位置用于计算起始索引）
+            count[byteAt(arr[i], d) + 2]++;
+        for (int b = 0; b < R + 1; b++)         // 转换为每个 bucket 的起始索引
+            count[b + 1] += count[b];
+        for (int i = l; i <= r; i++)            // 分配到 aux 中
+            aux[count[byteAt(arr[i], d) + 1]++] = arr[i];
+        for (int i = l; i <= r; i++)            // 拷贝回 arr
+            arr[i] = aux[i - l];
+
+        for (int b = 0; b < R; b++)             // 对每个 bucket 递归地按下一个字节排序（-1 的 bucket 中的字符串已经结束，不用再排）
+            sort(arr, aux, l + count[b], l + count[b + 1] - 1, d + 1);
+    }
+
+    // 第 d 个字节：每个 char 拆成高、低两个字节；若字符串已结束则返回 -1
+    private static int byteAt(String s, int d) {
+        int i = d >> 1;
+        if (i >= s.length()) return -1;
+        char c = s.charAt(i);
+        return (d & 1) == 0 ? c >>> 8 : c & 0xFF;
+    }
+
+    private static void insertionSort(String[] arr, int l, int r) {  // 同 InsertionSort.sortRange
+        for (int i = l + 1; i <= r; i++) {
+            String e = arr[i];
+            int j = i;
+            for (; j > l && arr[j - 1].compareTo(e) > 0; j--)
+                arr[j] = arr[j - 1];
+            arr[j] = e;
+        }
+    }
+
+    public static void main(String[] args) {
+        String[] arr1 = "she sells seashells by the sea shore the shells she sells are surely seashells 海 贝壳".split(" ");
+        sort(arr1);
+        log(arr1);
+
+        // 性能测试
+        Random random = new Random();
+        String[] arr2 = new String[1000000];
+        for (int i = 0; i < arr2.length; i++) {
+            char[] cs = new char[random.nextInt(20) + 1];
+            for (int j = 0; j < cs.length; j++)
+                cs[j] = (char) ('a' + random.nextInt(26));
+            arr2[i] = new String(cs);
+        }
+        String[] arr3 = arr2.clone();
+        timeIt(() -> Arrays.sort(arr2));
+        timeIt(() -> sort(arr3));
+        log(Arrays.equals(arr2, arr3));
+    }
+}
@@ -13,12 +13,17 @@ public class Helpers {
 
     public static void log(int[] arr) { System.out.println(Arrays.toString(arr)); }
 
+    public static void log(long[] arr) { System.out.println(Arrays.toString(arr)); }
+
+    public static void log(double[] arr) { System.out.println(Arrays.toString(arr)); }
+
     public static <E> void swap(E[] arr, int i, int j) {
         if (i < 0 || i >= arr.length || j < 0 || j >= arr.length)
             throw new IllegalArgumentException("swap failed. Index is out of bounds.");
         E temp = arr[i];
         arr[i] = arr[j];
         arr[j] = temp;
+        SortMetrics.countSwap();  // 未启用 SortMetrics 时会被 JIT 完全消除
     }
 
     public static void swap(int[] arr, int i, int j) {
@@ -29,6 +34,22 @@ public class Helpers {
         arr[j] = temp;
     }
 
+    public static void swap(long[] arr, int i, int j) {
+        if (i < 0 || i >= arr.length || j < 0 || j >= arr.length)
+            throw new IllegalArgumentException("swap failed. Index is out of bounds.");
+        long temp = arr[i];
+        arr[i] = arr[j];
+        arr[j] = temp;
+    }
+
+    public static void swap(double[] arr, int i, int j) {
+        if (i < 0 || i >= arr.length || j < 0 || j >= arr.length)
+            throw new IllegalArgumentException("swap failed. Index is out of bounds.");
+        double temp = arr[i];
+        arr[i] = arr[j];
+        arr[j] = temp;
+    }
+
     public static Integer[] generateRandomIntArr(int size) {
         Random r = new Random();
         Integer[] arr = new Integer[size];
@@ -37,6 +58,14 @@ public class Helpers {
         return arr;
     }
 
+    public static int[] generateRandomPrimitiveIntArr(int size) {  // 不装箱的版本，用于测试基本类型的排序
+        Random r = new Random();
+        int[] arr = new int[size];
+        for (int i = 0; i < size; i++)
+            arr[i] = r.nextInt(size);
+        return arr;
+    }
+
     public static Character[] generateRandomCharArr(int size) {
         Random r = new Random();
         Character[] arr = new Character[size];
@@ -52,6 +81,13 @@ public class Helpers {
         log(String.format("Time consumed: %s", (endTime - startTime) / 1000000000.0));
     }
 
+    public static void timeIt(Runnable fn) {  // 用于测试参数不是 Comparable[] 的方法（如基本类型数组的排序）
+        double startTime = System.nanoTime();
+        fn.run();
+        double endTime = System.nanoTime();
+        log(String.format("Time consumed: %s", (endTime - startTime) / 1000000000.0));
+    }
+
     public static Integer[] generateNearlyOrderedArr(int size, int numOfSwap) {
         Integer[] arr = new Integer[size];
         for (int i = 0; i < size; i++)
@@ -84,4 +120,25 @@ public class Helpers {
         }
         return true;
     }
+
+    public static boolean isSorted(int[] arr) {
+        for (int i = 0; i < arr.length - 1; i++)
+            if (arr[i] > arr[i + 1])
+                return false;
+        return true;
+    }
+
+    public static boolean isSorted(long[] arr) {
+        for (int i = 0; i < arr.length - 1; i++)
+            if (arr[i] > arr[i + 1])
+                return false;
+        return true;
+    }
+
+    public static boolean isSorted(double[] arr) {
+        for (int i = 0; i < arr.length - 1; i++)
+            if (Double.compare(arr[i], arr[i + 1]) > 0)
+                return false;
+        return true;
+    }
 }
@@ -0,0 +1,151 @@
+package Utils;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/*
+ * 排序算法的插桩统计（SortMetrics）：
+ *
+ * - Helpers.timeIt 只能给出耗时，而调优时更关心"为什么快/慢"：比较了多少次、交换/赋值了多少次、递归有多深、分配了
+ *   多少辅助空间。这里提供一个可选的统计层，统计结果可导出为 JSON，便于在不同版本之间对比。
+ *
+ * - 零开销：
+ *   - 是否启用由 JVM 启动参数 -Dsort.metrics=true 决定，保存在 static final 的 ENABLED 中。
+ *   - 各排序算法中的钩子都是形如 SortMetrics.countSwap() 的静态方法调用，方法体的第一句就是 if (!ENABLED) return。
+ *     JIT 会把这种很短的静态方法内联，而 static final 的 boolean 在编译时就是常量，因此整个调用在未启用时会被当作
+ *     死代码完全消除，不会留下任何判断。
+ *
+ * - 统计方式：
+ *   1. 比较次数：measure 会把数组中的每个元素包装成一个 Counted 对象，它的 compareTo 在调用原元素的 compareTo 之前计数，
+ *      排序完成后再拆包写回原数组。因此所有基于 Comparable 的排序算法都无需修改就能统计比较次数（包装对象只在统计时
+ *      创建，不计入辅助空间）。传给 sorter 的是 Counted<T>[]，Counted<T> 本身实现了 Comparable<Counted<T>>，所以
+ *      任何要求 T extends Comparable<T> 的排序方法都可以直接用来排序它。
+ *   2. 交换次数：Helpers.swap 中的钩子。
+ *   3. 赋值次数：插入排序中的元素后移、merge 中写回数组的元素等不通过 swap 完成的数据移动（一次 swap 相当于3次赋值，
+ *      但这里分开统计）。
+ *   4. 最大递归深度：递归方法在入口处调用 enter()、返回前调用 exit()。
+ *   5. 辅助空间：算法分配辅助数组时调用 countAuxArray(length, elementBytes)，按"数组对象头 16 字节 + 元素"估算。
+ *      对象数组的每个元素按 REFERENCE_BYTES（开启压缩指针时为4字节）计算。
+ *
+ * - 统计数据保存在 ThreadLocal 中，只统计调用 measure 的线程中发生的操作，因此并行排序算法（MergeSortParallel 等）
+ *   不在统计范围内。
+ *
+ * - 所有单线程排序算法在同一份数据上的统计报告见 SortingAdvanced.Sorter.main（运行时带上 -Dsort.metrics=true）。
+ * */
+
+public class SortMetrics {
+    public static final boolean ENABLED = Boolean.getBoolean("sort.metrics");
+    public static final int REFERENCE_BYTES = 4;
+    private static final int ARRAY_HEADER_BYTES = 16;
+
+    private static final ThreadLocal<Report> CURRENT = new ThreadLocal<>();
+
+    public static class Report {
+        public final String name;
+        public final int n;
+        public long comparisons;
+        public long swaps;
+        public long assignments;
+        public int maxDepth;
+        public long auxBytes;
+        public long nanos;
+        private int depth;
+
+        Report(String name, int n) {
+            this.name = name;
+            this.n = n;
+        }
+
+        public String toJson() {
+            return String.format("{\"name\": \"%s\", \"n\": %d, \"comparisons\": %d, \"swaps\": %d, \"assignments\": %d, "
+                            + "\"maxDepth\": %d, \"auxBytes\": %d, \"nanos\": %d}",
+                    name.replace("\\", "\\\\").replace("\"", "\\\""), n, comparisons, swaps, assignments, maxDepth, auxBytes, nanos);
+        }
+
+        @Override
+        public String toString() { return toJson(); }
+    }
+
+    public static <T extends Comparable<T>> Report measure(String name, T[] arr, Consumer<Counted<T>[]> sorter) {
+        if (!ENABLED)
+            throw new IllegalStateException("measure failed. Run with -Dsort.metrics=true to enable sort metrics.");
+
+        Report report = new Report(name, arr.length);
+        @SuppressWarnings("unchecked")  // 不能直接创建泛型数组，但数组中只会放入 Counted<T>
+        Counted<T>[] wrapped = (Counted<T>[]) new Counted<?>[arr.length];
+        for (int i = 0; i < arr.length; i++)
+            wrapped[i] = new Counted<>(arr[i], report);
+
+        CURRENT.set(report);
+        long start = System.nanoTime();
+        try {
+            sorter.accept(wrapped);
+        } finally {
+            report.nanos = System.nanoTime() - start;
+            CURRENT.remove();
+        }
+
+        for (int i = 0; i < arr.length; i++)
+            arr[i] = wrapped[i].value;
+        return report;
+    }
+
+    public static String toJson(List<Report> reports) {
+        StringBuilder sb = new StringBuilder("[\n");
+        for (int i = 0; i < reports.size(); i++)
+            sb.append("  ").append(reports.get(i).toJson()).append(i == reports.size() - 1 ? "\n" : ",\n");
+        return sb.append("]").toString();
+    }
+
+    public static final class Counted<T extends Comparable<T>> implements Comparable<Counted<T>> {  // 只能由 measure 创建
+        private final T value;
+        private final Report report;
+
+        private Counted(T value, Report report) {
+            this.value = value;
+            this.report = report;
+        }
+
+        @Override
+        public int compareTo(Counted<T> other) {
+            report.comparisons++;
+            return value.compareTo(other.value);
+        }
+
+        @Override
+        public String toString() { return String.valueOf(value); }
+    }
+
+    /* ---------------------------------- 钩子 ---------------------------------- */
+
+    public static void countSwap() {
+        if (!ENABLED) return;
+        Report report = CURRENT.get();
+        if (report != null) report.swaps++;
+    }
+
+    public static void countAssignments(long k) {
+        if (!ENABLED) return;
+        Report report = CURRENT.get();
+        if (report != null) report.assignments += k;
+    }
+
+    public static void countAuxArray(int length, int elementBytes) {
+        if (!ENABLED) return;
+        Report report = CURRENT.get();
+        if (report != null) report.auxBytes += ARRAY_HEADER_BYTES + (long) length * elementBytes;
+    }
+
+    public static void enter() {
+        if (!ENABLED) return;
+        Report report = CURRENT.get();
+        if (report != null && ++report.depth > report.maxDepth)
+            report.maxDepth = report.depth;
+    }
+
+    public static void exit() {
+        if (!ENABLED) return;
+        Report report = CURRENT.get();
+        if (report != null) report.depth--;
+    }
+}